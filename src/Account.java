@@ -1,72 +1,106 @@
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
+import java.sql.SQLException;
+import java.util.Currency;
 import java.util.List;
 
 public class Account {
+    private static final int HISTORY_CAPACITY = Integer.getInteger("swiftbank.history.capacity", 256);
+
     private String accountNo;
     private String name;
-    private double balance;
+    private long balance; // minor units of currency
+    private final Currency currency = Money.INR;
     private String password;
     private String type;
-    private final List<String> transactionHistory = new ArrayList<>();
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss");
+    private final TransactionRing transactionHistory = new TransactionRing(HISTORY_CAPACITY, currency);
+    private final AccountStore store; // non-null: a flyweight whose balance lives in the store
+    private final int slot;
+
+    public Account(String name, String accountNo, Money balance) {
+        this(name, accountNo, balance, null, -1);
+    }
 
-    public Account(String name, String accountNo, double balance) {
+    // 🧠 View over an AccountStore slot: getBalance() reads the store, so it is never stale
+    Account(String name, String accountNo, AccountStore store, int slot) {
+        this(name, accountNo, store.balanceAt(slot), store, slot);
+    }
+
+    private Account(String name, String accountNo, Money balance, AccountStore store, int slot) {
         this.name = name;
         this.accountNo = accountNo;
-        this.balance = balance;
-        transactionHistory.add(timestamp() + " | Account created with balance ₹" + balance);
+        this.balance = balance.getMinor();
+        this.store = store;
+        this.slot = slot;
+        record(TransactionRing.CREATED, 0);
     }
 
-    public Account(String name, String accountNo, String password, String type, double balance) {
+    public Account(String name, String accountNo, String password, String type, Money balance) {
         this.name = name;
         this.accountNo = accountNo;
         this.password = password;
         this.type = type;
-        this.balance = balance;
-        transactionHistory.add(timestamp() + " | Account created with balance ₹" + balance);
+        this.balance = balance.getMinor();
+        this.store = null;
+        this.slot = -1;
+        record(TransactionRing.CREATED, 0);
     }
 
-    // 🕓 Helper to get timestamp
-    private String timestamp() {
-        return "[" + dateFormat.format(new Date()) + "]";
+    // 🕓 Helper to log a record stamped with the current time
+    private void record(byte type, long amountMinor) {
+        transactionHistory.add(System.currentTimeMillis(), type, amountMinor, balance);
     }
 
     // 💵 Deposit
-    public void deposit(double amount) {
-        if (amount > 0) {
-            balance += amount;
-            transactionHistory.add(timestamp() + " ✅ Deposited ₹" + amount + " | New Balance: ₹" + balance);
+    public synchronized void deposit(Money amount) {
+        requireLocal();
+        if (amount.isPositive()) {
+            balance = Math.addExact(balance, amount.getMinor());
+            record(TransactionRing.DEPOSIT, amount.getMinor());
         }
     }
 
     // 💳 Withdraw
-    public boolean withdraw(double amount) {
-        if (amount > 0 && amount <= balance) {
-            balance -= amount;
-            transactionHistory.add(timestamp() + " ⚠️ Withdrew ₹" + amount + " | New Balance: ₹" + balance);
+    public synchronized boolean withdraw(Money amount) {
+        requireLocal();
+        if (amount.isPositive() && amount.getMinor() <= balance) {
+            balance -= amount.getMinor();
+            record(TransactionRing.WITHDRAWAL, amount.getMinor());
             return true;
         } else {
-            transactionHistory.add(timestamp() + " ❌ Failed Withdrawal ₹" + amount + " | Insufficient Balance");
+            record(TransactionRing.FAILED_WITHDRAWAL, amount.getMinor());
         }
         return false;
     }
 
-    // 🧾 Get Transaction History
+    private void requireLocal() {
+        if (store != null) throw new UnsupportedOperationException("Store-backed accounts post through LedgerService");
+    }
+
+    // 📒 Sync with a posting the ledger has committed (balance comes from the DB)
+    public synchronized void applyPosting(String type, Money amount, Money newBalance) {
+        balance = newBalance.getMinor();
+        record(LedgerService.isDebit(type) ? TransactionRing.WITHDRAWAL : TransactionRing.DEPOSIT, amount.getMinor());
+    }
+
+    // 🧾 Get Transaction History (latest records only, oldest first, formatted on access)
     public List<String> getTransactionHistory() {
-        return transactionHistory;
+        return transactionHistory.asList();
     }
 
     // 👤 Getters
     public String getName() { return name; }
     public String getAccountNo() { return accountNo; }
-    public double getBalance() { return balance; }
+    public synchronized Money getBalance() { return store != null ? store.balanceAt(slot) : Money.ofMinor(balance, currency); }
     public String getType() { return type; }
 
-    // ➕ Mock DB Method
-    public static boolean addNewAccount(String name, String accNo, String password, String type, double balance) {
-        System.out.println("✅ New account created for " + name + " (" + accNo + ")");
-        return true;
+    // ➕ Opens a customer and account through AccountOnboarding; a blank accNo gets a generated number
+    public static boolean addNewAccount(String name, String accNo, String password, String type, Money balance) {
+        try {
+            String opened = AccountOnboarding.getInstance().open(name, null, accNo, password, type, balance);
+            System.out.println("✅ New account created for " + name + " (" + opened + ")");
+            return true;
+        } catch (SQLException | IllegalArgumentException e) {
+            System.err.println("❌ Could not open an account for " + name + ": " + e.getMessage());
+            return false;
+        }
     }
 }
@@ -0,0 +1,221 @@
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 📊 Running deposit/withdrawal totals per account, kept in account_aggregates so the dashboard
+// cards read one row instead of summing the whole history. Each posting path adds its deltas in
+// the same DB transaction as the posting. Buckets: "ALL", "M2026-10" (month), "D2026-10-18" (day).
+// Incoming transfers count as deposits and outgoing ones as withdrawals (LedgerService.isCredit).
+// A bucket row that does not exist yet is built once from the transactions table, so accounts
+// that predate the table (and each new day or month) start from the correct totals. A batch picks
+// one timestamp; writers bind it on the transactions rows they insert, so the bucket a posting is
+// counted in and the timestamp a backfill finds it by always agree (no JVM vs DB clock or zone).
+public class AccountAggregates {
+    private static final String ALL = "ALL";
+    private static volatile boolean schemaReady;
+
+    public record Totals(Money deposits, long depositCount, Money withdrawals, long withdrawalCount) {
+        static final Totals EMPTY = new Totals(Money.ZERO, 0, Money.ZERO, 0);
+
+        Totals plus(String type, Money amount) {
+            if (LedgerService.isCredit(type)) return new Totals(deposits.plus(amount), depositCount + 1, withdrawals, withdrawalCount);
+            if (LedgerService.isDebit(type)) return new Totals(deposits, depositCount, withdrawals.plus(amount), withdrawalCount + 1);
+            return this;
+        }
+    }
+
+    public record Summary(Totals allTime, Totals thisMonth, Totals today) {
+        // 📡 A live posting made on `day`: counted in the month and day cards only if they are the current ones
+        public Summary plus(String type, Money amount, LocalDate day) {
+            LocalDate now = LocalDate.now();
+            return new Summary(allTime.plus(type, amount),
+                    YearMonth.from(day).equals(YearMonth.from(now)) ? thisMonth.plus(type, amount) : thisMonth,
+                    day.equals(now) ? today.plus(type, amount) : today);
+        }
+    }
+
+    // Deposit total/count, withdrawal total/count, in minor units
+    private static final class Delta {
+        long depositMinor, depositCount, withdrawalMinor, withdrawalCount;
+    }
+
+    private record Key(String accountNo, String bucket) {
+    }
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::accountNo).thenComparing(Key::bucket);
+
+    // 🧮 Collects a transaction's worth of postings, summed per (account, bucket). Rows are written
+    // in key order, the same order every ledger writer locks rows in.
+    public static final class Batch {
+        private final Map<Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        private final LocalDateTime at = postingTime();
+        private final LocalDate today = at.toLocalDate();
+
+        // 🕒 Bind as transactions.timestamp on every row this batch counts
+        public Timestamp timestamp() {
+            return Timestamp.valueOf(at);
+        }
+
+        public Batch add(String accountNo, String type, Money amount) {
+            for (String bucket : bucketsFor(today)) {
+                Delta d = deltas.computeIfAbsent(new Key(accountNo, bucket), k -> new Delta());
+                if (LedgerService.isCredit(type)) {
+                    d.depositMinor += amount.getMinor();
+                    d.depositCount++;
+                } else if (LedgerService.isDebit(type)) {
+                    d.withdrawalMinor += amount.getMinor();
+                    d.withdrawalCount++;
+                }
+            }
+            return this;
+        }
+
+        public boolean isEmpty() { return deltas.isEmpty(); }
+
+        // ✍️ Runs inside the caller's transaction, after its transactions rows are inserted
+        public void apply(Connection con) throws SQLException {
+            if (deltas.isEmpty()) return;
+            Map<Key, Delta> missing = new LinkedHashMap<>();
+            try (PreparedStatement ps = con.prepareStatement(Sql.AGGREGATE_ADD.text())) {
+                for (Map.Entry<Key, Delta> e : deltas.entrySet()) bindAdd(ps, e.getKey(), e.getValue());
+                int[] counts = ps.executeBatch();
+                int i = 0;
+                for (Map.Entry<Key, Delta> e : deltas.entrySet()) {
+                    if (counts[i++] == 0) missing.put(e.getKey(), e.getValue());
+                }
+            }
+            for (Map.Entry<Key, Delta> e : missing.entrySet()) backfill(con, e.getKey(), e.getValue());
+        }
+    }
+
+    // 🕒 JVM clock in whole seconds for transactions.timestamp: a TIMESTAMP(0) column would round
+    // 23:59:59.6 into the next day, away from the bucket the posting was counted in
+    static LocalDateTime postingTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static String[] bucketsFor(LocalDate day) {
+        return new String[]{ALL, "M" + YearMonth.from(day), "D" + day};
+    }
+
+    private static void bindAdd(PreparedStatement ps, Key key, Delta d) throws SQLException {
+        ps.setBigDecimal(1, Money.ofMinor(d.depositMinor).toBigDecimal());
+        ps.setLong(2, d.depositCount);
+        ps.setBigDecimal(3, Money.ofMinor(d.withdrawalMinor).toBigDecimal());
+        ps.setLong(4, d.withdrawalCount);
+        ps.setString(5, key.accountNo);
+        ps.setString(6, key.bucket);
+        ps.addBatch();
+    }
+
+    // 🏗️ First posting in a bucket: total it from history, which already holds this transaction's rows
+    private static void backfill(Connection con, Key key, Delta delta) throws SQLException {
+        Totals totals = fromHistory(con, key);
+        try (PreparedStatement ps = con.prepareStatement(Sql.AGGREGATE_INSERT.text())) {
+            ps.setString(1, key.accountNo);
+            ps.setString(2, key.bucket);
+            ps.setBigDecimal(3, totals.deposits.toBigDecimal());
+            ps.setLong(4, totals.depositCount);
+            ps.setBigDecimal(5, totals.withdrawals.toBigDecimal());
+            ps.setLong(6, totals.withdrawalCount);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            if (!PostingJournal.isDuplicateKey(e)) throw e;
+            // Another writer created the row first; our rows were not visible to it, so add our delta
+            try (PreparedStatement ps = con.prepareStatement(Sql.AGGREGATE_ADD.text())) {
+                bindAdd(ps, key, delta);
+                ps.executeBatch();
+            }
+        }
+    }
+
+    // 🧾 A bucket's totals summed from the archive and the transactions table (read-only)
+    private static Totals fromHistory(Connection con, Key key) throws SQLException {
+        Timestamp from, to;
+        Totals totals = Totals.EMPTY;
+        if (key.bucket.equals(ALL)) {
+            // Archived months are totalled from the archive footers; the table holds the rest
+            from = TransactionArchive.getInstance().horizon(con);
+            totals = TransactionArchive.getInstance().totals(con, key.accountNo);
+            to = Timestamp.valueOf(LocalDateTime.of(9999, 1, 1, 0, 0));
+        } else if (key.bucket.startsWith("M")) {
+            YearMonth month = YearMonth.parse(key.bucket.substring(1));
+            from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+            to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        } else {
+            LocalDate day = LocalDate.parse(key.bucket.substring(1));
+            from = Timestamp.valueOf(day.atStartOfDay());
+            to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        }
+        try (PreparedStatement ps = con.prepareStatement(Sql.AGGREGATE_BACKFILL.text())) {
+            ps.setString(1, key.accountNo);
+            ps.setTimestamp(2, from);
+            ps.setTimestamp(3, to);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Money sum = Money.of(rs.getBigDecimal(2));
+                    if (LedgerService.isCredit(rs.getString(1)))
+                        totals = new Totals(totals.deposits.plus(sum), totals.depositCount + rs.getLong(3),
+                                totals.withdrawals, totals.withdrawalCount);
+                    else if (LedgerService.isDebit(rs.getString(1)))
+                        totals = new Totals(totals.deposits, totals.depositCount,
+                                totals.withdrawals.plus(sum), totals.withdrawalCount + rs.getLong(3));
+                }
+            }
+        }
+        return totals;
+    }
+
+    // 🗄️ Creates the summary table once per run; call outside a transaction (DDL commits on MySQL)
+    public static void ensureSchema(Connection con) throws SQLException {
+        if (schemaReady) return;
+        try (Statement st = con.createStatement()) {
+            st.execute(Sql.CREATE_ACCOUNT_AGGREGATES.text());
+        }
+        schemaReady = true;
+    }
+
+    // ⚡ Three primary-key lookups, independent of history length. Read-only: an account that has
+    // not posted since aggregates existed is summed from history, and its rows are built by the
+    // next posting (reads run on cancellable dashboard calls, which must never interrupt a commit).
+    public static Summary read(Connection con, String accountNo) throws SQLException {
+        ensureSchema(con);
+        LocalDate today = LocalDate.now();
+        String[] buckets = bucketsFor(today);
+        Map<String, Totals> found = select(con, accountNo, buckets);
+        if (!found.containsKey(ALL)) return fromHistory(con, accountNo);
+        return new Summary(found.getOrDefault(ALL, Totals.EMPTY),
+                found.getOrDefault(buckets[1], Totals.EMPTY), found.getOrDefault(buckets[2], Totals.EMPTY));
+    }
+
+    // 🧾 The same three cards summed from history: the slow path, and what the rows must agree with
+    static Summary fromHistory(Connection con, String accountNo) throws SQLException {
+        String[] buckets = bucketsFor(LocalDate.now());
+        return new Summary(fromHistory(con, new Key(accountNo, buckets[0])),
+                fromHistory(con, new Key(accountNo, buckets[1])), fromHistory(con, new Key(accountNo, buckets[2])));
+    }
+
+    private static Map<String, Totals> select(Connection con, String accountNo, String[] buckets) throws SQLException {
+        Map<String, Totals> found = new LinkedHashMap<>();
+        try (PreparedStatement ps = con.prepareStatement(Sql.AGGREGATE_SELECT.text())) {
+            ps.setString(1, accountNo);
+            ps.setString(2, buckets[0]);
+            ps.setString(3, buckets[1]);
+            ps.setString(4, buckets[2]);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    found.put(rs.getString("bucket"), new Totals(
+                            Money.of(rs.getBigDecimal("deposit_total")), rs.getLong("deposit_count"),
+                            Money.of(rs.getBigDecimal("withdrawal_total")), rs.getLong("withdrawal_count")));
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,118 @@
+import java.sql.*;
+
+// 🔢 Account numbers without a round trip each. A block of numbers is reserved at a time by
+// bumping one row of account_number_blocks in its own short transaction; numbers are then handed
+// out from memory. Several app instances and imports can allocate at once: each reservation is a
+// row-locked UPDATE, so blocks never overlap. Numbers of a block that is not used up (the app
+// stops, an import chunk rolls back) are skipped, never reused.
+//
+// Format: prefix + 10 digits + a Luhn check digit, e.g. SB10000000007 (fits account_no VARCHAR(20)).
+public class AccountNumbers {
+    private static final int BLOCK = Integer.getInteger("swiftbank.accounts.numberBlock", 10_000);
+    private static final long FIRST = 1_000_000_000L;
+    private static final AccountNumbers INSTANCE = new AccountNumbers("SB", BLOCK);
+
+    private final String prefix;
+    private final int blockSize;
+    private long next, end; // [next, end) is the unused part of the current block
+    private volatile boolean schemaReady;
+
+    public static AccountNumbers getInstance() {
+        return INSTANCE;
+    }
+
+    AccountNumbers(String prefix, int blockSize) {
+        this.prefix = prefix;
+        this.blockSize = blockSize;
+    }
+
+    // ➕ Reserves a new block only when the current one is used up
+    public synchronized String next() throws SQLException {
+        if (next == end) reserve();
+        return format(next++);
+    }
+
+    private void reserve() throws SQLException {
+        try (Connection con = DBConnection.getConnection()) {
+            if (con == null) throw new SQLException("Database connection failed.");
+            ensureSchema(con);
+            con.setAutoCommit(false);
+            try {
+                long blockEnd = bump(con);
+                con.commit();
+                next = blockEnd - blockSize;
+                end = blockEnd;
+            } catch (SQLException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // The row's new next_value is the end of our block
+    private long bump(Connection con) throws SQLException {
+        for (int attempt = 0; ; attempt++) {
+            try (PreparedStatement ps = con.prepareStatement(Sql.RESERVE_ACCOUNT_NUMBERS.text())) {
+                ps.setLong(1, blockSize);
+                ps.setString(2, prefix);
+                if (ps.executeUpdate() == 1) break;
+            }
+            // First block for this prefix; if another allocator creates the row first, bump it instead
+            try (PreparedStatement ps = con.prepareStatement(Sql.INSERT_ACCOUNT_NUMBER_BLOCK.text())) {
+                ps.setString(1, prefix);
+                ps.setLong(2, FIRST + blockSize);
+                ps.executeUpdate();
+                return FIRST + blockSize;
+            } catch (SQLException e) {
+                if (attempt > 0 || !PostingJournal.isDuplicateKey(e)) throw e;
+                con.rollback();
+            }
+        }
+        try (PreparedStatement ps = con.prepareStatement(Sql.SELECT_ACCOUNT_NUMBER_BLOCK.text())) {
+            ps.setString(1, prefix);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    String format(long number) {
+        String digits = String.format("%010d", number);
+        return prefix + digits + luhn(digits);
+    }
+
+    // ✅ Catches a mistyped digit or two swapped neighbours before any lookup
+    public static boolean isWellFormed(String accountNo, String prefix) {
+        if (accountNo == null || !accountNo.startsWith(prefix) || accountNo.length() != prefix.length() + 11) return false;
+        String digits = accountNo.substring(prefix.length(), accountNo.length() - 1);
+        for (int i = 0; i < digits.length(); i++) if (!Character.isDigit(digits.charAt(i))) return false;
+        return accountNo.charAt(accountNo.length() - 1) == luhn(digits);
+    }
+
+    private static char luhn(String digits) {
+        int sum = 0;
+        for (int i = digits.length() - 1, k = 0; i >= 0; i--, k++) {
+            int d = digits.charAt(i) - '0';
+            if (k % 2 == 0) {
+                d *= 2;
+                if (d > 9) d -= 9;
+            }
+            sum += d;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+
+    private void ensureSchema(Connection con) throws SQLException {
+        if (schemaReady) return;
+        try (Statement st = con.createStatement()) {
+            st.execute(Sql.CREATE_ACCOUNT_NUMBER_BLOCKS.text());
+        }
+        schemaReady = true;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("AccountNumbers[prefix=%s, block=%d, left in block=%d]", prefix, blockSize, end - next);
+    }
+}
@@ -0,0 +1,476 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+
+// 🏗️ Bulk onboarding of customers and their accounts from a CSV (branch migrations).
+//
+// The file is streamed in chunks. While one chunk is written, the next is validated and its
+// passwords hashed on a fork/join pool (PBKDF2 is what an import spends its CPU on). Account
+// numbers come from AccountNumbers blocks, one round trip per block instead of per account. A
+// chunk is written with multi-row INSERTs (customers, accounts, opening deposits) and commits in
+// the same transaction as its row in onboarding_checkpoints. An import is keyed by the SHA-256 of
+// its file, so running the same file again resumes after the last committed chunk: an interrupted
+// import never opens an account twice.
+//
+// CSV: a header naming the columns, then one customer per line. name and password are required;
+// email, type (Savings or Current, default Savings) and opening_balance (default 0) are optional.
+// Rejected lines are appended to <file>.rejects.csv with the reason.
+//   java -Dswiftbank.db.url=... AccountOnboarding customers.csv
+public class AccountOnboarding {
+    private static final int CHUNK = Integer.getInteger("swiftbank.onboarding.chunk", 2_000);
+    private static final int ROWS_PER_INSERT = Integer.getInteger("swiftbank.onboarding.rowsPerInsert", 500);
+    private static final int PARALLELISM = Integer.getInteger("swiftbank.onboarding.parallelism",
+            Runtime.getRuntime().availableProcessors());
+    private static final int HASH_THRESHOLD = 8; // rows per fork/join leaf: one PBKDF2 is already ~ms
+    private static final int MIN_PASSWORD = 6;
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+    private static final long MAX_BALANCE_MINOR = 999_999_999_999_99L; // DECIMAL(15,2)
+    private static final AccountOnboarding INSTANCE = new AccountOnboarding();
+
+    public record Result(String importId, long imported, long rejected, long resumedAfterLine, long seconds) {
+    }
+
+    @FunctionalInterface
+    public interface Progress {
+        // After each committed chunk; totals include earlier runs of the same file
+        void chunk(long line, long imported, long rejected);
+    }
+
+    // An import of this file is already running elsewhere (its checkpoint moved under us)
+    public static class ConcurrentImportException extends SQLException {
+        public ConcurrentImportException(String importId) {
+            super("Another import of " + importId + " advanced its checkpoint");
+        }
+    }
+
+    private final AccountNumbers numbers;
+    private final PasswordHasher hasher;
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(1, PARALLELISM));
+    private volatile boolean schemaReady;
+
+    public static AccountOnboarding getInstance() {
+        return INSTANCE;
+    }
+
+    AccountOnboarding() {
+        this(AccountNumbers.getInstance(), PasswordAuthenticator.getInstance().getHasher());
+    }
+
+    AccountOnboarding(AccountNumbers numbers, PasswordHasher hasher) {
+        this.numbers = numbers;
+        this.hasher = hasher;
+    }
+
+    // 🧾 One CSV line on its way in; `reject` set means it stays out
+    private static final class Row {
+        final long line;
+        String name, email, password, type, hash, accountNo, reject;
+        Money opening = Money.ZERO;
+        int customerId;
+
+        Row(long line) {
+            this.line = line;
+        }
+    }
+
+    // ➕ A single customer and account (Account.addNewAccount); a blank accountNo gets a generated one
+    public String open(String name, String email, String accountNo, String password, String type, Money opening)
+            throws SQLException {
+        Row row = new Row(0);
+        row.name = name;
+        row.email = blankToNull(email);
+        row.password = password;
+        row.type = type;
+        row.opening = opening == null ? Money.ZERO : opening;
+        validate(row);
+        if (row.reject != null) throw new IllegalArgumentException(row.reject);
+        row.hash = hasher.hash(row.password);
+        row.accountNo = accountNo == null || accountNo.isBlank() ? numbers.next() : accountNo.trim();
+        try (Connection con = connect()) {
+            write(con, List.of(row), null, 0, 0, 0);
+        }
+        return row.accountNo;
+    }
+
+    // 📥 Imports (or resumes importing) a CSV file
+    public Result importCsv(Path csv, Progress progress) throws IOException, SQLException {
+        long t0 = System.nanoTime();
+        String importId = sha256(csv);
+        long done, imported, rejected;
+        try (Connection con = connect()) {
+            long[] checkpoint = checkpoint(con, importId, csv.getFileName().toString());
+            done = checkpoint[0];
+            imported = checkpoint[1];
+            rejected = checkpoint[2];
+        }
+        long resumedAfter = done;
+        Path rejects = csv.resolveSibling(csv.getFileName() + ".rejects.csv");
+        try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             Connection con = connect()) {
+            String header = in.readLine();
+            if (header == null) throw new IOException("Empty file: " + csv);
+            Columns columns = Columns.of(parse(stripBom(header)));
+            Set<String> emails = new HashSet<>();
+            long[] line = {1};
+
+            // Lines an earlier run committed: only their emails matter, for duplicate checks
+            while (line[0] < done) {
+                String text = in.readLine();
+                if (text == null) break;
+                line[0]++;
+                String email = columns.email(text);
+                if (email != null) emails.add(email.toLowerCase(Locale.ROOT));
+            }
+
+            List<Row> chunk = read(in, columns, line);
+            ForkJoinTask<Void> prepared = prepare(chunk);
+            while (!chunk.isEmpty()) {
+                prepared.join();
+                List<Row> next = read(in, columns, line);
+                ForkJoinTask<Void> nextPrepared = prepare(next); // hashes while this chunk is written
+                long last = chunk.get(chunk.size() - 1).line;
+                dedupe(con, chunk, emails);
+                for (Row r : chunk) if (r.reject == null) r.accountNo = numbers.next();
+                long ok = chunk.stream().filter(r -> r.reject == null).count();
+                long start = Metrics.start();
+                try {
+                    write(con, chunk, importId, done, last, chunk.size() - ok);
+                    Metrics.ONBOARDING.ok(start, null);
+                } catch (SQLException | RuntimeException e) {
+                    Metrics.ONBOARDING.failed(start, e);
+                    throw e;
+                }
+                done = last;
+                imported += ok;
+                rejected += chunk.size() - ok;
+                appendRejects(rejects, chunk);
+                if (progress != null) progress.chunk(done, imported, rejected);
+                chunk = next;
+                prepared = nextPrepared;
+            }
+        }
+        return new Result(importId, imported, rejected, resumedAfter, (System.nanoTime() - t0) / 1_000_000_000);
+    }
+
+    // 🔨 Validation and PBKDF2 for a chunk, split across the pool
+    private ForkJoinTask<Void> prepare(List<Row> chunk) {
+        return pool.submit(new Prepare(chunk, 0, chunk.size()));
+    }
+
+    private final class Prepare extends RecursiveAction {
+        private final List<Row> rows;
+        private final int from, to;
+
+        Prepare(List<Row> rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= HASH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Row r = rows.get(i);
+                    if (r.reject == null) validate(r);
+                    if (r.reject == null) r.hash = hasher.hash(r.password);
+                    r.password = null;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Prepare(rows, from, mid), new Prepare(rows, mid, to));
+        }
+    }
+
+    private static void validate(Row r) {
+        if (r.name == null || r.name.isBlank()) r.reject = "name is required";
+        else if (r.name.length() > 100) r.reject = "name is longer than 100 characters";
+        else if (r.email != null && (r.email.length() > 100 || !EMAIL.matcher(r.email).matches())) r.reject = "invalid email";
+        else if (r.password == null || r.password.length() < MIN_PASSWORD) r.reject = "password shorter than " + MIN_PASSWORD;
+        else if (r.type == null || r.type.isBlank()) r.type = "Savings";
+        else if (r.type.equalsIgnoreCase("savings")) r.type = "Savings";
+        else if (r.type.equalsIgnoreCase("current")) r.type = "Current";
+        else r.reject = "unknown account type " + r.type;
+        if (r.reject == null && (r.opening.isNegative() || r.opening.getMinor() > MAX_BALANCE_MINOR))
+            r.reject = "opening balance out of range";
+        if (r.reject == null) r.name = r.name.trim();
+    }
+
+    // 📧 Emails seen earlier in the file, or already on a customer, are refused
+    private static void dedupe(Connection con, List<Row> chunk, Set<String> emails) throws SQLException {
+        List<Row> withEmail = new ArrayList<>();
+        for (Row r : chunk) {
+            if (r.reject != null || r.email == null) continue;
+            if (!emails.add(r.email.toLowerCase(Locale.ROOT))) r.reject = "duplicate email in file";
+            else withEmail.add(r);
+        }
+        Set<String> known = new HashSet<>();
+        for (int from = 0; from < withEmail.size(); from += ROWS_PER_INSERT) {
+            List<Row> part = withEmail.subList(from, Math.min(withEmail.size(), from + ROWS_PER_INSERT));
+            try (PreparedStatement ps = con.prepareStatement(Sql.ONBOARD_KNOWN_EMAILS.text() + group(part.size()))) {
+                for (int i = 0; i < part.size(); i++) ps.setString(i + 1, part.get(i).email);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) known.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        for (Row r : withEmail) if (known.contains(r.email.toLowerCase(Locale.ROOT))) r.reject = "email already registered";
+    }
+
+    // ✍️ One transaction: customers, accounts, opening deposits, checkpoint (when importing)
+    private void write(Connection con, List<Row> chunk, String importId, long fromLine, long toLine, long rejects)
+            throws SQLException {
+        List<Row> rows = chunk.stream().filter(r -> r.reject == null).toList();
+        List<Row> funded = rows.stream().filter(r -> r.opening.isPositive()).toList();
+        AccountStore store = AccountStore.getInstance();
+        boolean stored = store.isLoaded();
+        if (stored) store.commitOrder().lock(); // opening deposits are transactions rows like any other
+        con.setAutoCommit(false);
+        try {
+            long lastId = 0;
+            Timestamp openedAt = Timestamp.valueOf(AccountAggregates.postingTime()); // backfills find it by this
+            for (int from = 0; from < rows.size(); from += ROWS_PER_INSERT) {
+                List<Row> part = rows.subList(from, Math.min(rows.size(), from + ROWS_PER_INSERT));
+                insertCustomers(con, part);
+                try (PreparedStatement ps = con.prepareStatement(Sql.ONBOARD_ACCOUNTS.text() + groups(part.size(), 4))) {
+                    int p = 1;
+                    for (Row r : part) {
+                        ps.setString(p++, r.accountNo);
+                        ps.setInt(p++, r.customerId);
+                        ps.setString(p++, r.type);
+                        ps.setBigDecimal(p++, r.opening.toBigDecimal());
+                    }
+                    ps.executeUpdate();
+                }
+            }
+            for (int from = 0; from < funded.size(); from += ROWS_PER_INSERT) {
+                List<Row> part = funded.subList(from, Math.min(funded.size(), from + ROWS_PER_INSERT));
+                String sql = Sql.ONBOARD_OPENING_DEPOSITS.text() + groups(part.size(), 4);
+                try (PreparedStatement ps = stored
+                        ? con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS) : con.prepareStatement(sql)) {
+                    int p = 1;
+                    for (Row r : part) {
+                        ps.setString(p++, r.accountNo);
+                        ps.setString(p++, "Deposit");
+                        ps.setBigDecimal(p++, r.opening.toBigDecimal());
+                        ps.setTimestamp(p++, openedAt);
+                    }
+                    ps.executeUpdate();
+                    if (stored) lastId = Math.max(lastId, AccountStore.lastGeneratedId(ps));
+                }
+            }
+            if (importId != null) {
+                try (PreparedStatement ps = con.prepareStatement(Sql.ADVANCE_CHECKPOINT.text())) {
+                    ps.setLong(1, toLine);
+                    ps.setLong(2, rows.size());
+                    ps.setLong(3, rejects);
+                    ps.setString(4, importId);
+                    ps.setLong(5, fromLine);
+                    if (ps.executeUpdate() == 0) throw new ConcurrentImportException(importId);
+                }
+            }
+            con.commit();
+            if (stored) {
+                Map<String, Money> opened = new HashMap<>();
+                for (Row r : rows) opened.put(r.accountNo, r.opening);
+                store.applyCommitted(Map.of(), opened, lastId);
+            }
+        } catch (SQLException | RuntimeException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+            if (stored) store.commitOrder().unlock();
+        }
+    }
+
+    private static void insertCustomers(Connection con, List<Row> part) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(Sql.ONBOARD_CUSTOMERS.text() + groups(part.size(), 3),
+                Statement.RETURN_GENERATED_KEYS)) {
+            int p = 1;
+            for (Row r : part) {
+                ps.setString(p++, r.name);
+                ps.setString(p++, r.email);
+                ps.setString(p++, r.hash);
+            }
+            ps.executeUpdate();
+            // Multi-row inserts return one key per row, in row order (MySQL Connector/J, H2)
+            int i = 0;
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                while (keys.next() && i < part.size()) part.get(i++).customerId = keys.getInt(1);
+            }
+            if (i != part.size()) throw new SQLException("Driver returned " + i + " customer ids for " + part.size() + " rows");
+        }
+    }
+
+    // 📍 [line_no, imported, rejected], creating the checkpoint row on the first run
+    private long[] checkpoint(Connection con, String importId, String source) throws SQLException {
+        ensureSchema(con);
+        for (int attempt = 0; ; attempt++) {
+            try (PreparedStatement ps = con.prepareStatement(Sql.SELECT_CHECKPOINT.text())) {
+                ps.setString(1, importId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) return new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)};
+                }
+            }
+            try (PreparedStatement ps = con.prepareStatement(Sql.INSERT_CHECKPOINT.text())) {
+                ps.setString(1, importId);
+                ps.setString(2, source.length() > 255 ? source.substring(0, 255) : source);
+                ps.executeUpdate();
+                return new long[]{0, 0, 0};
+            } catch (SQLException e) {
+                if (attempt > 0 || !PostingJournal.isDuplicateKey(e)) throw e;
+            }
+        }
+    }
+
+    // 📖 Up to CHUNK data lines; line[0] is the number of the last line read (the header is line 1)
+    private static List<Row> read(BufferedReader in, Columns columns, long[] line) throws IOException {
+        List<Row> chunk = new ArrayList<>(CHUNK);
+        String text;
+        while (chunk.size() < CHUNK && (text = in.readLine()) != null) {
+            Row r = new Row(++line[0]);
+            chunk.add(r);
+            if (text.isBlank()) {
+                r.reject = "empty line";
+                continue;
+            }
+            List<String> fields = parse(text);
+            if (fields == null) {
+                r.reject = "unterminated quote";
+                continue;
+            }
+            r.name = columns.get(fields, columns.name);
+            r.email = blankToNull(columns.get(fields, columns.email));
+            r.password = columns.get(fields, columns.password);
+            r.type = columns.get(fields, columns.type);
+            String opening = columns.get(fields, columns.opening);
+            try {
+                if (opening != null && !opening.isBlank()) r.opening = Money.parse(opening.trim());
+            } catch (RuntimeException e) {
+                r.reject = "invalid opening balance " + opening;
+            }
+        }
+        return chunk;
+    }
+
+    // 🧭 Column positions from the header; -1 = not in this file
+    private record Columns(int name, int email, int password, int type, int opening) {
+        static Columns of(List<String> header) throws IOException {
+            if (header == null) throw new IOException("Unreadable header");
+            List<String> names = header.stream().map(h -> h.trim().toLowerCase(Locale.ROOT)).toList();
+            Columns c = new Columns(names.indexOf("name"), names.indexOf("email"), names.indexOf("password"),
+                    names.indexOf("type"), names.indexOf("opening_balance"));
+            if (c.name < 0 || c.password < 0) throw new IOException("Header needs at least name and password columns: " + header);
+            return c;
+        }
+
+        String get(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+
+        String email(String text) {
+            List<String> fields = parse(text);
+            return fields == null ? null : blankToNull(get(fields, email));
+        }
+    }
+
+    // RFC 4180 fields on one line; null when a quoted field does not end on it
+    static List<String> parse(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') field.append(c);
+                else if (i + 1 < text.length() && text.charAt(i + 1) == '"') field.append(text.charAt(++i));
+                else quoted = false;
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // "(?, ?, ?), (?, ?, ?)" for `rows` rows of `columns` parameters
+    private static String groups(int rows, int columns) {
+        String one = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        return String.join(", ", Collections.nCopies(rows, one));
+    }
+
+    private static String group(int size) {
+        return groups(1, size);
+    }
+
+    private static void appendRejects(Path file, List<Row> chunk) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Row r : chunk) {
+            if (r.reject == null) continue;
+            sb.append(r.line).append(",\"").append(r.reject.replace("\"", "\"\"")).append("\"\n");
+        }
+        if (sb.isEmpty()) return;
+        Files.writeString(file, sb, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[1 << 16];
+            for (int n; (n = in.read(buffer)) > 0; ) digest.update(buffer, 0, n);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String stripBom(String header) {
+        return header.startsWith("﻿") ? header.substring(1) : header;
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+
+    private Connection connect() throws SQLException {
+        Connection con = DBConnection.getConnection();
+        if (con == null) throw new SQLException("Database connection failed.");
+        return con;
+    }
+
+    private void ensureSchema(Connection con) throws SQLException {
+        if (schemaReady) return;
+        try (Statement st = con.createStatement()) {
+            st.execute(Sql.CREATE_ONBOARDING_CHECKPOINTS.text());
+        }
+        schemaReady = true;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: java AccountOnboarding <customers.csv>");
+            System.exit(2);
+        }
+        Result r = getInstance().importCsv(Path.of(args[0]), (line, imported, rejected) ->
+                System.out.printf("📥 line %,d: %,d imported, %,d rejected%n", line, imported, rejected));
+        System.out.printf("✅ %s: %,d accounts opened, %,d lines rejected%s in %d s%n", args[0], r.imported(), r.rejected(),
+                r.resumedAfterLine() > 0 ? " (resumed after line " + r.resumedAfterLine() + ")" : "", r.seconds());
+        System.exit(0);
+    }
+}
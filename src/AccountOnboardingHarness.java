@@ -0,0 +1,150 @@
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.*;
+
+// 🧪 Generates a customer CSV (with bad lines mixed in), imports it, "crashes" the import after a
+// few chunks and runs it again. The second run must resume after the last committed chunk: every
+// good line opens exactly one account, every bad line lands in the rejects file once, account
+// numbers are unique and Luhn-valid, and opening balances and deposits add up. Also opens one
+// account through Account.addNewAccount, and with swiftbank.store.enabled=true checks that the
+// account store sees it. Exits 1 on failure:
+//   java -Dswiftbank.db.url="jdbc:h2:mem:bank;DB_CLOSE_DELAY=-1" -Dswiftbank.db.driver=org.h2.Driver \
+//        -Dswiftbank.db.user=sa -Dswiftbank.auth.iterations=1000 AccountOnboardingHarness
+public class AccountOnboardingHarness {
+    private static final int ROWS = Integer.getInteger("rows", 30_000);
+    private static final int CRASH_AFTER_CHUNKS = 3;
+    private static int failures;
+
+    private static class Crash extends RuntimeException {
+    }
+
+    public static void main(String[] args) throws Exception {
+        BankServiceHarness.createSchema();
+        String run = "ob" + (System.currentTimeMillis() % 1_000_000);
+        Path dir = Files.createTempDirectory("swiftbank-onboarding");
+        Path csv = dir.resolve("customers.csv");
+        long[] expected = generate(csv, run); // good lines, bad lines, total opening minor units
+
+        AccountOnboarding onboarding = AccountOnboarding.getInstance();
+        int[] chunks = {0};
+        long t0 = System.nanoTime();
+        try {
+            onboarding.importCsv(csv, (line, imported, rejected) -> {
+                if (++chunks[0] == CRASH_AFTER_CHUNKS) throw new Crash();
+            });
+            check(false, "import finished before the simulated crash");
+        } catch (Crash expectedCrash) {
+            System.out.printf("💥 Import stopped after %d chunks%n", chunks[0]);
+        }
+        AccountOnboarding.Result r = onboarding.importCsv(csv, null);
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        check(r.resumedAfterLine() > 1, "second run did not resume: " + r);
+        check(r.imported() == expected[0], r.imported() + " imported, expected " + expected[0]);
+        check(r.rejected() == expected[1], r.rejected() + " rejected, expected " + expected[1]);
+
+        AccountOnboarding.Result again = onboarding.importCsv(csv, null);
+        check(again.imported() == r.imported() && again.resumedAfterLine() == ROWS + 1,
+                "a finished import ran again: " + again);
+
+        verify(run, expected);
+        List<String> rejects = Files.readAllLines(csv.resolveSibling("customers.csv.rejects.csv"));
+        check(rejects.size() == expected[1], rejects.size() + " lines in the rejects file, expected " + expected[1]);
+        check(new HashSet<>(rejects).size() == rejects.size(), "a rejected line was reported twice");
+
+        check(Account.addNewAccount("Walk-in " + run, "", "walk-in-pw", "Current", Money.parse("75.00")),
+                "addNewAccount failed");
+        check(!Account.addNewAccount("Walk-in " + run, "", "short", "Current", Money.ZERO),
+                "addNewAccount accepted a short password");
+        storeSeesNewAccounts(run);
+
+        System.out.printf("📥 %,d lines: %,d accounts, %,d rejects in %.1f s (%,.0f lines/s incl. the crashed run), resumed after line %,d%n",
+                ROWS, r.imported(), r.rejected(), seconds, ROWS / seconds, r.resumedAfterLine());
+        System.out.println("🔢 " + AccountNumbers.getInstance());
+        System.out.println(Metrics.text());
+        System.out.println(failures == 0 ? "✅ Onboarding resumed without duplicates" : "❌ " + failures + " problem(s)");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // Every 50th line is bad in one of several ways; every 7th has an opening balance
+    private static long[] generate(Path csv, String run) throws Exception {
+        long good = 0, bad = 0, opening = 0;
+        StringBuilder sb = new StringBuilder("name,email,password,type,opening_balance\n");
+        for (int i = 0; i < ROWS; i++) {
+            String email = run + "-" + i + "@swiftbank.test";
+            String name = i % 11 == 0 ? "\"Doe, Jane " + i + "\"" : "Customer " + run + " " + i;
+            if (i % 50 == 49) {
+                bad++;
+                switch ((i / 50) % 5) {
+                    case 0 -> sb.append(",").append(email).append(",secret1,Savings,\n");
+                    case 1 -> sb.append(name).append(",not-an-email,secret1,Savings,\n");
+                    case 2 -> sb.append(name).append(",").append(email).append(",123,Savings,\n");
+                    case 3 -> sb.append(name).append(",").append(email).append(",secret1,Fixed,\n");
+                    default -> sb.append(name).append(",").append(run).append("-0@swiftbank.test,secret1,Savings,\n");
+                }
+                continue;
+            }
+            good++;
+            String balance = i % 7 == 0 ? (i % 1000) + ".25" : "";
+            if (!balance.isEmpty()) opening += Money.parse(balance).getMinor();
+            sb.append(name).append(",").append(email).append(",secret").append(i).append(",")
+                    .append(i % 2 == 0 ? "Savings" : "current").append(",").append(balance).append("\n");
+        }
+        Files.writeString(csv, sb, StandardCharsets.UTF_8);
+        return new long[]{good, bad, opening};
+    }
+
+    private static void verify(String run, long[] expected) throws SQLException {
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement("""
+                     SELECT a.account_no, a.balance, c.email FROM accounts a JOIN customers c ON c.id=a.customer_id
+                     WHERE c.email LIKE ?""");
+             PreparedStatement deposits = con.prepareStatement("""
+                     SELECT COUNT(*), COALESCE(SUM(t.amount), 0) FROM transactions t
+                     JOIN accounts a ON a.account_no=t.account_no JOIN customers c ON c.id=a.customer_id
+                     WHERE c.email LIKE ?""")) {
+            ps.setString(1, run + "-%");
+            Set<String> accountNos = new HashSet<>(), emails = new HashSet<>();
+            long rows = 0, balances = 0, malformed = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows++;
+                    accountNos.add(rs.getString(1));
+                    emails.add(rs.getString(3));
+                    balances += Money.of(rs.getBigDecimal(2)).getMinor();
+                    if (!AccountNumbers.isWellFormed(rs.getString(1), "SB")) malformed++;
+                }
+            }
+            check(rows == expected[0], rows + " accounts in the database, expected " + expected[0]);
+            check(accountNos.size() == rows && emails.size() == rows, "duplicate account numbers or customers");
+            check(malformed == 0, malformed + " account numbers fail the check digit");
+            check(balances == expected[2], "opening balances " + balances + ", expected " + expected[2]);
+            deposits.setString(1, run + "-%");
+            try (ResultSet rs = deposits.executeQuery()) {
+                rs.next();
+                check(Money.of(rs.getBigDecimal(2)).getMinor() == expected[2],
+                        "opening deposits " + rs.getBigDecimal(2) + " do not match the balances");
+            }
+            System.out.printf("🔍 %,d accounts, %,d distinct numbers, opening balances %s%n",
+                    rows, accountNos.size(), Money.ofMinor(balances));
+        }
+    }
+
+    // 🧠 With swiftbank.store.enabled=true, new accounts and their opening deposits reach the store
+    private static void storeSeesNewAccounts(String run) throws Exception {
+        AccountStore store = AccountStore.getInstance();
+        store.start();
+        if (!store.isLoaded()) return;
+        String accountNo = AccountOnboarding.getInstance().open("Stored " + run, run + "-stored@swiftbank.test", null,
+                "stored-pw", "Savings", Money.parse("42.50"));
+        check(Money.parse("42.50").equals(store.balance(accountNo)), "store has " + store.balance(accountNo) + " for " + accountNo);
+        check(Money.parse("42.50").equals(BankServiceHarness.balanceOf(accountNo)), "database balance of " + accountNo);
+        System.out.println("🧠 " + store);
+    }
+
+    private static void check(boolean ok, String what) {
+        if (ok) return;
+        failures++;
+        System.out.println("❌ " + what);
+    }
+}
@@ -0,0 +1,108 @@
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 🗂️ Bounded read-through cache of account + customer snapshots keyed by account_no.
+// Entries expire after a TTL; the least recently used entry goes when the cache is full.
+// Ledger writes update the cached balance; password changes invalidate the entry.
+public class AccountSnapshotCache {
+    private static final int MAX_ENTRIES = Integer.getInteger("swiftbank.cache.maxEntries", 1024);
+    private static final long TTL_MS = Long.getLong("swiftbank.cache.ttlMs", TimeUnit.MINUTES.toMillis(5));
+    private static final AccountSnapshotCache INSTANCE = new AccountSnapshotCache(MAX_ENTRIES, TTL_MS);
+
+    public record Snapshot(String accountNo, String type, Money balance, Timestamp createdAt,
+                           int customerId, String name, String email, Timestamp joinedAt) {
+        Snapshot withBalance(Money newBalance) {
+            return new Snapshot(accountNo, type, newBalance, createdAt, customerId, name, email, joinedAt);
+        }
+    }
+
+    private record Entry(Snapshot snapshot, long loadedAt) {
+    }
+
+    private final long ttlMs;
+    private final Map<String, Entry> entries;
+
+    // 📊 Counters
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public static AccountSnapshotCache getInstance() {
+        return INSTANCE;
+    }
+
+    AccountSnapshotCache(int maxEntries, long ttlMs) {
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxEntries) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    // ⚡ Cache-only lookup, safe on the EDT; null means the caller should load()
+    public synchronized Snapshot getIfPresent(String accountNo) {
+        Entry e = entries.get(accountNo);
+        if (e != null && System.currentTimeMillis() - e.loadedAt < ttlMs) {
+            hits.increment();
+            return e.snapshot;
+        }
+        if (e != null) {
+            entries.remove(accountNo);
+            evictions.increment();
+        }
+        misses.increment();
+        return null;
+    }
+
+    // 🗄️ Query the DB and cache the result (returns null if the account does not exist)
+    public Snapshot load(Connection con, String accountNo) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(Sql.LOAD_SNAPSHOT.text())) {
+            ps.setString(1, accountNo);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+                Snapshot snapshot = new Snapshot(
+                        rs.getString("account_no"), rs.getString("type"),
+                        Money.of(rs.getBigDecimal("balance")), rs.getTimestamp("created_at"),
+                        rs.getInt("customer_id"), rs.getString("name"),
+                        rs.getString("email"), rs.getTimestamp("joined_at"));
+                synchronized (this) {
+                    entries.put(accountNo, new Entry(snapshot, System.currentTimeMillis()));
+                }
+                return snapshot;
+            }
+        }
+    }
+
+    public Snapshot get(Connection con, String accountNo) throws SQLException {
+        Snapshot snapshot = getIfPresent(accountNo);
+        return snapshot != null ? snapshot : load(con, accountNo);
+    }
+
+    // ✍️ Write-through from the ledger once a posting has committed
+    public synchronized void updateBalance(String accountNo, Money balance) {
+        Entry e = entries.get(accountNo);
+        if (e != null) entries.put(accountNo, new Entry(e.snapshot.withBalance(balance), e.loadedAt));
+    }
+
+    public synchronized void invalidate(String accountNo) {
+        entries.remove(accountNo);
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+
+    @Override
+    public String toString() {
+        return String.format("AccountSnapshotCache[size=%d, hits=%d, misses=%d, evictions=%d]",
+                size(), getHitCount(), getMissCount(), getEvictionCount());
+    }
+}
@@ -0,0 +1,429 @@
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+// 🧠 Optional in-memory account balances (-Dswiftbank.store.enabled=true) so balance reads and the
+// ledger's post-commit balance lookups skip the database. Account numbers are interned to dense
+// int slots through an open-addressing table, and balances live off-heap, 8 bytes per slot, in
+// one direct buffer updated atomically through a VarHandle.
+//
+// The database stays the commit point: the posting writer applies each batch here after its
+// commit, together with the batch's highest transactions.id (the watermark). A periodic snapshot
+// captures balances and watermark together, and startup loads the newest snapshot and replays
+// the transactions rows after its watermark. Without a usable snapshot it loads every balance
+// from accounts. Accounts created after the load become resident with their first posting; until
+// then their balances are read from the database.
+//
+// This assumes one app instance writes the ledger. Balances posted by another instance are not
+// seen here until the next restart.
+public final class AccountStore {
+    static final boolean ENABLED = Boolean.getBoolean("swiftbank.store.enabled");
+    private static final String FILE = System.getProperty("swiftbank.store.file",
+            Path.of(System.getProperty("user.home"), ".swiftbank", "accounts.snapshot").toString());
+    private static final long SNAPSHOT_SECONDS = Long.getLong("swiftbank.store.snapshotSeconds", 300);
+    private static final int MAGIC = 0x53424153; // "SBAS"
+    private static final int VERSION = 1;
+    private static final int REPLAY_FETCH_SIZE = 1000;
+    private static final VarHandle BALANCE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final AccountStore INSTANCE = new AccountStore(Path.of(FILE));
+
+    private final Path file;
+    // Read lock: lookups and balance updates. Write lock: new slots, growth, snapshot copies.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held by each ledger writer from its first insert to applyCommitted(), so transactions ids
+    // commit, and reach the store, in order: everything up to the watermark is applied
+    private final ReentrantLock commitOrder = new ReentrantLock();
+    private String[] accountNos = new String[1024];
+    private int[] index = new int[2048]; // slot + 1, 0 = free
+    private ByteBuffer balances = ByteBuffer.allocateDirect(1024 * Long.BYTES);
+    private int size;
+    private final AtomicLong watermark = new AtomicLong(); // highest transactions.id reflected in the balances
+    private volatile boolean loaded;
+    private ScheduledExecutorService scheduler;
+
+    // 📊 Counters
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+
+    public static AccountStore getInstance() {
+        return INSTANCE;
+    }
+
+    AccountStore(Path file) {
+        this.file = file;
+    }
+
+    // ▶️ Loads the store and schedules snapshots; on failure the ledger carries on without it
+    public synchronized void start() {
+        if (!ENABLED || loaded) return;
+        try {
+            long t0 = System.nanoTime();
+            String source = load();
+            System.out.printf("🧠 Account store: %,d accounts from %s in %d ms%n",
+                    size, source, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0));
+        } catch (SQLException | IOException e) {
+            System.err.println("⚠️ Account store unavailable, balances come from the database: " + e.getMessage());
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "swiftbank-store-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException e) {
+                System.err.println("⚠️ Account store snapshot failed: " + e.getMessage());
+            }
+        }, SNAPSHOT_SECONDS, SNAPSHOT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // 📥 Snapshot plus replay when the snapshot is usable, otherwise a full load. Returns the source.
+    synchronized String load() throws SQLException, IOException {
+        try (Connection con = DBConnection.getConnection()) {
+            if (con == null) throw new SQLException("Database connection failed.");
+            long maxId;
+            try (PreparedStatement ps = con.prepareStatement(Sql.STORE_MAX_TRANSACTION_ID.text());
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            String source;
+            if (Files.exists(file) && readSnapshot(con, maxId)) {
+                source = "snapshot + " + replay(con) + " replayed postings";
+            } else {
+                loadAll(con, maxId);
+                source = "the database";
+                loaded = true;
+                snapshot(); // the next start can skip the full load
+            }
+            loaded = true;
+            return source;
+        }
+    }
+
+    // Unusable when it is ahead of the database (restored or reset DB) or older than the archive
+    // horizon (rows after its watermark may have left the transactions table)
+    private boolean readSnapshot(Connection con, long maxId) throws SQLException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = ch.size();
+            if (length < 32) return false;
+            MappedByteBuffer in = ch.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            CRC32 crc = new CRC32();
+            crc.update(in.slice(0, (int) length - 4));
+            if (in.getInt(0) != MAGIC || in.getInt(4) != VERSION || in.getInt((int) length - 4) != (int) crc.getValue()) {
+                System.err.println("⚠️ Account store snapshot " + file + " is corrupt; loading from the database");
+                return false;
+            }
+            in.position(8);
+            long snapshotWatermark = in.getLong(), takenAt = in.getLong();
+            int count = in.getInt();
+            if (snapshotWatermark > maxId || takenAt < TransactionArchive.getInstance().horizon(con).getTime()) return false;
+            byte[] name = new byte[64];
+            lock.writeLock().lock();
+            try {
+                clear(count);
+                for (int i = 0; i < count; i++) {
+                    int len = in.getShort();
+                    if (len > name.length) name = new byte[len];
+                    in.get(name, 0, len);
+                    insert(new String(name, 0, len, StandardCharsets.UTF_8));
+                }
+                balances.put(0, in, in.position(), count * Long.BYTES);
+                watermark.set(snapshotWatermark);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️ Account store snapshot " + file + " unreadable (" + e + "); loading from the database");
+            return false;
+        }
+    }
+
+    private void loadAll(Connection con, long maxId) throws SQLException {
+        lock.writeLock().lock();
+        try (PreparedStatement ps = con.prepareStatement(Sql.STORE_LOAD_BALANCES.text(),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(REPLAY_FETCH_SIZE);
+            clear(1024);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int slot = insert(rs.getString(1));
+                    BALANCE.setVolatile(balances, slot * Long.BYTES, Money.of(rs.getBigDecimal(2)).getMinor());
+                }
+            }
+            watermark.set(maxId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Postings committed after the snapshot, in id order; rows for accounts the snapshot does not
+    // know are skipped (those accounts load on their next posting)
+    private long replay(Connection con) throws SQLException {
+        long rows = 0;
+        try (PreparedStatement ps = con.prepareStatement(Sql.STORE_REPLAY.text(),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(REPLAY_FETCH_SIZE);
+            ps.setLong(1, watermark.get());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    watermark.set(rs.getLong(1));
+                    int slot = find(rs.getString(2));
+                    if (slot < 0) continue;
+                    long minor = Money.of(rs.getBigDecimal(4)).getMinor();
+                    String type = rs.getString(3);
+                    if (LedgerService.isCredit(type)) BALANCE.getAndAdd(balances, slot * Long.BYTES, minor);
+                    else if (LedgerService.isDebit(type)) BALANCE.getAndAdd(balances, slot * Long.BYTES, -minor);
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    // ⚡ Balance of a resident account, or null (the caller reads the database)
+    public Money balance(String accountNo) {
+        lock.readLock().lock();
+        try {
+            int slot = find(accountNo);
+            if (slot < 0) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return Money.ofMinor((long) BALANCE.getVolatile(balances, slot * Long.BYTES));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Slot of a resident account, or -1. Slots never move, so callers may keep them.
+    public int slot(String accountNo) {
+        lock.readLock().lock();
+        try {
+            return find(accountNo);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Money balanceAt(int slot) {
+        lock.readLock().lock();
+        try {
+            return Money.ofMinor((long) BALANCE.getVolatile(balances, slot * Long.BYTES));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String accountNo) {
+        return slot(accountNo) >= 0;
+    }
+
+    // ✍️ One committed posting batch: per-account deltas for resident accounts, committed balances
+    // for accounts seen for the first time, and the batch's highest transactions.id. Called by the
+    // single posting writer after commit; returns every touched account's new balance.
+    public Map<String, Money> applyCommitted(Map<String, Long> deltas, Map<String, Money> firstSeen, long lastTransactionId) {
+        Map<String, Money> result = new HashMap<>();
+        if (!firstSeen.isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                for (Map.Entry<String, Money> e : firstSeen.entrySet()) {
+                    int slot = find(e.getKey());
+                    if (slot < 0) slot = insert(e.getKey());
+                    BALANCE.setVolatile(balances, slot * Long.BYTES, e.getValue().getMinor());
+                    result.put(e.getKey(), e.getValue());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, Long> e : deltas.entrySet()) {
+                int slot = find(e.getKey());
+                if (slot < 0 || firstSeen.containsKey(e.getKey())) continue;
+                long delta = e.getValue();
+                result.put(e.getKey(), Money.ofMinor((long) BALANCE.getAndAdd(balances, slot * Long.BYTES, delta) + delta));
+            }
+            // Under the read lock, so a snapshot sees either all of this batch or none of it
+            watermark.accumulateAndGet(lastTransactionId, Math::max);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public ReentrantLock commitOrder() {
+        return commitOrder;
+    }
+
+    // Highest id generated by an INSERT prepared with RETURN_GENERATED_KEYS
+    static long lastGeneratedId(PreparedStatement ps) throws SQLException {
+        long max = 0;
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            while (keys.next()) max = Math.max(max, keys.getLong(1));
+        }
+        return max;
+    }
+
+    // 📸 Copies balances and watermark under the write lock (one bulk copy), then writes the file
+    // outside it: [magic][version][watermark][taken at][count][account numbers][balances][crc32]
+    public void snapshot() throws IOException {
+        if (!loaded) return;
+        String[] names;
+        ByteBuffer copy;
+        long mark;
+        int count;
+        long takenAt = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            names = accountNos;
+            count = size;
+            copy = ByteBuffer.allocateDirect(count * Long.BYTES);
+            copy.put(0, balances, 0, count * Long.BYTES);
+            mark = watermark.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path part = file.resolveSibling(file.getFileName() + ".part");
+        try (FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32 crc = new CRC32();
+            ByteBuffer buf = ByteBuffer.allocateDirect(64 * 1024);
+            buf.putInt(MAGIC).putInt(VERSION).putLong(mark).putLong(takenAt).putInt(count);
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = names[i].getBytes(StandardCharsets.UTF_8);
+                if (buf.remaining() < 2 + bytes.length) drain(out, buf, crc);
+                buf.putShort((short) bytes.length).put(bytes);
+            }
+            drain(out, buf, crc);
+            drain(out, copy.position(count * Long.BYTES), crc);
+            buf.putInt((int) crc.getValue());
+            buf.flip();
+            while (buf.hasRemaining()) out.write(buf);
+            out.force(true);
+        }
+        Files.move(part, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        snapshots.increment();
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buf, CRC32 crc) throws IOException {
+        buf.flip();
+        crc.update(buf.duplicate());
+        while (buf.hasRemaining()) out.write(buf);
+        buf.clear();
+    }
+
+    // 🧪 Bulk insert without a database (benchmarks); store must not be in use
+    void put(String accountNo, long balanceMinor) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(accountNo);
+            if (slot < 0) slot = insert(accountNo);
+            BALANCE.setVolatile(balances, slot * Long.BYTES, balanceMinor);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 🔎 Open addressing with linear probing; caller holds a lock
+    private int find(String accountNo) {
+        int mask = index.length - 1;
+        for (int i = spread(accountNo.hashCode()) & mask; ; i = (i + 1) & mask) {
+            int entry = index[i];
+            if (entry == 0) return -1;
+            if (accountNos[entry - 1].equals(accountNo)) return entry - 1;
+        }
+    }
+
+    // Caller holds the write lock and has checked the account is absent
+    private int insert(String accountNo) {
+        if (size == accountNos.length) {
+            int capacity = size * 2;
+            accountNos = Arrays.copyOf(accountNos, capacity);
+            ByteBuffer grown = ByteBuffer.allocateDirect(capacity * Long.BYTES);
+            grown.put(0, balances, 0, size * Long.BYTES);
+            balances = grown;
+        }
+        if ((size + 1) * 2 > index.length) rehash(index.length * 2);
+        int slot = size++;
+        accountNos[slot] = accountNo;
+        int mask = index.length - 1, i = spread(accountNo.hashCode()) & mask;
+        while (index[i] != 0) i = (i + 1) & mask;
+        index[i] = slot + 1;
+        return slot;
+    }
+
+    private void rehash(int length) {
+        int[] table = new int[length];
+        int mask = length - 1;
+        for (int slot = 0; slot < size; slot++) {
+            int i = spread(accountNos[slot].hashCode()) & mask;
+            while (table[i] != 0) i = (i + 1) & mask;
+            table[i] = slot + 1;
+        }
+        index = table;
+    }
+
+    private void clear(int capacity) {
+        capacity = Math.max(1024, capacity);
+        accountNos = new String[capacity];
+        balances = ByteBuffer.allocateDirect(capacity * Long.BYTES);
+        index = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        size = 0;
+    }
+
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) * 0x9E3779B1;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getSnapshotCount() { return snapshots.sum(); }
+
+    @Override
+    public String toString() {
+        return String.format("AccountStore[size=%d, offHeap=%,d bytes, watermark=%d, hits=%d, misses=%d, snapshots=%d]",
+                size(), balances.capacity(), watermark.get(), getHitCount(), getMissCount(), getSnapshotCount());
+    }
+}
@@ -0,0 +1,134 @@
+import java.nio.file.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 🧪 Exercises the in-memory account store. Part one snapshots and reloads a large synthetic
+// store. Part two posts through the ledger with the store enabled, checks every balance against
+// the database, then "restarts" from the snapshot plus the postings made after it. Exits 1 on failure:
+//   java -Dswiftbank.db.url="jdbc:h2:mem:bank;DB_CLOSE_DELAY=-1" -Dswiftbank.db.driver=org.h2.Driver \
+//        -Dswiftbank.db.user=sa -Dswiftbank.auth.iterations=1000 -Dscale=1000000 AccountStoreHarness
+public class AccountStoreHarness {
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("swiftbank-store");
+        System.setProperty("swiftbank.store.enabled", "true");
+        System.setProperty("swiftbank.store.file", dir.resolve("accounts.snapshot").toString());
+        BankServiceHarness.createSchema();
+        scale(dir, Integer.getInteger("scale", 1_000_000));
+        ledger(dir, Integer.getInteger("accounts", 200), Integer.getInteger("postings", 5_000));
+        System.out.println(failures == 0 ? "✅ Account store matches the database" : "❌ " + failures + " problem(s)");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // 📸 Snapshot write and load times for `count` accounts
+    private static void scale(Path dir, int count) throws Exception {
+        Path file = dir.resolve("scale.snapshot");
+        AccountStore store = new AccountStore(file);
+        for (int i = 0; i < count; i++) store.put(String.format("SB%010d", i), i * 7L);
+        long t0 = System.nanoTime();
+        store.snapshot();
+        long written = System.nanoTime() - t0;
+
+        AccountStore loaded = new AccountStore(file);
+        t0 = System.nanoTime();
+        String source = loaded.load();
+        long read = System.nanoTime() - t0;
+        check(source.startsWith("snapshot"), "scale store loaded from " + source);
+        check(loaded.size() == count, "loaded " + loaded.size() + " of " + count + " accounts");
+        Random random = new Random(7);
+        for (int n = 0; n < 10_000; n++) {
+            int i = random.nextInt(count);
+            Money balance = loaded.balance(String.format("SB%010d", i));
+            check(balance != null && balance.getMinor() == i * 7L, "SB" + i + " loaded as " + balance);
+        }
+        System.out.printf("📸 %,d accounts: snapshot %,d bytes written in %d ms, loaded in %d ms%n",
+                count, Files.size(file), written / 1_000_000, read / 1_000_000);
+    }
+
+    private static void ledger(Path dir, int accounts, int postings) throws Exception {
+        List<String> accountNos = BankServiceHarness.seedAccounts(accounts, Money.parse("1000"));
+        BankService bank = BankService.getInstance();
+        LedgerService.getInstance().start(); // loads the store: nothing in it yet, so from the database
+        AccountStore store = AccountStore.getInstance();
+        check(store.isLoaded(), "store did not load");
+
+        post(bank, accountNos, postings, 1);
+        compare(store, accountNos, "after postings");
+
+        // Blocking postings, a login view and a withdrawal the store refuses on its own
+        String first = accountNos.get(0);
+        Account account = BankServiceHarness.loginWithRetry(bank, first);
+        Money before = account.getBalance();
+        LedgerService.getInstance().deposit(first, Money.parse("5.00"));
+        check(account.getBalance().equals(before.plus(Money.parse("5.00"))), "flyweight balance did not follow the deposit");
+        try {
+            bank.withdraw(first, Money.parse("1000000")).join();
+            check(false, "overdraft was accepted");
+        } catch (CompletionException e) {
+            check(e.getCause() instanceof LedgerService.InsufficientFundsException, "overdraft failed with " + e.getCause());
+        }
+
+        store.snapshot();
+        post(bank, accountNos, postings / 2, 2);
+        compare(store, accountNos, "after more postings");
+        AccountStore restarted = new AccountStore(dir.resolve("accounts.snapshot"));
+        long t0 = System.nanoTime();
+        String source = restarted.load();
+        System.out.printf("🔁 Restart: %s in %.1f ms%n", source, (System.nanoTime() - t0) / 1e6);
+        check(source.startsWith("snapshot"), "restart loaded from " + source);
+        compare(restarted, accountNos, "after restart");
+        System.out.println("🧠 " + store);
+    }
+
+    private static void post(BankService bank, List<String> accountNos, int postings, long seed) throws Exception {
+        Random random = new Random(seed);
+        List<String> targets = new ArrayList<>(postings);
+        for (int i = 0; i < postings; i++) targets.add(accountNos.get(random.nextInt(accountNos.size())));
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < postings; i++) {
+                String accountNo = targets.get(i);
+                boolean deposit = i % 3 != 0;
+                pool.submit(() -> {
+                    try {
+                        if (deposit) bank.deposit(accountNo, Money.parse("12.34")).join();
+                        else bank.withdraw(accountNo, Money.parse("7.89")).join();
+                    } catch (CompletionException e) {
+                        if (!(e.getCause() instanceof LedgerService.InsufficientFundsException)) throw e;
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private static void compare(AccountStore store, List<String> accountNos, String when) throws SQLException {
+        int mismatches = 0;
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(Sql.SELECT_BALANCE.text())) {
+            for (String accountNo : accountNos) {
+                ps.setString(1, accountNo);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    Money db = Money.of(rs.getBigDecimal(1)), stored = store.balance(accountNo);
+                    if (!db.equals(stored)) {
+                        if (++mismatches <= 5) System.out.printf("❌ %s %s: store %s, database %s%n", when, accountNo, stored, db);
+                    }
+                }
+            }
+        }
+        check(mismatches == 0, mismatches + " balances differ " + when);
+        if (mismatches == 0) System.out.printf("✅ %d balances match the database %s%n", accountNos.size(), when);
+    }
+
+    private static void check(boolean ok, String what) {
+        if (ok) return;
+        failures++;
+        System.out.println("❌ " + what);
+    }
+}
@@ -0,0 +1,74 @@
+import javax.swing.*;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+// 🧵 Runs blocking BankService calls on virtual threads and hands results back to the EDT.
+// One instance per window: identical reads in flight are coalesced by key, and cancelAll()
+// drops every outstanding read when the user navigates away or logs out. Writes go through
+// write(): never coalesced, never cancelled, so their outcome always reaches the user.
+public class AsyncDataAccess {
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<String, Task<?>> inFlight = new ConcurrentHashMap<>();
+
+    // 🔁 A second request for the same key while the first is running shares its result
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> call(String key, Callable<T> work) {
+        Task<T> task = new Task<>();
+        Task<?> existing = inFlight.putIfAbsent(key, task);
+        if (existing != null) return (CompletableFuture<T>) existing.result;
+        task.worker = EXECUTOR.submit(() -> run(key, task, work));
+        return task.result;
+    }
+
+    // ✍️ A write (transfer, password change): its own task every time, untouched by cancelAll(),
+    // so it is never interrupted mid-commit and its result is always delivered
+    public <T> CompletableFuture<T> write(Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            try {
+                result.complete(work.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private <T> void run(String key, Task<T> task, Callable<T> work) {
+        try {
+            task.result.complete(work.call());
+        } catch (Throwable e) {
+            task.result.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, task);
+        }
+    }
+
+    // 🖥️ Deliver the outcome on the EDT; cancelled requests are dropped silently
+    public static <T> void onEdt(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((value, ex) -> {
+            if (future.isCancelled()) return;
+            SwingUtilities.invokeLater(() -> {
+                if (ex == null) onSuccess.accept(value);
+                else onError.accept(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            });
+        });
+    }
+
+    // 🛑 Cancel every outstanding read and interrupt its worker (writes are not tracked here)
+    public void cancelAll() {
+        for (Task<?> task : inFlight.values()) {
+            task.result.cancel(false);
+            Future<?> worker = task.worker;
+            if (worker != null) worker.cancel(true);
+        }
+        inFlight.clear();
+    }
+
+    private static class Task<T> {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        volatile Future<?> worker;
+    }
+}
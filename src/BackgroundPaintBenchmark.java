@@ -0,0 +1,49 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// ⏱️ Frame cost of the login background: the old per-frame GradientPaint fill versus blitting
+// CachedBackgroundPanel's cached image, plus what the old always-on 50 ms repaint timer cost
+// while idle. Runs offscreen, so it works headless:
+//   java -Djava.awt.headless=true BackgroundPaintBenchmark
+public class BackgroundPaintBenchmark {
+    private static final int W = 500, H = 400, FRAMES = 5_000;
+
+    public static void main(String[] args) {
+        BufferedImage screen = new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB);
+        for (int round = 1; round <= 3; round++) {
+            System.out.println("— Round " + round + " —");
+
+            Graphics2D g = screen.createGraphics();
+            long cpu0 = CachedBackgroundPanel.cpuNanos(), t0 = System.nanoTime();
+            for (int i = 0; i < FRAMES; i++) {
+                // What LoginFrame did on every timer tick
+                Color c1 = new Color(15, 20, 40);
+                Color c2 = new Color(25, 35, 55);
+                g.setPaint(new GradientPaint(0, 0, c1, W, H, c2));
+                g.fillRect(0, 0, W, H);
+            }
+            report("gradient per frame", System.nanoTime() - t0, CachedBackgroundPanel.cpuNanos() - cpu0);
+            g.dispose();
+
+            CachedBackgroundPanel panel = new CachedBackgroundPanel((g2d, w, h) -> {
+                g2d.setPaint(new GradientPaint(0, 0, new Color(15, 20, 40), w, h, new Color(25, 35, 55)));
+                g2d.fillRect(0, 0, w, h);
+            });
+            panel.setSize(W, H);
+            g = screen.createGraphics();
+            cpu0 = CachedBackgroundPanel.cpuNanos();
+            t0 = System.nanoTime();
+            for (int i = 0; i < FRAMES; i++) panel.paint(g);
+            report("cached image blit", System.nanoTime() - t0, CachedBackgroundPanel.cpuNanos() - cpu0);
+            g.dispose();
+            System.out.println("  " + panel);
+        }
+        System.out.println("Idle login window now: 0 frames/s (repaints only on size change or input)");
+    }
+
+    private static void report(String name, long nanos, long cpuNanos) {
+        double frameMs = nanos / 1e6 / FRAMES;
+        System.out.printf("%-20s %7.3f ms/frame, CPU %7.3f ms/frame → %5.2f%% of a core at the old 20 fps%n",
+                name, frameMs, cpuNanos / 1e6 / FRAMES, 100.0 * cpuNanos / 1e6 / FRAMES / 50);
+    }
+}
@@ -1,10 +1,24 @@
 import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class BankApp {
     public static void main(String[] args) {
+        StartupTimeline.mark("main");
+        // 🚀 Driver, pool, journal, fonts, hashing and the dashboard skeleton warm up in parallel;
+        // the splash screen's progress bar follows them and hands over to login when they finish
+        SplashScreen.Progress progress = new SplashScreen.Progress();
+        CompletableFuture<List<StartupWarmup.TaskResult>> warmup = new StartupWarmup().start(progress);
+        warmup.thenAccept(results -> {
+            StartupTimeline.mark("warmup done");
+            for (StartupWarmup.TaskResult r : results)
+                if (r.error() != null) System.err.println("⚠️ Startup task " + r.name() + " failed: " + r.error());
+        });
+
         SwingUtilities.invokeLater(() -> {
-            SplashScreen splash = new SplashScreen();
+            SplashScreen splash = new SplashScreen(progress, warmup);
             splash.setVisible(true);
+            StartupTimeline.mark("splash shown");
         });
     }
 }
@@ -0,0 +1,179 @@
+import java.sql.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// 🏦 Headless banking core: every operation the Swing frames offer, with no GUI dependency.
+// Methods block on JDBC, so UI callers run them through AsyncDataAccess. Each one is timed in Metrics.
+public class BankService {
+    private static final BankService INSTANCE = new BankService();
+
+    public record HistoryEntry(long id, String type, Money amount, Timestamp timestamp) {
+    }
+
+    private final LedgerService ledger;
+    private final AccountSnapshotCache snapshots;
+    private final PasswordAuthenticator auth;
+    private final HistoryRouter history = new HistoryRouter(TransactionArchive.getInstance());
+
+    public static BankService getInstance() {
+        return INSTANCE;
+    }
+
+    BankService() {
+        this(LedgerService.getInstance(), AccountSnapshotCache.getInstance(), PasswordAuthenticator.getInstance());
+    }
+
+    BankService(LedgerService ledger, AccountSnapshotCache snapshots, PasswordAuthenticator auth) {
+        this.ledger = ledger;
+        this.snapshots = snapshots;
+        this.auth = auth;
+    }
+
+    // 🔐 Returns the account, or null when the number/password pair does not match.
+    // Throws ThrottledException while the account is locked out or sign-in is saturated.
+    public Account login(String accountNo, String password) throws SQLException, LoginThrottle.ThrottledException {
+        long start = Metrics.start();
+        try {
+            if (!auth.authenticate(accountNo, password)) return Metrics.LOGIN.ok(start, null);
+            AccountSnapshotCache.Snapshot snap = loadSnapshot(accountNo);
+            if (snap == null) return Metrics.LOGIN.ok(start, null);
+            AccountStore store = AccountStore.getInstance();
+            int slot = store.isLoaded() ? store.slot(accountNo) : -1;
+            return Metrics.LOGIN.ok(start, slot >= 0
+                    ? new Account(snap.name(), accountNo, store, slot) : new Account(snap.name(), accountNo, snap.balance()));
+        } catch (LoginThrottle.ThrottledException e) {
+            Metrics.LOGIN.rejected(start, e);
+            throw e;
+        } catch (SQLException | RuntimeException e) {
+            Metrics.LOGIN.failed(start, e);
+            throw e;
+        }
+    }
+
+    // 💵💳 Ledger postings; the futures complete once the posting is durable
+    public CompletableFuture<Money> deposit(String accountNo, Money amount) {
+        return Metrics.DEPOSIT.async(Metrics.start(), ledger.depositAsync(accountNo, amount));
+    }
+
+    public CompletableFuture<Money> withdraw(String accountNo, Money amount) {
+        return Metrics.WITHDRAW.async(Metrics.start(), ledger.withdrawAsync(accountNo, amount));
+    }
+
+    // 🔁 Atomic account-to-account transfer; returns the source account's new balance
+    public Money transfer(String from, String to, Money amount)
+            throws SQLException, LedgerService.InsufficientFundsException, LedgerService.UnknownAccountException {
+        long start = Metrics.start();
+        try {
+            return Metrics.TRANSFER.ok(start, ledger.transfer(from, to, amount));
+        } catch (LedgerService.InsufficientFundsException | LedgerService.UnknownAccountException | IllegalArgumentException e) {
+            Metrics.TRANSFER.rejected(start, e);
+            throw e;
+        } catch (SQLException | RuntimeException e) {
+            Metrics.TRANSFER.failed(start, e);
+            throw e;
+        }
+    }
+
+    // 🧾 One payer, many payees, all or nothing; returns every involved account's new balance
+    public Map<String, Money> payroll(String payer, Map<String, Money> payees)
+            throws SQLException, LedgerService.InsufficientFundsException, LedgerService.UnknownAccountException {
+        long start = Metrics.start();
+        try {
+            return Metrics.PAYROLL.ok(start, ledger.payroll(payer, payees));
+        } catch (LedgerService.InsufficientFundsException | LedgerService.UnknownAccountException | IllegalArgumentException e) {
+            Metrics.PAYROLL.rejected(start, e);
+            throw e;
+        } catch (SQLException | RuntimeException e) {
+            Metrics.PAYROLL.failed(start, e);
+            throw e;
+        }
+    }
+
+    // 📜 Newest first, across the hot table and the archive
+    public List<HistoryEntry> recentHistory(String accountNo, int limit) throws SQLException {
+        long start = Metrics.start();
+        try (Connection con = connect()) {
+            List<HistoryEntry> rows = history.recent(con, accountNo, limit);
+            Metrics.rowsRead(rows.size());
+            return Metrics.HISTORY.ok(start, rows);
+        } catch (SQLException | RuntimeException e) {
+            Metrics.HISTORY.failed(start, e);
+            throw e;
+        }
+    }
+
+    // 📈 Keyset page of history strictly older than (afterTimestamp, afterId); null key = first page
+    public List<HistoryEntry> historyPage(String accountNo, Timestamp afterTimestamp, long afterId, int limit)
+            throws SQLException {
+        if (afterTimestamp == null) return recentHistory(accountNo, limit);
+        long start = Metrics.start();
+        try (Connection con = connect()) {
+            List<HistoryEntry> rows = history.pageBefore(con, accountNo, afterTimestamp, afterId, limit);
+            Metrics.rowsRead(rows.size());
+            return Metrics.HISTORY.ok(start, rows);
+        } catch (SQLException | RuntimeException e) {
+            Metrics.HISTORY.failed(start, e);
+            throw e;
+        }
+    }
+
+    // 👤 Profile and account details (served from the snapshot cache when fresh)
+    public AccountSnapshotCache.Snapshot snapshot(String accountNo) throws SQLException {
+        AccountSnapshotCache.Snapshot snap = snapshots.getIfPresent(accountNo);
+        if (snap != null) Metrics.profileCacheHit();
+        else snap = loadSnapshot(accountNo);
+        // The account store, when loaded, is the freshest balance
+        Money stored = snap != null && AccountStore.getInstance().isLoaded() ? AccountStore.getInstance().balance(accountNo) : null;
+        return stored != null ? snap.withBalance(stored) : snap;
+    }
+
+    // Cache miss: one query, timed as a profile load
+    private AccountSnapshotCache.Snapshot loadSnapshot(String accountNo) throws SQLException {
+        AccountSnapshotCache.Snapshot snap = snapshots.getIfPresent(accountNo);
+        if (snap != null) return snap;
+        long start = Metrics.start();
+        try (Connection con = connect()) {
+            snap = snapshots.load(con, accountNo);
+            Metrics.rowsRead(snap == null ? 0 : 1);
+            return Metrics.PROFILE.ok(start, snap);
+        } catch (SQLException | RuntimeException e) {
+            Metrics.PROFILE.failed(start, e);
+            throw e;
+        }
+    }
+
+    // 📊 Deposit/withdrawal totals for the dashboard cards (O(1): summary rows, not history)
+    public AccountAggregates.Summary summary(String accountNo) throws SQLException {
+        long start = Metrics.start();
+        try (Connection con = connect()) {
+            return Metrics.SUMMARY.ok(start, AccountAggregates.read(con, accountNo));
+        } catch (SQLException | RuntimeException e) {
+            Metrics.SUMMARY.failed(start, e);
+            throw e;
+        }
+    }
+
+    // 🔒 Returns false when the old password is wrong
+    public boolean changePassword(String accountNo, String oldPassword, String newPassword)
+            throws SQLException, LoginThrottle.ThrottledException {
+        long start = Metrics.start();
+        try {
+            boolean changed = auth.changePassword(accountNo, oldPassword, newPassword);
+            if (changed) snapshots.invalidate(accountNo);
+            return Metrics.CHANGE_PASSWORD.ok(start, changed);
+        } catch (LoginThrottle.ThrottledException e) {
+            Metrics.CHANGE_PASSWORD.rejected(start, e);
+            throw e;
+        } catch (SQLException | RuntimeException e) {
+            Metrics.CHANGE_PASSWORD.failed(start, e);
+            throw e;
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        Connection con = DBConnection.getConnection();
+        if (con == null) throw new SQLException("Database connection failed.");
+        return con;
+    }
+}
@@ -0,0 +1,137 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 🧪 Drives BankService with thousands of concurrent simulated sessions, no display needed.
+// Point it at an embedded database (any JDBC driver on the classpath), e.g.
+//   java -Dswiftbank.db.url=jdbc:h2:mem:bank -Dswiftbank.db.driver=org.h2.Driver -Dswiftbank.db.user=sa \
+//        -Dsessions=2000 -Daccounts=200 -Dswiftbank.auth.iterations=1000 BankServiceHarness
+// Each session logs in, deposits, withdraws, reads history and its profile, then the harness
+// reconciles every balance against the postings it made.
+public class BankServiceHarness {
+    static final String PASSWORD = "harness-pw";
+
+    public static void main(String[] args) throws Exception {
+        int sessions = Integer.getInteger("sessions", 2000);
+        int accounts = Integer.getInteger("accounts", 200);
+        int rounds = Integer.getInteger("rounds", 5);
+        BankService bank = BankService.getInstance();
+
+        createSchema();
+        List<String> accountNos = seedAccounts(accounts, Money.parse("1000"));
+        AtomicLong[] netMinor = new AtomicLong[accounts];
+        for (int i = 0; i < accounts; i++) netMinor[i] = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+
+        Money deposit = Money.parse("25.50"), withdrawal = Money.parse("10.25");
+        long t0 = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int s = 0; s < sessions; s++) {
+                int idx = s % accounts;
+                String accountNo = accountNos.get(idx);
+                pool.submit(() -> {
+                    try {
+                        if (loginWithRetry(bank, accountNo) == null) throw new IllegalStateException("login failed");
+                        for (int r = 0; r < rounds; r++) {
+                            bank.deposit(accountNo, deposit).join();
+                            netMinor[idx].addAndGet(deposit.getMinor());
+                            bank.withdraw(accountNo, withdrawal).join();
+                            netMinor[idx].addAndGet(-withdrawal.getMinor());
+                            bank.recentHistory(accountNo, 10);
+                        }
+                        bank.snapshot(accountNo);
+                    } catch (Exception e) {
+                        if (failures.incrementAndGet() <= 5) e.printStackTrace();
+                    }
+                    return null;
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+
+        int mismatches = 0;
+        for (int i = 0; i < accounts; i++) {
+            Money expected = Money.parse("1000").plus(Money.ofMinor(netMinor[i].get()));
+            Money actual = balanceOf(accountNos.get(i));
+            if (!expected.equals(actual)) {
+                mismatches++;
+                System.out.printf("❌ %s expected=%s actual=%s%n", accountNos.get(i), expected, actual);
+            }
+            AccountAggregates.Summary summary = bank.summary(accountNos.get(i));
+            AccountAggregates.Summary recount;
+            try (Connection con = DBConnection.getConnection()) {
+                recount = AccountAggregates.fromHistory(con, accountNos.get(i));
+            }
+            if (!summary.equals(recount)) {
+                mismatches++;
+                System.out.printf("❌ %s aggregates %s, history says %s%n", accountNos.get(i), summary, recount);
+            }
+            AccountAggregates.Totals totals = summary.allTime();
+            Money net = totals.deposits().minus(totals.withdrawals());
+            if (net.getMinor() != netMinor[i].get() || totals.depositCount() != totals.withdrawalCount()) {
+                mismatches++;
+                System.out.printf("❌ %s aggregates %s don't match net %s%n", accountNos.get(i), totals,
+                        Money.ofMinor(netMinor[i].get()));
+            }
+        }
+        long operations = (long) sessions * (2 + rounds * 3);
+        System.out.printf("%d sessions, %d operations in %.2fs (%.0f ops/s), %d session failures%n",
+                sessions, operations, seconds, operations / seconds, failures.get());
+        System.out.println("🏊 " + DBConnection.getPool());
+        System.out.println("🗂️ " + AccountSnapshotCache.getInstance());
+        System.out.print("📊 " + Metrics.text());
+        System.out.println(mismatches == 0 && failures.get() == 0 ? "✅ All balances reconcile" : "❌ Harness found problems");
+        System.exit(mismatches == 0 && failures.get() == 0 ? 0 : 1);
+    }
+
+    // Sign-in sheds load when its hashing queue is full; a real client backs off and retries
+    static Account loginWithRetry(BankService bank, String accountNo) throws Exception {
+        while (true) {
+            try {
+                return bank.login(accountNo, PASSWORD);
+            } catch (LoginThrottle.ThrottledException e) {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(e.getRetryAfterMs() / 2, e.getRetryAfterMs() + 1));
+            }
+        }
+    }
+
+    static void createSchema() throws SQLException {
+        SchemaMigrations.migrate();
+    }
+
+    // Fresh accounts per run (prefix from the clock) so existing data is never touched
+    static List<String> seedAccounts(int count, Money openingBalance) throws SQLException {
+        String prefix = "SIM" + (System.currentTimeMillis() % 1_000_000) + "-";
+        List<String> accountNos = new ArrayList<>(count);
+        String hashed = PasswordAuthenticator.getInstance().getHasher().hash(PASSWORD); // one salt for all: test data
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement customer = con.prepareStatement(
+                     "INSERT INTO customers (name, email, password) VALUES (?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement account = con.prepareStatement(
+                     "INSERT INTO accounts (account_no, customer_id, type, balance) VALUES (?, ?, 'Savings', ?)")) {
+            for (int i = 0; i < count; i++) {
+                String accountNo = prefix + i;
+                customer.setString(1, "Sim Customer " + i);
+                customer.setString(2, "sim" + i + "@swiftbank.test");
+                customer.setString(3, hashed);
+                customer.executeUpdate();
+                try (ResultSet keys = customer.getGeneratedKeys()) {
+                    keys.next();
+                    account.setString(1, accountNo);
+                    account.setInt(2, keys.getInt(1));
+                    account.setBigDecimal(3, openingBalance.toBigDecimal());
+                    account.executeUpdate();
+                }
+                accountNos.add(accountNo);
+            }
+        }
+        return accountNos;
+    }
+
+    static Money balanceOf(String accountNo) throws SQLException {
+        AccountSnapshotCache.getInstance().invalidate(accountNo);
+        return BankService.getInstance().snapshot(accountNo).balance();
+    }
+}
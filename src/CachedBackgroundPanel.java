@@ -0,0 +1,92 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+// 🖼️ Panel whose background is rendered once into a compatible BufferedImage and blitted on
+// every paint. It is re-rendered only when the size changes or invalidateBackground() is called,
+// so an idle window does no gradient work and allocates nothing per frame.
+// With -Dswiftbank.render.stats=true it logs paint counts, frame time and process CPU every
+// 10 seconds while showing; the stats timer stops when the panel is hidden or disposed.
+public class CachedBackgroundPanel extends JPanel {
+    @FunctionalInterface
+    public interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private static final boolean STATS = Boolean.getBoolean("swiftbank.render.stats");
+
+    private final Painter painter;
+    private BufferedImage background;
+
+    // 📊 EDT-only counters
+    private long paints, backgroundRenders, paintNanos, maxPaintNanos;
+
+    public CachedBackgroundPanel(Painter painter) {
+        this.painter = painter;
+        setOpaque(true);
+        if (STATS) logStatsWhileShowing();
+    }
+
+    public void invalidateBackground() {
+        background = null;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long t0 = System.nanoTime();
+        int w = getWidth(), h = getHeight();
+        if (w <= 0 || h <= 0) return;
+        if (background == null || background.getWidth() != w || background.getHeight() != h) {
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            background = gc != null ? gc.createCompatibleImage(w, h) : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D bg = background.createGraphics();
+            try {
+                painter.paint(bg, w, h);
+            } finally {
+                bg.dispose();
+            }
+            backgroundRenders++;
+        }
+        g.drawImage(background, 0, 0, null);
+        long elapsed = System.nanoTime() - t0;
+        paints++;
+        paintNanos += elapsed;
+        maxPaintNanos = Math.max(maxPaintNanos, elapsed);
+    }
+
+    public long getPaintCount() { return paints; }
+    public long getBackgroundRenderCount() { return backgroundRenders; }
+    public double getAveragePaintMillis() { return paints == 0 ? 0 : paintNanos / 1e6 / paints; }
+    public double getMaxPaintMillis() { return maxPaintNanos / 1e6; }
+
+    @Override
+    public String toString() {
+        return String.format("CachedBackgroundPanel[paints=%d, backgroundRenders=%d, avgFrame=%.3fms, maxFrame=%.3fms]",
+                paints, backgroundRenders, getAveragePaintMillis(), getMaxPaintMillis());
+    }
+
+    // ⏱️ Process CPU used between reports, as a share of one core
+    private void logStatsWhileShowing() {
+        long[] last = {cpuNanos(), System.nanoTime()};
+        Timer timer = new Timer((int) TimeUnit.SECONDS.toMillis(10), e -> {
+            long cpu = cpuNanos(), now = System.nanoTime();
+            System.out.printf("🖼️ %s, process CPU %.1f%% of a core%n", this, 100.0 * (cpu - last[0]) / (now - last[1]));
+            last[0] = cpu;
+            last[1] = now;
+        });
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) return;
+            if (isShowing()) timer.start();
+            else timer.stop();
+        });
+    }
+
+    static long cpuNanos() {
+        return ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os
+                ? os.getProcessCpuTime() : 0;
+    }
+}
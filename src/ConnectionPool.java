@@ -0,0 +1,229 @@
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 🏊 Bounded JDBC connection pool used behind DBConnection.getConnection()
+public class ConnectionPool {
+    private final String url, user, password;
+    private final int maxSize, minIdle, statementCacheSize;
+    private final long borrowTimeoutMs, idleTimeoutMs, validateAfterMs;
+
+    private final Semaphore permits;
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    // 📊 Metrics
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password,
+                          int maxSize, int minIdle, long borrowTimeoutMs, long idleTimeoutMs) {
+        this(url, user, password, maxSize, minIdle, borrowTimeoutMs, idleTimeoutMs, 64);
+    }
+
+    public ConnectionPool(String url, String user, String password, int maxSize, int minIdle,
+                          long borrowTimeoutMs, long idleTimeoutMs, int statementCacheSize) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minIdle = Math.min(minIdle, maxSize);
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.validateAfterMs = 1000;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "swiftbank-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMs / 2);
+        housekeeper.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // 🔥 Open minIdle connections up front so the first login skips the handshake
+    public void prewarm() {
+        while (!closed && idle.size() < minIdle && idle.size() + active.get() < maxSize) {
+            try {
+                idle.offerLast(newPooledConnection());
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+    }
+
+    // 🔑 Borrow a connection; close() on the returned handle gives it back to the pool
+    public Connection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                SQLTimeoutException timeout = new SQLTimeoutException("Timed out after " + borrowTimeoutMs + " ms waiting for a connection");
+                Metrics.POOL_WAIT.error(timeout);
+                throw timeout;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        } finally {
+            long waited = System.nanoTime() - start;
+            waitNanos.add(waited);
+            Metrics.POOL_WAIT.record(waited);
+        }
+
+        try {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (isHealthy(pc)) break;
+                discard(pc);
+            }
+            if (pc == null) pc = newPooledConnection();
+            active.incrementAndGet();
+            borrowCount.increment();
+            return wrap(pc);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection newPooledConnection() throws SQLException {
+        Connection con = DriverManager.getConnection(url, user, password);
+        createdCount.increment();
+        return new PooledConnection(con, new StatementCache(con, statementCacheSize));
+    }
+
+    private boolean isHealthy(PooledConnection pc) {
+        if (System.currentTimeMillis() - pc.lastUsed < validateAfterMs) return true;
+        try {
+            return pc.raw.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        active.decrementAndGet();
+        try {
+            if (closed || pc.raw.isClosed()) {
+                discard(pc);
+            } else {
+                if (!pc.raw.getAutoCommit()) {
+                    pc.raw.rollback();
+                    pc.raw.setAutoCommit(true);
+                }
+                pc.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(pc);
+            }
+        } catch (SQLException e) {
+            discard(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        evictedCount.increment();
+        pc.statements.closeAll();
+        try {
+            pc.raw.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    // 🧹 Drop connections idle longer than idleTimeoutMs, keeping minIdle warm
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (PooledConnection pc : idle) {
+            if (idle.size() <= minIdle) break;
+            if (now - pc.lastUsed > idleTimeoutMs && idle.remove(pc)) discard(pc);
+        }
+        prewarm();
+    }
+
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) discard(pc);
+    }
+
+    private Connection wrap(PooledConnection pc) {
+        AtomicBoolean returned = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (returned.compareAndSet(false, true)) release(pc);
+                            return null;
+                        case "isClosed":
+                            if (returned.get()) return true;
+                            break;
+                        case "prepareStatement":
+                            // 🗃️ Plain prepareStatement(sql) goes through the per-connection cache
+                            if (args.length == 1 && !returned.get()) return pc.statements.prepare((String) args[0]);
+                            break;
+                        case "unwrap":
+                            if (args[0] == Connection.class) return proxy;
+                            break;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Pooled[" + pc.raw + "]";
+                    }
+                    if (returned.get()) throw new SQLException("Connection already returned to pool");
+                    try {
+                        return method.invoke(pc.raw, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    // 📊 Metrics getters
+    public int getActiveCount() { return active.get(); }
+    public int getIdleCount() { return idle.size(); }
+    public int getMaxSize() { return maxSize; }
+    public long getBorrowCount() { return borrowCount.sum(); }
+    public long getTimeoutCount() { return timeoutCount.sum(); }
+    public long getCreatedCount() { return createdCount.sum(); }
+    public long getEvictedCount() { return evictedCount.sum(); }
+    public long getTotalWaitMillis() { return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum()); }
+
+    public double getAverageWaitMillis() {
+        long borrows = borrowCount.sum() + timeoutCount.sum();
+        return borrows == 0 ? 0 : waitNanos.sum() / 1_000_000.0 / borrows;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool[active=%d, idle=%d, max=%d, borrows=%d, timeouts=%d, avgWait=%.2fms]",
+                getActiveCount(), getIdleCount(), maxSize, getBorrowCount(), getTimeoutCount(), getAverageWaitMillis());
+    }
+
+    private static class PooledConnection {
+        final Connection raw;
+        final StatementCache statements;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Connection raw, StatementCache statements) {
+            this.raw = raw;
+            this.statements = statements;
+        }
+    }
+}
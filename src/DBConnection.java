@@ -1,17 +1,66 @@
+import javax.swing.*;
 import java.sql.*;
 
 public class DBConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/bankdb";
-    private static final String USER = "root";
-    private static final String PASSWORD = "";
+    private static final String URL = System.getProperty("swiftbank.db.url", "jdbc:mysql://localhost:3306/bankdb");
+    private static final String USER = System.getProperty("swiftbank.db.user", "root");
+    private static final String PASSWORD = System.getProperty("swiftbank.db.password", "");
+    private static final String DRIVER = System.getProperty("swiftbank.db.driver", "com.mysql.cj.jdbc.Driver");
 
+    // 🏊 Pool sizing (override with -Dswiftbank.pool.*)
+    private static final int POOL_MAX = Integer.getInteger("swiftbank.pool.max", 10);
+    private static final int POOL_MIN_IDLE = Integer.getInteger("swiftbank.pool.minIdle", 2);
+    private static final long BORROW_TIMEOUT_MS = Long.getLong("swiftbank.pool.borrowTimeoutMs", 5000);
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("swiftbank.pool.idleTimeoutMs", 300_000);
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("swiftbank.pool.statementCacheSize", 64);
+
+    private static volatile ConnectionPool pool;
+
+    // Callers close() the returned connection as before; that now hands it back to the pool
     public static Connection getConnection() {
+        // 🧵 JDBC must never block the Swing EDT; checked with -ea (DashboardEdtHarness)
+        assert !SwingUtilities.isEventDispatchThread() : "JDBC call on the Event Dispatch Thread";
         try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            return getPool().borrow();
         } catch (Exception e) {
+            Metrics.sqlError("connect", e);
             e.printStackTrace();
             return null;
         }
     }
+
+    public static ConnectionPool getPool() throws ClassNotFoundException {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DBConnection.class) {
+                p = pool;
+                if (p == null) {
+                    p = createPool(STATEMENT_CACHE_SIZE);
+                    pool = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    // A separately configured pool on the same database (benchmarks compare settings side by side)
+    static ConnectionPool createPool(int statementCacheSize) throws ClassNotFoundException {
+        Class.forName(DRIVER);
+        return new ConnectionPool(URL, USER, PASSWORD, POOL_MAX, POOL_MIN_IDLE,
+                BORROW_TIMEOUT_MS, IDLE_TIMEOUT_MS, statementCacheSize);
+    }
+
+    // 🚀 Class-load the JDBC driver (startup warmup does this in parallel with other work)
+    public static void loadDriver() throws ClassNotFoundException {
+        Class.forName(DRIVER);
+    }
+
+    // 🔥 Open the idle connections ahead of the first query
+    public static void prewarm() {
+        try {
+            getPool().prewarm();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
 }
@@ -0,0 +1,240 @@
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import javax.swing.*;
+
+// 🧪 Proves the dashboard never blocks the Event Dispatch Thread: no JDBC, no journal fsync, no
+// lock or queue waits. DBConnection, LedgerService, PostingJournal and PostingPipeline assert it;
+// this harness runs with assertions on, and a sampler also watches the EDT while it dispatches:
+// waiting on a lock or monitor, sleeping, or sitting in file or socket I/O counts as blocking.
+// Each dashboard action starts on the EDT the way DashboardFrame does: login, balance/summary/
+// history loads, the paged transactions model, a deposit and a withdrawal, a transfer that a
+// sidebar click (cancelAll) tries to cancel, a password change, logout. Anything thrown on the EDT
+// is recorded by a wrapping EventQueue. With a display it also opens the real DashboardFrame.
+// Exits 1 on failure, 2 without -ea:
+//   java -ea -Djava.awt.headless=true -Dswiftbank.db.url="jdbc:h2:mem:bank;DB_CLOSE_DELAY=-1" \
+//        -Dswiftbank.db.driver=org.h2.Driver -Dswiftbank.db.user=sa -Dswiftbank.auth.iterations=1000 DashboardEdtHarness
+public class DashboardEdtHarness {
+    private static final List<Throwable> thrownOnEdt = new CopyOnWriteArrayList<>();
+    private static final List<String> blockedOnEdt = new CopyOnWriteArrayList<>();
+    // Frames that mean the EDT is doing I/O (stdout is left out: it is only written on failure)
+    private static final List<String> IO_FRAMES = List.of("sun.nio.ch.FileChannelImpl", "sun.nio.ch.FileDispatcherImpl",
+            "java.nio.MappedByteBuffer.force", "java.io.RandomAccessFile", "sun.nio.ch.NioSocketImpl", "java.net.Socket");
+    private static volatile Thread edt;
+    private static volatile boolean dispatching;
+    private static int failures;
+
+    // 🕵️ Every event on the EDT goes through here; whatever escapes a handler is kept
+    private static class RecordingQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            edt = Thread.currentThread();
+            dispatching = true;
+            try {
+                super.dispatchEvent(event);
+            } catch (Throwable t) {
+                thrownOnEdt.add(t);
+            } finally {
+                dispatching = false;
+            }
+        }
+    }
+
+    // ⏲️ Samples the EDT while it handles an event; idle waiting for the next event is fine
+    private static void sampler() {
+        Thread t = new Thread(() -> {
+            while (true) {
+                Thread e = edt;
+                if (e != null && dispatching) {
+                    Thread.State state = e.getState();
+                    StackTraceElement[] stack = e.getStackTrace();
+                    if (dispatching) {
+                        String why = blocking(state, stack);
+                        if (why != null) blockedOnEdt.add(why + describe(stack));
+                    }
+                }
+                LockSupport.parkNanos(100_000);
+            }
+        }, "edt-sampler");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private static String blocking(Thread.State state, StackTraceElement[] stack) {
+        if (state == Thread.State.BLOCKED || state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING)
+            return state + " ";
+        for (StackTraceElement f : stack) {
+            String frame = f.getClassName() + "." + f.getMethodName();
+            for (String io : IO_FRAMES) if (frame.startsWith(io)) return "I/O ";
+        }
+        return null;
+    }
+
+    private static String describe(StackTraceElement[] stack) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(stack.length, 12); i++) sb.append("\n      at ").append(stack[i]);
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!DBConnection.class.desiredAssertionStatus()) {
+            System.out.println("❌ Run with -ea: the EDT check in DBConnection is an assert");
+            System.exit(2);
+        }
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new RecordingQueue());
+        sampler();
+        BankServiceHarness.createSchema();
+        List<String> accountNos = BankServiceHarness.seedAccounts(2, Money.parse("1000"));
+        String me = accountNos.get(0), payee = accountNos.get(1);
+        BankService bank = BankService.getInstance();
+        AsyncDataAccess data = new AsyncDataAccess();
+
+        detectorWorks(me);
+
+        // 🔐 LoginFrame.login
+        Account account = edt("login", () -> data.call("login", () -> bank.login(me, BankServiceHarness.PASSWORD)));
+        check(account != null, "login failed");
+
+        // 🏠 Home: balance, summary cards, recent history
+        edt("balance", () -> data.call("balance", () -> bank.snapshot(me)));
+        edt("summary", () -> data.call("summary", () -> bank.summary(me)));
+        edt("history", () -> data.call("history", () -> bank.recentHistory(me, 10)));
+
+        // 💰 Deposit and withdrawal: journaled and pipelined on a worker (DashboardFrame.deposit/withdraw)
+        edt("deposit", () -> data.write(() -> bank.deposit(me, Money.parse("15.00")).join()));
+        edt("withdraw", () -> data.write(() -> bank.withdraw(me, Money.parse("5.00")).join()));
+
+        // 📈 Transactions view: the paged model loads and prefetches as rows are read
+        transactions(me);
+
+        // 🔁 Transfer, then a sidebar click while it is in flight: the outcome still arrives
+        CompletableFuture<Money> delivered = new CompletableFuture<>();
+        onEdt(() -> {
+            AsyncDataAccess.onEdt(data.write(() -> bank.transfer(me, payee, Money.parse("25.00"))),
+                    delivered::complete, delivered::completeExceptionally);
+            data.cancelAll();
+        });
+        Money afterTransfer = await("transfer", delivered);
+        check(Money.parse("985.00").equals(afterTransfer), "transfer reported " + afterTransfer + ", expected 985.00");
+        check(Money.parse("985.00").equals(BankServiceHarness.balanceOf(me)), "balance after transfer " + BankServiceHarness.balanceOf(me));
+
+        // 🔒 Change password, then log in with the new one
+        Boolean changed = edt("changePassword",
+                () -> data.write(() -> bank.changePassword(me, BankServiceHarness.PASSWORD, "harness-pw-2")));
+        check(Boolean.TRUE.equals(changed), "password change reported " + changed);
+        Account again = edt("login", () -> data.call("login", () -> bank.login(me, "harness-pw-2")));
+        check(again != null, "login with the new password failed");
+
+        if (!GraphicsEnvironment.isHeadless()) frame(account);
+
+        // 🚪 Logout
+        onEdt(data::cancelAll);
+        onEdt(() -> { });
+        for (Throwable t : thrownOnEdt) {
+            check(false, "thrown on the EDT: " + t);
+            t.printStackTrace(System.out);
+        }
+        for (String b : blockedOnEdt) check(false, "EDT blocked: " + b);
+        System.out.println(failures == 0 ? "✅ Nothing blocked the Event Dispatch Thread" : "❌ " + failures + " problem(s)");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // 🎯 The checks must fire, or a clean run proves nothing
+    private static void detectorWorks(String accountNo) throws Exception {
+        onEdt(DBConnection::getConnection);
+        check(caughtAssert(), "a JDBC borrow on the EDT went unnoticed");
+        onEdt(() -> BankService.getInstance().deposit(accountNo, Money.parse("1.00"))); // the old DashboardFrame.deposit
+        check(caughtAssert(), "a posting submitted on the EDT went unnoticed");
+        Object lock = new Object();
+        CountDownLatch held = new CountDownLatch(1), release = new CountDownLatch(1);
+        Thread holder = Thread.ofPlatform().start(() -> {
+            synchronized (lock) {
+                held.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        });
+        held.await();
+        SwingUtilities.invokeLater(() -> {
+            synchronized (lock) { } // waits for the holder, like append() waiting on the replayer
+        });
+        Thread.sleep(50);
+        release.countDown();
+        holder.join();
+        onEdt(() -> { });
+        check(!blockedOnEdt.isEmpty(), "a lock wait on the EDT went unnoticed");
+        blockedOnEdt.clear();
+        System.out.println("🎯 A borrow, a posting and a lock wait on the EDT are caught");
+    }
+
+    private static boolean caughtAssert() {
+        return thrownOnEdt.removeIf(t -> t instanceof AssertionError a && String.valueOf(a.getMessage()).contains("Event Dispatch Thread"));
+    }
+
+    private static void transactions(String accountNo) throws Exception {
+        TransactionTableModel[] model = new TransactionTableModel[1];
+        onEdt(() -> model[0] = new TransactionTableModel(accountNo, e -> check(false, "transactions: " + e)));
+        int[] rows = {0};
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (rows[0] == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            onEdt(() -> {
+                rows[0] = model[0].getRowCount();
+                for (int r = 0; r < rows[0]; r++) model[0].getValueAt(r, 0); // triggers the prefetch
+            });
+        }
+        check(rows[0] > 0, "transactions view stayed empty");
+        onEdt(model[0]::close);
+        System.out.println("📈 Transactions view loaded " + rows[0] + " rows");
+    }
+
+    // 🖥️ The real frame, when there is a screen to put it on
+    private static void frame(Account account) throws Exception {
+        DashboardFrame[] frame = new DashboardFrame[1];
+        onEdt(() -> {
+            frame[0] = DashboardFrame.open(account);
+            frame[0].setVisible(true);
+        });
+        Thread.sleep(1_000);
+        onEdt(() -> frame[0].dispose());
+        System.out.println("🖥️ DashboardFrame opened and closed");
+    }
+
+    // Starts the call on the EDT, as a dashboard action does, and waits for onEdt to deliver it
+    private static <T> T edt(String what, Supplier<CompletableFuture<T>> call) throws Exception {
+        CompletableFuture<T> delivered = new CompletableFuture<>();
+        onEdt(() -> AsyncDataAccess.onEdt(call.get(), value -> {
+            check(SwingUtilities.isEventDispatchThread(), what + " delivered off the EDT");
+            delivered.complete(value);
+        }, delivered::completeExceptionally));
+        return await(what, delivered);
+    }
+
+    private static <T> T await(String what, CompletableFuture<T> delivered) throws InterruptedException {
+        try {
+            return delivered.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            check(false, what + " did not complete: " + (e.getCause() != null ? e.getCause() : e));
+            return null;
+        }
+    }
+
+    // invokeLater, not invokeAndWait: a throw must reach the RecordingQueue, not the caller
+    private static void onEdt(Runnable r) throws Exception {
+        SwingUtilities.invokeLater(r);
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    private static synchronized void check(boolean ok, String what) {
+        if (ok) return;
+        failures++;
+        System.out.println("❌ " + what);
+    }
+}
@@ -1,19 +1,55 @@
 import javax.swing.*;
 import javax.swing.border.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
-import java.sql.*;
+import java.io.File;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 public class DashboardFrame extends JFrame {
-    private final Account account;
-    private JLabel balanceLabel, welcomeLabel;
-    private JTextArea historyArea;
-    private JPanel contentPanel, sidePanel, cardsPanel;
-    private JPanel activeMenuButton;
+    // 🧱 Chrome built during the splash screen, handed to the first login
+    private static DashboardFrame prebuilt;
+    private static final boolean RENDER_STATS = Boolean.getBoolean("swiftbank.render.stats");
+    private static final String HOME = "home", TRANSACTIONS = "transactions";
+    private static final int RECENT = 10;
+
+    private Account account;
+    private JPanel contentPanel, sidePanel;
+    private JPanel activeMenuButton, homeButton;
+    private final CardLayout views = new CardLayout();
+    private JTable transactionTable;
+    private TransactionTableModel transactionModel;
+    private ViewStats.Snapshot lastStats;
+    private PostingEvents.Subscription postings;
+
+    // 🔗 View state; the views listen and update only what changed
+    private final Property<String> name = new Property<>();
+    private final Property<Money> balance = new Property<>();
+    private final Property<Optional<AccountAggregates.Summary>> summary = new Property<>();
+    private final Property<Optional<List<BankService.HistoryEntry>>> history = new Property<>();
+    private final AsyncDataAccess data = new AsyncDataAccess();
+    private final BankService bank = BankService.getInstance();
 
     public DashboardFrame(Account account) {
-        this.account = account;
+        this();
+        attach(account);
+    }
+
+    // Sidebar and the home view skeleton only; nothing account-specific, no queries
+    private DashboardFrame() {
+        if (RENDER_STATS) {
+            ViewStats.install();
+            lastStats = ViewStats.snapshot();
+        }
         setTitle("🏦 SwiftBank Dashboard");
         setSize(1180, 720);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -22,6 +58,30 @@ public class DashboardFrame extends JFrame {
         initUI();
     }
 
+    private void attach(Account account) {
+        this.account = account;
+        name.set(account.getName());
+        balance.set(account.getBalance());
+        // 📡 Postings on this account from any session or channel arrive here, batched on the EDT
+        postings = PostingEvents.getInstance().subscribe(account.getAccountNo(), SwingUtilities::invokeLater, this::onPostings);
+        showHomePanel();
+        setActiveMenuButton(homeButton);
+    }
+
+    // 🚀 Called on the EDT during startup so the first login skips frame construction
+    static void prebuild() {
+        if (prebuilt == null) prebuilt = new DashboardFrame();
+    }
+
+    // EDT only: the prebuilt frame if there is one, otherwise a new one
+    static DashboardFrame open(Account account) {
+        DashboardFrame frame = prebuilt;
+        prebuilt = null;
+        if (frame == null) return new DashboardFrame(account);
+        frame.attach(account);
+        return frame;
+    }
+
     // 🎨 Theme
     static class Theme {
         static final Color PRIMARY = new Color(33, 60, 115);
@@ -34,10 +94,10 @@ public class DashboardFrame extends JFrame {
         static final Color SUCCESS = new Color(46, 204, 113);
         static final Color WARNING = new Color(255, 152, 0);
         static final Color INFO = new Color(66, 165, 245);
-        static final Font FONT_TITLE = new Font("Segoe UI Semibold", Font.BOLD, 24);
-        static final Font FONT_SUBTITLE = new Font("Segoe UI", Font.BOLD, 18);
-        static final Font FONT_BODY = new Font("Segoe UI", Font.PLAIN, 14);
-        static final Font FONT_BOLD = new Font("Segoe UI", Font.BOLD, 14);
+        static final Font FONT_TITLE = Fonts.get(Fonts.UI_SEMIBOLD, Font.BOLD, 24);
+        static final Font FONT_SUBTITLE = Fonts.get(Fonts.UI, Font.BOLD, 18);
+        static final Font FONT_BODY = Fonts.get(Fonts.UI, Font.PLAIN, 14);
+        static final Font FONT_BOLD = Fonts.get(Fonts.UI, Font.BOLD, 14);
     }
 
     private void initUI() {
@@ -51,7 +111,7 @@ public class DashboardFrame extends JFrame {
         sidePanel.setBorder(new EmptyBorder(30, 0, 30, 0));
 
         JLabel bankLogo = new JLabel("🏦", SwingConstants.CENTER);
-        bankLogo.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 60));
+        bankLogo.setFont(Fonts.get(Fonts.EMOJI, Font.PLAIN, 60));
         bankLogo.setForeground(Color.WHITE);
         bankLogo.setAlignmentX(Component.CENTER_ALIGNMENT);
 
@@ -65,7 +125,7 @@ public class DashboardFrame extends JFrame {
         sidePanel.add(bankTitle);
         sidePanel.add(Box.createRigidArea(new Dimension(0, 25)));
 
-        JPanel homeBtn = addSidebarButton("🏠 Home", e -> showHomePanel());
+        homeButton = addSidebarButton("🏠 Home", e -> showHomePanel());
         addSidebarButton("👤 Profile", e -> showProfilePanel());
         addSidebarButton("💰 Account Details", e -> showAccountDetails());
         addSidebarButton("📈 Transactions", e -> showTransactionPanel());
@@ -73,14 +133,18 @@ public class DashboardFrame extends JFrame {
 
         sidePanel.add(Box.createVerticalGlue());
         addSidebarButton("🚪 Logout", e -> {
+            data.cancelAll();
+            closeTransactionModel();
+            if (postings != null) postings.close();
             new LoginFrame().setVisible(true);
             dispose();
         });
 
-        contentPanel = new JPanel(new BorderLayout());
+        contentPanel = new JPanel(views);
         contentPanel.setBackground(Theme.BACKGROUND);
-        showHomePanel();
-        setActiveMenuButton(homeBtn);
+        HomeView home = new HomeView(e -> deposit(), e -> withdraw(), e -> transfer());
+        home.bind(name, balance, summary, history);
+        contentPanel.add(home, HOME);
 
         add(sidePanel, BorderLayout.WEST);
         add(contentPanel, BorderLayout.CENTER);
@@ -101,7 +165,7 @@ public class DashboardFrame extends JFrame {
         panel.addMouseListener(new MouseAdapter() {
             @Override public void mouseEntered(MouseEvent e) { if (panel != activeMenuButton) panel.setBackground(Theme.PRIMARY_LIGHT); }
             @Override public void mouseExited(MouseEvent e) { if (panel != activeMenuButton) panel.setBackground(Theme.PRIMARY); }
-            @Override public void mouseReleased(MouseEvent e) { setActiveMenuButton(panel); action.actionPerformed(null); }
+            @Override public void mouseReleased(MouseEvent e) { data.cancelAll(); setActiveMenuButton(panel); action.actionPerformed(null); }
         });
 
         sidePanel.add(panel);
@@ -115,69 +179,26 @@ public class DashboardFrame extends JFrame {
         activeMenuButton.setBackground(Theme.PRIMARY_LIGHT);
     }
 
-    // 🏠 Home Panel
+    // 🏠 Home: built once, refreshed through the bound properties
     private void showHomePanel() {
-        contentPanel.removeAll();
-        JPanel home = new JPanel(new BorderLayout(20, 20));
-        home.setBackground(Theme.BACKGROUND);
-        home.setBorder(new EmptyBorder(25, 25, 25, 25));
-
-        JPanel top = new JPanel(new BorderLayout());
-        top.setOpaque(false);
-        welcomeLabel = new JLabel("Welcome, " + account.getName() + " 👋");
-        welcomeLabel.setFont(Theme.FONT_TITLE);
-        balanceLabel = new JLabel("Balance: ₹" + account.getBalance());
-        balanceLabel.setFont(Theme.FONT_SUBTITLE);
-        balanceLabel.setForeground(Theme.INFO);
-        top.add(welcomeLabel, BorderLayout.WEST);
-        top.add(balanceLabel, BorderLayout.EAST);
-
-        cardsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 25, 10));
-        cardsPanel.setOpaque(false);
-        updateCards();
-
-        JPanel history = createCardPanel("📜 Recent Transactions");
-        historyArea = new JTextArea();
-        historyArea.setEditable(false);
-        historyArea.setFont(Theme.FONT_BODY);
-        JScrollPane scrollPane = new JScrollPane(historyArea);
-        scrollPane.setBorder(BorderFactory.createEmptyBorder());
-        history.add(scrollPane, BorderLayout.CENTER);
+        closeTransactionModel();
+        views.show(contentPanel, HOME);
+        loadSummary();
         updateHistory();
-
-        JPanel actions = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 10));
-        actions.setOpaque(false);
-        actions.add(createActionButton("💵 Deposit", Theme.SUCCESS, e -> deposit()));
-        actions.add(createActionButton("💳 Withdraw", Theme.WARNING, e -> withdraw()));
-
-        home.add(top, BorderLayout.NORTH);
-        home.add(cardsPanel, BorderLayout.CENTER);
-        home.add(history, BorderLayout.SOUTH);
-        home.add(actions, BorderLayout.PAGE_END);
-        contentPanel.add(home);
-        contentPanel.revalidate();
-        contentPanel.repaint();
+        logRenderStats("home");
     }
 
     // 💵 Deposit
     private void deposit() {
         String input = JOptionPane.showInputDialog(this, "Enter deposit amount:");
         if (input == null || input.isEmpty()) return;
-        try (Connection con = DBConnection.getConnection()) {
-            double amt = Double.parseDouble(input);
-            account.deposit(amt);
-            PreparedStatement ps1 = con.prepareStatement("UPDATE accounts SET balance=? WHERE account_no=?");
-            ps1.setDouble(1, account.getBalance());
-            ps1.setString(2, account.getAccountNo());
-            ps1.executeUpdate();
-
-            PreparedStatement ps2 = con.prepareStatement("INSERT INTO transactions (account_no, type, amount) VALUES (?, 'Deposit', ?)");
-            ps2.setString(1, account.getAccountNo());
-            ps2.setDouble(2, amt);
-            ps2.executeUpdate();
-
-            JOptionPane.showMessageDialog(this, "✅ Deposited ₹" + amt);
-            updateUIComponents();
+        try {
+            Money amt = Money.parse(input);
+            String accountNo = account.getAccountNo();
+            // Submitting journals (fsync) and may wait on a full pipeline: never on the EDT
+            AsyncDataAccess.onEdt(data.write(() -> bank.deposit(accountNo, amt).join()),
+                    newBalance -> JOptionPane.showMessageDialog(this, "✅ Deposited " + amt),
+                    this::showPostingError);
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "⚠️ Error: " + e.getMessage());
         }
@@ -187,52 +208,65 @@ public class DashboardFrame extends JFrame {
     private void withdraw() {
         String input = JOptionPane.showInputDialog(this, "Enter withdrawal amount:");
         if (input == null || input.isEmpty()) return;
-        try (Connection con = DBConnection.getConnection()) {
-            double amt = Double.parseDouble(input);
-            if (!account.withdraw(amt)) {
-                JOptionPane.showMessageDialog(this, "Insufficient balance!");
-                return;
-            }
-
-            PreparedStatement ps1 = con.prepareStatement("UPDATE accounts SET balance=? WHERE account_no=?");
-            ps1.setDouble(1, account.getBalance());
-            ps1.setString(2, account.getAccountNo());
-            ps1.executeUpdate();
-
-            PreparedStatement ps2 = con.prepareStatement("INSERT INTO transactions (account_no, type, amount) VALUES (?, 'Withdrawal', ?)");
-            ps2.setString(1, account.getAccountNo());
-            ps2.setDouble(2, amt);
-            ps2.executeUpdate();
+        try {
+            Money amt = Money.parse(input);
+            String accountNo = account.getAccountNo();
+            AsyncDataAccess.onEdt(data.write(() -> bank.withdraw(accountNo, amt).join()),
+                    newBalance -> JOptionPane.showMessageDialog(this, "💳 Withdrawn " + amt),
+                    this::showPostingError);
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this, "⚠️ Error: " + e.getMessage());
+        }
+    }
 
-            JOptionPane.showMessageDialog(this, "💳 Withdrawn ₹" + amt);
-            updateUIComponents();
+    // 🔁 Transfer
+    private void transfer() {
+        String to = JOptionPane.showInputDialog(this, "Transfer to account number:");
+        if (to == null || to.isBlank()) return;
+        String input = JOptionPane.showInputDialog(this, "Enter transfer amount:");
+        if (input == null || input.isEmpty()) return;
+        try {
+            Money amt = Money.parse(input);
+            String from = account.getAccountNo(), payee = to.trim();
+            AsyncDataAccess.onEdt(data.write(() -> bank.transfer(from, payee, amt)),
+                    newBalance -> JOptionPane.showMessageDialog(this, "🔁 Transferred " + amt + " to " + payee),
+                    this::showPostingError);
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "⚠️ Error: " + e.getMessage());
         }
     }
 
+    private void showPostingError(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof LedgerService.InsufficientFundsException)
+            JOptionPane.showMessageDialog(this, "Insufficient balance!");
+        else if (cause instanceof LedgerService.UnknownAccountException || cause instanceof IllegalArgumentException)
+            JOptionPane.showMessageDialog(this, "⚠️ " + cause.getMessage());
+        else if (cause instanceof LedgerService.PostingDeferredException)
+            JOptionPane.showMessageDialog(this, "🕓 Bank is offline. Your request is saved and will post automatically.");
+        else
+            JOptionPane.showMessageDialog(this, "⚠️ Error: " + cause.getMessage());
+    }
+
     // 📜 Recent Transactions
     private void updateHistory() {
-        try (Connection con = DBConnection.getConnection()) {
-            PreparedStatement ps = con.prepareStatement("SELECT type, amount, timestamp FROM transactions WHERE account_no=? ORDER BY timestamp DESC LIMIT 10");
-            ps.setString(1, account.getAccountNo());
-            ResultSet rs = ps.executeQuery();
-            historyArea.setText("");
-            while (rs.next()) {
-                historyArea.append(String.format("%s of ₹%.2f at %s%n",
-                        rs.getString("type"),
-                        rs.getDouble("amount"),
-                        rs.getTimestamp("timestamp")));
-            }
-        } catch (SQLException e) {
-            historyArea.setText("⚠️ Could not load transactions.");
-        }
+        String accountNo = account.getAccountNo();
+        AsyncDataAccess.onEdt(data.call("history", () -> bank.recentHistory(accountNo, RECENT)),
+                rows -> history.set(Optional.of(rows)), e -> history.set(Optional.empty()));
     }
 
-    // 📈 Full Transaction Page
+    // 📈 Full Transaction Page: the view is built on the first visit; later visits only swap the table model
     private void showTransactionPanel() {
-        contentPanel.removeAll();
+        if (transactionTable == null) contentPanel.add(createTransactionsView(), TRANSACTIONS);
+        closeTransactionModel();
+        transactionModel = new TransactionTableModel(account.getAccountNo(),
+                e -> JOptionPane.showMessageDialog(this, "⚠️ Error loading transactions: " + e.getMessage()));
+        transactionTable.setModel(transactionModel);
+        views.show(contentPanel, TRANSACTIONS);
+        logRenderStats("transactions");
+    }
 
+    private JPanel createTransactionsView() {
         JPanel transactionsPanel = new JPanel(new BorderLayout(20, 20));
         transactionsPanel.setBackground(Theme.BACKGROUND);
         transactionsPanel.setBorder(new EmptyBorder(25, 25, 25, 25));
@@ -241,33 +275,14 @@ public class DashboardFrame extends JFrame {
         title.setFont(Theme.FONT_TITLE);
         title.setForeground(Theme.TEXT_PRIMARY);
 
-        String[] columns = {"ID", "Type", "Amount (₹)", "Date & Time"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0);
-
-        try (Connection con = DBConnection.getConnection()) {
-            PreparedStatement ps = con.prepareStatement("SELECT id, type, amount, timestamp FROM transactions WHERE account_no=? ORDER BY timestamp DESC");
-            ps.setString(1, account.getAccountNo());
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                model.addRow(new Object[]{
-                        rs.getInt("id"),
-                        rs.getString("type"),
-                        String.format("%.2f", rs.getDouble("amount")),
-                        rs.getTimestamp("timestamp")
-                });
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "⚠️ Error loading transactions: " + e.getMessage());
-        }
-
-        JTable table = new JTable(model);
-        table.setFont(Theme.FONT_BODY);
-        table.setRowHeight(28);
-        table.getTableHeader().setFont(Theme.FONT_BOLD);
-        table.getTableHeader().setBackground(Theme.PRIMARY_LIGHT);
-        table.getTableHeader().setForeground(Color.WHITE);
-        table.setSelectionBackground(Theme.PRIMARY_LIGHT);
-        table.setSelectionForeground(Color.WHITE);
+        transactionTable = new JTable();
+        transactionTable.setFont(Theme.FONT_BODY);
+        transactionTable.setRowHeight(28);
+        transactionTable.getTableHeader().setFont(Theme.FONT_BOLD);
+        transactionTable.getTableHeader().setBackground(Theme.PRIMARY_LIGHT);
+        transactionTable.getTableHeader().setForeground(Color.WHITE);
+        transactionTable.setSelectionBackground(Theme.PRIMARY_LIGHT);
+        transactionTable.setSelectionForeground(Color.WHITE);
 
         JButton backButton = new JButton("← Back to Home");
         backButton.setFont(Theme.FONT_BOLD);
@@ -275,61 +290,128 @@ public class DashboardFrame extends JFrame {
         backButton.setForeground(Color.WHITE);
         backButton.setFocusPainted(false);
         backButton.setPreferredSize(new Dimension(180, 40));
-        backButton.addActionListener(e -> showHomePanel());
+        backButton.addActionListener(e -> {
+            setActiveMenuButton(homeButton);
+            showHomePanel();
+        });
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttons.setOpaque(false);
+        buttons.add(createExportButton("⬇️ CSV", StatementExporter.Format.CSV));
+        buttons.add(createExportButton("⬇️ Columnar", StatementExporter.Format.COLUMNAR));
+        buttons.add(backButton);
 
         JPanel topPanel = new JPanel(new BorderLayout());
         topPanel.setOpaque(false);
         topPanel.add(title, BorderLayout.WEST);
-        topPanel.add(backButton, BorderLayout.EAST);
+        topPanel.add(buttons, BorderLayout.EAST);
 
         transactionsPanel.add(topPanel, BorderLayout.NORTH);
-        transactionsPanel.add(new JScrollPane(table), BorderLayout.CENTER);
+        transactionsPanel.add(new JScrollPane(transactionTable), BorderLayout.CENTER);
+        return transactionsPanel;
+    }
 
-        contentPanel.add(transactionsPanel, BorderLayout.CENTER);
-        contentPanel.revalidate();
-        contentPanel.repaint();
+    private JButton createExportButton(String text, StatementExporter.Format format) {
+        JButton button = new JButton(text);
+        button.setFont(Theme.FONT_BOLD);
+        button.setBackground(Theme.SUCCESS);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setPreferredSize(new Dimension(140, 40));
+        button.addActionListener(e -> exportHistory(format));
+        return button;
+    }
+
+    // 📤 Streams the whole history to a file with a progress dialog; Cancel stops the export
+    private void exportHistory(StatementExporter.Format format) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("statement-" + account.getAccountNo() + format.extension));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path target = chooser.getSelectedFile().toPath();
+
+        JDialog dialog = new JDialog(this, "Exporting statement", true);
+        JProgressBar bar = new JProgressBar(0, 1000);
+        bar.setStringPainted(true);
+        bar.setString("Starting…");
+        JButton cancel = new JButton("Cancel");
+        AtomicBoolean cancelled = new AtomicBoolean();
+        cancel.addActionListener(e -> {
+            cancelled.set(true);
+            cancel.setEnabled(false);
+        });
+        JPanel body = new JPanel(new BorderLayout(10, 10));
+        body.setBorder(new EmptyBorder(15, 15, 15, 15));
+        body.add(bar, BorderLayout.CENTER);
+        body.add(cancel, BorderLayout.EAST);
+        dialog.add(body);
+        dialog.setSize(420, 100);
+        dialog.setLocationRelativeTo(this);
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+
+        String accountNo = account.getAccountNo();
+        int[] lastShown = {-1}; // only touched on the EDT
+        StatementExporter.Progress progress = (done, total) -> {
+            int permille = total == 0 ? 1000 : (int) (done * 1000 / total);
+            SwingUtilities.invokeLater(() -> {
+                if (permille == lastShown[0]) return;
+                lastShown[0] = permille;
+                bar.setValue(permille);
+                bar.setString(String.format("%,d of %,d rows", done, total));
+            });
+        };
+        AsyncDataAccess.onEdt(data.call("export",
+                () -> new StatementExporter().export(accountNo, format, target, progress, cancelled::get)), rows -> {
+            dialog.dispose();
+            JOptionPane.showMessageDialog(this, String.format("✅ Exported %,d transactions to %s", rows, target));
+        }, e -> {
+            dialog.dispose();
+            if (!cancelled.get()) JOptionPane.showMessageDialog(this, "⚠️ Export failed: " + e.getMessage());
+        });
+        dialog.setVisible(true);
+    }
+
+    private void closeTransactionModel() {
+        if (transactionModel != null) transactionModel.close();
+        transactionModel = null;
     }
 
     private void showProfilePanel() {
-        try (Connection con = DBConnection.getConnection()) {
-            PreparedStatement ps = con.prepareStatement("SELECT * FROM customers c JOIN accounts a ON c.id=a.customer_id WHERE a.account_no=?");
-            ps.setString(1, account.getAccountNo());
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                String info = String.format("""
-                        👤 Name: %s
-                        ✉️ Email: %s
-                        🪪 Customer ID: %d
-                        🕓 Joined: %s
-                        """,
-                        rs.getString("name"), rs.getString("email"),
-                        rs.getInt("customer_id"), rs.getTimestamp("created_at"));
-                JOptionPane.showMessageDialog(this, new JTextArea(info), "Profile Details", JOptionPane.INFORMATION_MESSAGE);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "⚠️ Error loading profile: " + e.getMessage());
-        }
+        withSnapshot("⚠️ Error loading profile: ", snap -> {
+            String info = String.format("""
+                    👤 Name: %s
+                    ✉️ Email: %s
+                    🪪 Customer ID: %d
+                    🕓 Joined: %s
+                    """,
+                    snap.name(), snap.email(), snap.customerId(), snap.joinedAt());
+            JOptionPane.showMessageDialog(this, new JTextArea(info), "Profile Details", JOptionPane.INFORMATION_MESSAGE);
+        });
     }
 
     private void showAccountDetails() {
-        try (Connection con = DBConnection.getConnection()) {
-            PreparedStatement ps = con.prepareStatement("SELECT * FROM accounts WHERE account_no=?");
-            ps.setString(1, account.getAccountNo());
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                String info = String.format("""
-                        🏦 Account No: %s
-                        📘 Type: %s
-                        💰 Balance: ₹%.2f
-                        ⏰ Created At: %s
-                        """,
-                        rs.getString("account_no"), rs.getString("type"),
-                        rs.getDouble("balance"), rs.getTimestamp("created_at"));
-                JOptionPane.showMessageDialog(this, new JTextArea(info), "Account Details", JOptionPane.INFORMATION_MESSAGE);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "⚠️ Error loading account: " + e.getMessage());
+        withSnapshot("⚠️ Error loading account: ", snap -> {
+            String info = String.format("""
+                    🏦 Account No: %s
+                    📘 Type: %s
+                    💰 Balance: %s
+                    ⏰ Created At: %s
+                    """,
+                    snap.accountNo(), snap.type(), snap.balance(), snap.createdAt());
+            JOptionPane.showMessageDialog(this, new JTextArea(info), "Account Details", JOptionPane.INFORMATION_MESSAGE);
+        });
+    }
+
+    // 🗂️ Serve from the snapshot cache when possible, otherwise load it off the EDT
+    private void withSnapshot(String errorPrefix, Consumer<AccountSnapshotCache.Snapshot> view) {
+        String accountNo = account.getAccountNo();
+        AccountSnapshotCache.Snapshot cached = AccountSnapshotCache.getInstance().getIfPresent(accountNo);
+        if (cached != null) {
+            view.accept(cached);
+            return;
         }
+        AsyncDataAccess.onEdt(data.call("snapshot", () -> bank.snapshot(accountNo)), snap -> {
+            if (snap != null) view.accept(snap);
+        }, e -> JOptionPane.showMessageDialog(this, errorPrefix + e.getMessage()));
     }
 
     private void showChangePasswordPanel() {
@@ -343,86 +425,68 @@ public class DashboardFrame extends JFrame {
 
         int result = JOptionPane.showConfirmDialog(this, panel, "🔒 Change Password", JOptionPane.OK_CANCEL_OPTION);
         if (result == JOptionPane.OK_OPTION) {
-            try (Connection con = DBConnection.getConnection()) {
-                PreparedStatement ps = con.prepareStatement("""
-                    UPDATE customers 
-                    SET password=? 
-                    WHERE id=(SELECT customer_id FROM accounts WHERE account_no=?) 
-                    AND password=?""");
-                ps.setString(1, new String(newPass.getPassword()));
-                ps.setString(2, account.getAccountNo());
-                ps.setString(3, new String(oldPass.getPassword()));
-                int rows = ps.executeUpdate();
-                if (rows > 0)
+            String accountNo = account.getAccountNo();
+            String newPassword = new String(newPass.getPassword());
+            String oldPassword = new String(oldPass.getPassword());
+            AsyncDataAccess.onEdt(data.write(() -> bank.changePassword(accountNo, oldPassword, newPassword)), changed -> {
+                if (changed)
                     JOptionPane.showMessageDialog(this, "✅ Password changed successfully!");
                 else
                     JOptionPane.showMessageDialog(this, "❌ Incorrect old password!");
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this, "⚠️ Error: " + e.getMessage());
-            }
+            }, e -> JOptionPane.showMessageDialog(this, "⚠️ Error: " + e.getMessage()));
         }
     }
 
-    private void updateUIComponents() {
-        balanceLabel.setText("Balance: ₹" + account.getBalance());
-        updateCards();
-        updateHistory();
-    }
-
-    private void updateCards() {
-        cardsPanel.removeAll();
-        cardsPanel.add(createInfoCard("💰", "Total Balance", "₹" + account.getBalance(), Theme.INFO));
-        cardsPanel.add(createInfoCard("⬆️", "Deposits", "Track savings", Theme.SUCCESS));
-        cardsPanel.add(createInfoCard("⬇️", "Withdrawals", "Track expenses", Theme.WARNING));
+    // 📡 Committed postings (this session's own included) applied in place: no queries unless
+    // some were missed, then the balance, cards and history are reloaded
+    private void onPostings(PostingEvents.Batch batch) {
+        if (batch.gap()) {
+            String accountNo = account.getAccountNo();
+            AsyncDataAccess.onEdt(data.call("balance", () -> bank.snapshot(accountNo)), snap -> {
+                if (snap != null) balance.set(snap.balance());
+            }, e -> { });
+            loadSummary();
+            updateHistory();
+            logRenderStats("reload");
+            return;
+        }
+        Optional<AccountAggregates.Summary> cards = summary.get();
+        Optional<List<BankService.HistoryEntry>> rows = history.get();
+        List<BankService.HistoryEntry> recent = new ArrayList<>(RECENT);
+        for (PostingEvents.Event e : batch.events()) {
+            account.applyPosting(e.type(), e.amount(), e.balance());
+            if (cards != null && cards.isPresent()) {
+                LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(e.epochMillis()), ZoneId.systemDefault());
+                cards = Optional.of(cards.get().plus(e.type(), e.amount(), day));
+            }
+            recent.add(0, new BankService.HistoryEntry(0, e.type(), e.amount(), new Timestamp(e.epochMillis())));
+        }
+        balance.set(batch.events().get(batch.events().size() - 1).balance());
+        if (cards != null) summary.set(cards);
+        if (rows != null && rows.isPresent()) {
+            for (BankService.HistoryEntry row : rows.get()) {
+                if (recent.size() == RECENT) break;
+                recent.add(row);
+            }
+            history.set(Optional.of(recent.size() > RECENT ? List.copyOf(recent.subList(0, RECENT)) : recent));
+        }
+        logRenderStats("posting");
     }
 
-    private JPanel createInfoCard(String icon, String title, String value, Color color) {
-        JPanel card = new JPanel(new BorderLayout(15, 10));
-        card.setBackground(Theme.CARD_BG);
-        card.setPreferredSize(new Dimension(260, 120));
-        card.setBorder(new CompoundBorder(new LineBorder(Theme.BORDER, 1, true),
-                new EmptyBorder(20, 15, 15, 15)));
-        JLabel iconLabel = new JLabel(icon, SwingConstants.CENTER);
-        iconLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 32));
-        JLabel titleLabel = new JLabel(title);
-        titleLabel.setFont(Theme.FONT_BOLD);
-        titleLabel.setForeground(Theme.TEXT_SECONDARY);
-        JLabel valueLabel = new JLabel(value);
-        valueLabel.setFont(Theme.FONT_SUBTITLE);
-        valueLabel.setForeground(color);
-        JPanel textPanel = new JPanel();
-        textPanel.setOpaque(false);
-        textPanel.setLayout(new BoxLayout(textPanel, BoxLayout.Y_AXIS));
-        textPanel.add(titleLabel);
-        textPanel.add(Box.createRigidArea(new Dimension(0, 5)));
-        textPanel.add(valueLabel);
-        card.add(iconLabel, BorderLayout.WEST);
-        card.add(textPanel, BorderLayout.CENTER);
-        return card;
+    private void loadSummary() {
+        String accountNo = account.getAccountNo();
+        AsyncDataAccess.onEdt(data.call("summary", () -> bank.summary(accountNo)),
+                s -> summary.set(Optional.of(s)), e -> summary.set(Optional.empty()));
     }
 
-    private JPanel createCardPanel(String titleText) {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setBackground(Theme.CARD_BG);
-        panel.setBorder(new CompoundBorder(new LineBorder(Theme.BORDER, 1, true),
-                new EmptyBorder(15, 15, 15, 15)));
-        JLabel title = new JLabel(titleText);
-        title.setFont(Theme.FONT_BOLD);
-        title.setForeground(Theme.TEXT_PRIMARY);
-        panel.add(title, BorderLayout.NORTH);
-        return panel;
-    }
-
-    private JButton createActionButton(String text, Color color, ActionListener listener) {
-        JButton button = new JButton(text);
-        button.setFont(Theme.FONT_BOLD);
-        button.setForeground(Color.WHITE);
-        button.setBackground(color);
-        button.setFocusPainted(false);
-        button.setBorderPainted(false);
-        button.setPreferredSize(new Dimension(150, 40));
-        button.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-        button.addActionListener(listener);
-        return button;
+    // 📏 With -Dswiftbank.render.stats=true: revalidate/repaint/layout work since the previous log.
+    // Logged from a later EDT event so the RepaintManager pass for this operation is included.
+    private void logRenderStats(String operation) {
+        if (!RENDER_STATS) return;
+        SwingUtilities.invokeLater(() -> {
+            ViewStats.Snapshot now = ViewStats.snapshot();
+            System.out.println("📏 " + operation + ": " + now.minus(lastStats));
+            lastStats = now;
+        });
     }
 }
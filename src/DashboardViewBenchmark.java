@@ -0,0 +1,147 @@
+import javax.swing.*;
+import java.awt.*;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// 📏 Layout/repaint work per dashboard operation: the old rebuild-on-every-click approach
+// (removeAll + new components + revalidate/repaint) versus the cached, bound HomeView.
+// Counts come from ViewStats; ViewStats.Root stands in for the window, so it runs headless:
+//   java -Djava.awt.headless=true DashboardViewBenchmark
+public class DashboardViewBenchmark {
+    private static final int OPS = 2_000;
+
+    // The dashboard's bound state; one per scenario so views from other scenarios never listen in
+    private static class Model {
+        final Property<String> name = new Property<>("Asha Verma");
+        final Property<Money> balance = new Property<>(Money.parse("1000.00"));
+        final Property<Optional<AccountAggregates.Summary>> summary = new Property<>();
+        final Property<Optional<List<BankService.HistoryEntry>>> history = new Property<>();
+        long nextId = 1;
+
+        HomeView newView() {
+            HomeView home = new HomeView(e -> { }, e -> { }, e -> { });
+            home.bind(name, balance, summary, history);
+            return home;
+        }
+
+        // Publishes the state after one more deposit of 10.00
+        void post() {
+            Money amount = Money.parse("10.00");
+            balance.set(balance.get().plus(amount));
+            long n = nextId++;
+            Money total = Money.ofMinor(1000 * n);
+            summary.set(Optional.of(new AccountAggregates.Summary(
+                    new AccountAggregates.Totals(total, n, Money.ofMinor(0), 0),
+                    new AccountAggregates.Totals(total, n, Money.ofMinor(0), 0),
+                    new AccountAggregates.Totals(amount, 1, Money.ofMinor(0), 0))));
+            List<BankService.HistoryEntry> rows = new ArrayList<>();
+            for (long id = n; id > Math.max(0, n - 10); id--)
+                rows.add(new BankService.HistoryEntry(id, "Deposit", amount, new Timestamp(1_700_000_000_000L + id * 1000)));
+            history.set(Optional.of(rows));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            ViewStats.install();
+            for (int round = 1; round <= 3; round++) {
+                System.out.println("— Round " + round + " —");
+                navigation();
+                postings();
+            }
+        });
+    }
+
+    // 🏠 Home → Transactions → Home
+    private static void navigation() {
+        JPanel transactions = new JPanel(new BorderLayout());
+        transactions.add(new JScrollPane(new JTable(20, 4)));
+
+        Model old = new Model();
+        old.post();
+        JPanel content = new JPanel(new BorderLayout());
+        ViewStats.Root root = new ViewStats.Root(content, 940, 720);
+        root.layoutNow();
+        run("navigate, rebuild", () -> {
+            content.removeAll();
+            content.add(transactions);
+            content.revalidate();
+            content.repaint();
+            root.layoutNow();
+            content.removeAll();
+            content.add(old.newView());
+            content.revalidate();
+            content.repaint();
+            root.layoutNow();
+        });
+
+        Model bound = new Model();
+        bound.post();
+        CardLayout views = new CardLayout();
+        JPanel cards = new JPanel(views);
+        cards.add(bound.newView(), "home");
+        cards.add(transactions, "transactions");
+        ViewStats.Root cached = new ViewStats.Root(cards, 940, 720);
+        cached.layoutNow();
+        run("navigate, cached views", () -> {
+            views.show(cards, "transactions");
+            cached.layoutNow();
+            views.show(cards, "home");
+            // The page reloads its data on every visit; unchanged values do nothing
+            bound.balance.set(bound.balance.get());
+            bound.summary.set(bound.summary.get());
+            bound.history.set(bound.history.get());
+            cached.layoutNow();
+        });
+    }
+
+    // 💵 One deposit: new balance, new totals, new history line
+    private static void postings() {
+        Model old = new Model();
+        old.post();
+        HomeView home = old.newView();
+        ViewStats.Root root = new ViewStats.Root(home, 940, 720);
+        root.layoutNow();
+        JPanel cardsPanel = (JPanel) ((BorderLayout) home.getLayout()).getLayoutComponent(BorderLayout.CENTER);
+        run("posting, rebuild cards", () -> {
+            // What updateCards() did: fresh cards showing "…", then the async summary fills them
+            old.post();
+            cardsPanel.removeAll();
+            InfoCard deposits = new InfoCard("⬆️", "Deposits", "…", DashboardFrame.Theme.SUCCESS);
+            InfoCard withdrawals = new InfoCard("⬇️", "Withdrawals", "…", DashboardFrame.Theme.WARNING);
+            cardsPanel.add(new InfoCard("💰", "Total Balance", old.balance.get().toString(), DashboardFrame.Theme.INFO));
+            cardsPanel.add(deposits);
+            cardsPanel.add(withdrawals);
+            cardsPanel.revalidate();
+            cardsPanel.repaint();
+            root.layoutNow();
+            AccountAggregates.Totals all = old.summary.get().orElseThrow().allTime();
+            deposits.setValue(all.deposits() + " (" + all.depositCount() + ")", null);
+            withdrawals.setValue(all.withdrawals() + " (" + all.withdrawalCount() + ")", null);
+            root.layoutNow();
+        });
+
+        Model bound = new Model();
+        bound.post();
+        ViewStats.Root boundRoot = new ViewStats.Root(bound.newView(), 940, 720);
+        boundRoot.layoutNow();
+        run("posting, bound labels", () -> {
+            bound.post();
+            boundRoot.layoutNow();
+        });
+    }
+
+    private static void run(String label, Runnable op) {
+        for (int i = 0; i < OPS / 10; i++) op.run(); // warm up
+        ViewStats.Snapshot before = ViewStats.snapshot();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < OPS; i++) op.run();
+        long nanos = System.nanoTime() - t0;
+        ViewStats.Snapshot d = ViewStats.snapshot().minus(before);
+        System.out.printf("  %-24s %6.1f µs/op  revalidates %5.1f  repaints %5.1f (%,9.0f px)  layouts %4.1f (%5.1f containers)%n",
+                label, nanos / 1e3 / OPS, (double) d.revalidates() / OPS, (double) d.repaints() / OPS,
+                (double) d.dirtyPixels() / OPS, (double) d.layoutPasses() / OPS, (double) d.containersLaidOut() / OPS);
+    }
+}
@@ -0,0 +1,37 @@
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 🔤 Shared Font instances. Frames used to create a new "Segoe UI" Font for every label, and the
+// first layout paid for resolving each family and loading its glyphs. warmUp() does that work
+// once, off the EDT, while the splash screen is up.
+public final class Fonts {
+    public static final String UI = "Segoe UI", UI_SEMIBOLD = "Segoe UI Semibold", EMOJI = "Segoe UI Emoji";
+
+    private record Key(String family, int style, int size) {
+    }
+
+    private static final Map<Key, Font> CACHE = new ConcurrentHashMap<>();
+
+    private Fonts() {
+    }
+
+    public static Font get(String family, int style, int size) {
+        return CACHE.computeIfAbsent(new Key(family, style, size), k -> new Font(k.family, k.style, k.size));
+    }
+
+    // 🔥 Resolve each family and lay out sample text so glyph data is loaded before first paint
+    public static void warmUp() {
+        FontRenderContext frc = new FontRenderContext(new AffineTransform(), true, true);
+        String sample = "SwiftBank ₹0123456789 Deposit Withdrawal 💳🏦📜📈🔒👤🚪⬆️⬇️💰";
+        for (String family : new String[]{UI, UI_SEMIBOLD, EMOJI}) {
+            for (int style : new int[]{Font.PLAIN, Font.BOLD}) {
+                Font font = get(family, style, 14);
+                font.canDisplayUpTo(sample);
+                font.getStringBounds(sample, frc);
+            }
+        }
+    }
+}
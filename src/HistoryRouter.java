@@ -0,0 +1,169 @@
+import java.io.IOException;
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// 🧭 History reads across both tiers: the transactions table from the archive horizon on, then
+// the archived months before it. The ranges never overlap, so newest-first reads take hot rows
+// first and fill up from the archive, and oldest-first reads are the archive months followed by
+// the hot rows. Archive months are only opened when the hot rows do not fill the request.
+public final class HistoryRouter {
+    private final TransactionArchive archive;
+
+    public HistoryRouter(TransactionArchive archive) {
+        this.archive = archive;
+    }
+
+    // 📜 Newest first
+    public List<BankService.HistoryEntry> recent(Connection con, String accountNo, int limit) throws SQLException {
+        Timestamp horizon = archive.horizon(con);
+        List<BankService.HistoryEntry> rows;
+        try (PreparedStatement ps = con.prepareStatement(Sql.RECENT_HISTORY.text())) {
+            ps.setString(1, accountNo);
+            ps.setTimestamp(2, horizon);
+            ps.setInt(3, limit);
+            rows = read(ps, limit);
+        }
+        return fillFromArchive(con, accountNo, rows, limit, null, 0);
+    }
+
+    // 📈 Keyset page strictly older than (beforeTimestamp, beforeId), newest first
+    public List<BankService.HistoryEntry> pageBefore(Connection con, String accountNo, Timestamp beforeTimestamp,
+                                                     long beforeId, int limit) throws SQLException {
+        Timestamp horizon = archive.horizon(con);
+        List<BankService.HistoryEntry> rows = new ArrayList<>();
+        if (!beforeTimestamp.before(horizon)) {
+            try (PreparedStatement ps = con.prepareStatement(Sql.HISTORY_PAGE.text())) {
+                ps.setString(1, accountNo);
+                ps.setTimestamp(2, horizon);
+                ps.setTimestamp(3, beforeTimestamp);
+                ps.setTimestamp(4, beforeTimestamp);
+                ps.setLong(5, beforeId);
+                ps.setInt(6, limit);
+                rows = read(ps, limit);
+            }
+            return fillFromArchive(con, accountNo, rows, limit, null, 0);
+        }
+        return fillFromArchive(con, accountNo, rows, limit, beforeTimestamp, beforeId);
+    }
+
+    // Appends archived rows, newest month first, until `rows` holds `limit` entries. With a key,
+    // only rows strictly older than it are taken.
+    private List<BankService.HistoryEntry> fillFromArchive(Connection con, String accountNo,
+                                                          List<BankService.HistoryEntry> rows, int limit,
+                                                          Timestamp beforeTimestamp, long beforeId) throws SQLException {
+        if (rows.size() >= limit) return rows;
+        List<TransactionArchive.ArchivedMonth> months = archive.months(con);
+        YearMonth keyMonth = beforeTimestamp == null ? null : YearMonth.from(beforeTimestamp.toLocalDateTime());
+        for (int m = months.size() - 1; m >= 0 && rows.size() < limit; m--) {
+            YearMonth month = months.get(m).month();
+            if (keyMonth != null && month.isAfter(keyMonth)) continue;
+            List<BankService.HistoryEntry> archived = readMonth(month, accountNo);
+            for (int i = archived.size() - 1; i >= 0 && rows.size() < limit; i--) {
+                BankService.HistoryEntry e = archived.get(i);
+                if (beforeTimestamp != null && !olderThan(e, beforeTimestamp, beforeId)) continue;
+                rows.add(e);
+            }
+        }
+        return rows;
+    }
+
+    private static boolean olderThan(BankService.HistoryEntry e, Timestamp ts, long id) {
+        int c = e.timestamp().compareTo(ts);
+        return c < 0 || (c == 0 && e.id() < id);
+    }
+
+    private List<BankService.HistoryEntry> readMonth(YearMonth month, String accountNo) throws SQLException {
+        try {
+            return archive.read(month, accountNo);
+        } catch (IOException e) {
+            throw new SQLException("Archive " + month + " unreadable: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<BankService.HistoryEntry> read(PreparedStatement ps, int limit) throws SQLException {
+        ps.setFetchSize(limit);
+        List<BankService.HistoryEntry> rows = new ArrayList<>(Math.min(limit, 1024));
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.add(new BankService.HistoryEntry(rs.getLong("id"), rs.getString("type"),
+                        Money.of(rs.getBigDecimal("amount")), rs.getTimestamp("timestamp")));
+            }
+        }
+        return rows;
+    }
+
+    // 📤 Oldest first over the whole history. Archived months are read one at a time, hot rows
+    // are streamed with the given fetch size; close() releases the statement.
+    public Cursor ascending(Connection con, String accountNo, int fetchSize) throws SQLException {
+        return new Cursor(con, accountNo, fetchSize);
+    }
+
+    public final class Cursor implements AutoCloseable {
+        private final Connection con;
+        private final String accountNo;
+        private final int fetchSize;
+        private final Timestamp horizon;
+        private final Iterator<TransactionArchive.ArchivedMonth> months;
+        private List<BankService.HistoryEntry> month = List.of();
+        private int index = -1;
+        private PreparedStatement ps;
+        private ResultSet rs;
+        private long id, amountMinor, epochMillis;
+        private String type;
+
+        private Cursor(Connection con, String accountNo, int fetchSize) throws SQLException {
+            this.con = con;
+            this.accountNo = accountNo;
+            this.fetchSize = fetchSize;
+            this.horizon = archive.horizon(con);
+            this.months = archive.months(con).iterator();
+        }
+
+        public boolean next() throws SQLException {
+            while (rs == null) {
+                if (++index < month.size()) {
+                    BankService.HistoryEntry e = month.get(index);
+                    id = e.id();
+                    type = e.type();
+                    amountMinor = e.amount().getMinor();
+                    epochMillis = e.timestamp().getTime();
+                    return true;
+                }
+                if (months.hasNext()) {
+                    month = readMonth(months.next().month(), accountNo);
+                    index = -1;
+                    continue;
+                }
+                // Three-argument prepareStatement: one-off statement, kept out of the statement cache
+                ps = con.prepareStatement(Sql.EXPORT_HISTORY.text(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize); // MySQL streams with useCursorFetch=true in the URL
+                ps.setString(1, accountNo);
+                ps.setTimestamp(2, horizon);
+                rs = ps.executeQuery();
+            }
+            if (!rs.next()) return false;
+            id = rs.getLong(1);
+            type = rs.getString(2);
+            amountMinor = Money.of(rs.getBigDecimal(3)).getMinor();
+            epochMillis = rs.getTimestamp(4).getTime();
+            return true;
+        }
+
+        public long id() { return id; }
+        public String type() { return type; }
+        public long amountMinor() { return amountMinor; }
+        public long epochMillis() { return epochMillis; }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (rs != null) rs.close();
+            } finally {
+                if (ps != null) ps.close();
+            }
+        }
+    }
+}
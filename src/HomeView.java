@@ -0,0 +1,122 @@
+import javax.swing.*;
+import javax.swing.border.CompoundBorder;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.awt.event.ActionListener;
+import java.util.List;
+import java.util.Optional;
+
+// 🏠 Dashboard home view: welcome line, balance, info cards, recent transactions and the
+// deposit/withdraw buttons. Built once per frame; after that only labels whose bound value
+// changed are touched. An empty Optional means the value could not be loaded.
+public class HomeView extends JPanel {
+    private final JLabel welcomeLabel = new JLabel(" ");
+    private final JLabel balanceLabel = new JLabel(" ");
+    private final InfoCard balanceCard, depositsCard, withdrawalsCard;
+    private final JTextArea historyArea = new JTextArea();
+
+    public HomeView(ActionListener onDeposit, ActionListener onWithdraw, ActionListener onTransfer) {
+        super(new BorderLayout(20, 20));
+        setBackground(DashboardFrame.Theme.BACKGROUND);
+        setBorder(new EmptyBorder(25, 25, 25, 25));
+
+        JPanel top = new JPanel(new BorderLayout());
+        top.setOpaque(false);
+        welcomeLabel.setFont(DashboardFrame.Theme.FONT_TITLE);
+        balanceLabel.setFont(DashboardFrame.Theme.FONT_SUBTITLE);
+        balanceLabel.setForeground(DashboardFrame.Theme.INFO);
+        top.add(welcomeLabel, BorderLayout.WEST);
+        top.add(balanceLabel, BorderLayout.EAST);
+
+        JPanel cardsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 25, 10));
+        cardsPanel.setOpaque(false);
+        balanceCard = new InfoCard("💰", "Total Balance", "…", DashboardFrame.Theme.INFO);
+        depositsCard = new InfoCard("⬆️", "Deposits", "…", DashboardFrame.Theme.SUCCESS);
+        withdrawalsCard = new InfoCard("⬇️", "Withdrawals", "…", DashboardFrame.Theme.WARNING);
+        cardsPanel.add(balanceCard);
+        cardsPanel.add(depositsCard);
+        cardsPanel.add(withdrawalsCard);
+
+        JPanel history = new JPanel(new BorderLayout());
+        history.setBackground(DashboardFrame.Theme.CARD_BG);
+        history.setBorder(new CompoundBorder(new LineBorder(DashboardFrame.Theme.BORDER, 1, true),
+                new EmptyBorder(15, 15, 15, 15)));
+        JLabel historyTitle = new JLabel("📜 Recent Transactions");
+        historyTitle.setFont(DashboardFrame.Theme.FONT_BOLD);
+        historyTitle.setForeground(DashboardFrame.Theme.TEXT_PRIMARY);
+        historyArea.setEditable(false);
+        historyArea.setFont(DashboardFrame.Theme.FONT_BODY);
+        historyArea.setRows(10); // fixed viewport height: new history text never resizes the view
+        JScrollPane scrollPane = new JScrollPane(historyArea);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        history.add(historyTitle, BorderLayout.NORTH);
+        history.add(scrollPane, BorderLayout.CENTER);
+
+        JPanel actions = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 10));
+        actions.setOpaque(false);
+        actions.add(actionButton("💵 Deposit", DashboardFrame.Theme.SUCCESS, onDeposit));
+        actions.add(actionButton("💳 Withdraw", DashboardFrame.Theme.WARNING, onWithdraw));
+        actions.add(actionButton("🔁 Transfer", DashboardFrame.Theme.INFO, onTransfer));
+
+        add(top, BorderLayout.NORTH);
+        add(cardsPanel, BorderLayout.CENTER);
+        add(history, BorderLayout.SOUTH);
+        add(actions, BorderLayout.PAGE_END);
+    }
+
+    // 🔗 EDT only; call once
+    public void bind(Property<String> name, Property<Money> balance,
+                     Property<Optional<AccountAggregates.Summary>> summary,
+                     Property<Optional<List<BankService.HistoryEntry>>> history) {
+        name.bind(n -> setText(welcomeLabel, "Welcome, " + n + " 👋"));
+        balance.bind(b -> {
+            setText(balanceLabel, "Balance: " + b);
+            balanceCard.setValue(b.toString(), null);
+        });
+        summary.bind(this::showSummary);
+        history.bind(this::showHistory);
+    }
+
+    private void showSummary(Optional<AccountAggregates.Summary> summary) {
+        if (summary.isEmpty()) {
+            depositsCard.setValue("Track savings", null);
+            withdrawalsCard.setValue("Track expenses", null);
+            return;
+        }
+        AccountAggregates.Totals all = summary.get().allTime(), month = summary.get().thisMonth();
+        depositsCard.setValue(all.deposits() + " (" + all.depositCount() + ")",
+                "This month: " + month.deposits() + " in " + month.depositCount() + " deposit(s)");
+        withdrawalsCard.setValue(all.withdrawals() + " (" + all.withdrawalCount() + ")",
+                "This month: " + month.withdrawals() + " in " + month.withdrawalCount() + " withdrawal(s)");
+    }
+
+    private void showHistory(Optional<List<BankService.HistoryEntry>> rows) {
+        if (rows.isEmpty()) {
+            historyArea.setText("⚠️ Could not load transactions.");
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        for (BankService.HistoryEntry row : rows.get())
+            text.append(String.format("%s of %s at %s%n", row.type(), row.amount(), row.timestamp()));
+        historyArea.setText(text.toString());
+        historyArea.setCaretPosition(0);
+    }
+
+    private static void setText(JLabel label, String text) {
+        if (!text.equals(label.getText())) label.setText(text);
+    }
+
+    private static JButton actionButton(String text, Color color, ActionListener listener) {
+        JButton button = new JButton(text);
+        button.setFont(DashboardFrame.Theme.FONT_BOLD);
+        button.setForeground(Color.WHITE);
+        button.setBackground(color);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setPreferredSize(new Dimension(150, 40));
+        button.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        button.addActionListener(listener);
+        return button;
+    }
+}
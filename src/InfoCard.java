@@ -0,0 +1,45 @@
+import javax.swing.*;
+import javax.swing.border.CompoundBorder;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.util.Objects;
+
+// 💳 Dashboard info card (icon, title, value), built once and updated in place. setValue() only
+// touches the value label, and only when the text or tooltip actually changed.
+public class InfoCard extends JPanel {
+    private final JLabel valueLabel;
+
+    public InfoCard(String icon, String title, String value, Color color) {
+        super(new BorderLayout(15, 10));
+        setBackground(DashboardFrame.Theme.CARD_BG);
+        setPreferredSize(new Dimension(260, 120));
+        setBorder(new CompoundBorder(new LineBorder(DashboardFrame.Theme.BORDER, 1, true),
+                new EmptyBorder(20, 15, 15, 15)));
+        JLabel iconLabel = new JLabel(icon, SwingConstants.CENTER);
+        iconLabel.setFont(Fonts.get(Fonts.EMOJI, Font.PLAIN, 32));
+        JLabel titleLabel = new JLabel(title);
+        titleLabel.setFont(DashboardFrame.Theme.FONT_BOLD);
+        titleLabel.setForeground(DashboardFrame.Theme.TEXT_SECONDARY);
+        valueLabel = new JLabel(value);
+        valueLabel.setFont(DashboardFrame.Theme.FONT_SUBTITLE);
+        valueLabel.setForeground(color);
+        JPanel textPanel = new JPanel();
+        textPanel.setOpaque(false);
+        textPanel.setLayout(new BoxLayout(textPanel, BoxLayout.Y_AXIS));
+        textPanel.add(titleLabel);
+        textPanel.add(Box.createRigidArea(new Dimension(0, 5)));
+        textPanel.add(valueLabel);
+        add(iconLabel, BorderLayout.WEST);
+        add(textPanel, BorderLayout.CENTER);
+    }
+
+    public void setValue(String value, String tooltip) {
+        if (!Objects.equals(valueLabel.getText(), value)) valueLabel.setText(value);
+        if (!Objects.equals(valueLabel.getToolTipText(), tooltip)) valueLabel.setToolTipText(tooltip);
+    }
+
+    public String getValue() {
+        return valueLabel.getText();
+    }
+}
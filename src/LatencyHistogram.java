@@ -0,0 +1,126 @@
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 📊 Lock-free log-linear histogram of non-negative values (we record nanoseconds).
+// Each power-of-two range is split into 64 sub-buckets, so any reported value is within
+// ~1.6% of the recorded one. Output mirrors HdrHistogram's percentile distribution (.hgrm).
+// record() is on every timed DB call (Metrics), so it touches only the bucket, the sum and the max;
+// the total count is summed from the buckets when read.
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 128;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + 57 * HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.getAndIncrement(indexOf(value));
+        sum.add(value);
+        long m = max.get();
+        while (value > m && !max.compareAndSet(m, value)) m = max.get();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 6;
+        return SUB_BUCKETS + (shift - 1) * HALF + (int) ((value >>> shift) - HALF);
+    }
+
+    // Highest value that lands in the bucket (what HdrHistogram reports)
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index - SUB_BUCKETS) / HALF + 1;
+        long sub = (index - SUB_BUCKETS) % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += counts.get(i);
+        return total;
+    }
+    public long getMaxValue() { return max.get(); }
+
+    public double getMean() {
+        long n = getTotalCount();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = snapshot();
+        long total = 0;
+        for (long c : snapshot) total += c;
+        return valueAt(snapshot, total, percentile);
+    }
+
+    private long[] snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) snapshot[i] = counts.get(i);
+        return snapshot;
+    }
+
+    private long valueAt(long[] snapshot, long total, double percentile) {
+        if (total == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) return Math.min(highestValueAt(i), max.get());
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        sum.reset();
+        max.set(0);
+    }
+
+    // 🖨️ HdrHistogram-style percentile distribution; values are divided by scale (1e6 → ms)
+    public void outputPercentileDistribution(PrintStream out, double scale) {
+        long[] snapshot = snapshot();
+        long total = 0;
+        for (long c : snapshot) total += c;
+        out.println("       Value     Percentile TotalCount 1/(1-Percentile)");
+        out.println();
+        if (total > 0) {
+            // 5 ticks per halving of the remaining distance to 100%, like HdrHistogram's default
+            double percentile = 0;
+            for (int half = 0; percentile < 100; half++) {
+                double from = 100.0 * (1 - Math.pow(0.5, half));
+                double to = 100.0 * (1 - Math.pow(0.5, half + 1));
+                for (int tick = 0; tick < 5 && percentile < 100; tick++) {
+                    percentile = from + (to - from) * tick / 5;
+                    long count = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+                    if (count >= total) percentile = 100;
+                    printLine(out, valueAt(snapshot, total, percentile) / scale, percentile, Math.min(count, total));
+                }
+            }
+        }
+        double mean = getMean() / scale;
+        out.printf("#[Mean    = %12.3f, StdDeviation   = %12.3f]%n", mean, stdDeviation(snapshot, total, scale, mean));
+        out.printf("#[Max     = %12.3f, Total count    = %12d]%n", max.get() / scale, total);
+        out.printf("#[Buckets = %12d, SubBuckets     = %12d]%n", 58, SUB_BUCKETS);
+    }
+
+    private static void printLine(PrintStream out, double value, double percentile, long count) {
+        if (percentile >= 100) out.printf("%12.3f %1.12f %10d%n", value, 1.0, count);
+        else out.printf("%12.3f %1.12f %10d %14.2f%n", value, percentile / 100, count, 1 / (1 - percentile / 100));
+    }
+
+    private static double stdDeviation(long[] snapshot, long total, double scale, double mean) {
+        if (total == 0) return 0;
+        double squares = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i] == 0) continue;
+            double d = highestValueAt(i) / scale - mean;
+            squares += d * d * snapshot[i];
+        }
+        return Math.sqrt(squares / total);
+    }
+}
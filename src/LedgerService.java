@@ -0,0 +1,367 @@
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 📒 Applies balance deltas atomically: one DB transaction per posting, striped locks per account_no.
+// Every writer locks account rows in account_no order, so transfers between overlapping accounts
+// never deadlock, in this process or in the database.
+public class LedgerService {
+    static final String TRANSFER_IN = "Transfer In";
+    static final String TRANSFER_OUT = "Transfer Out";
+
+    private static final int STRIPES = 64; // power of two
+    private static final LedgerService INSTANCE = new LedgerService();
+
+    // 📦 Group-commit pipeline sizing (override with -Dswiftbank.ledger.*)
+    private static final int MAX_BATCH = Integer.getInteger("swiftbank.ledger.maxBatch", 64);
+    private static final long MAX_LINGER_MS = Long.getLong("swiftbank.ledger.lingerMs", 2);
+
+    // 📓 Write-ahead journal (override with -Dswiftbank.journal.*)
+    private static final boolean JOURNAL_ENABLED =
+            Boolean.parseBoolean(System.getProperty("swiftbank.journal.enabled", "true"));
+    private static final String JOURNAL_DIR = System.getProperty("swiftbank.journal.dir",
+            Path.of(System.getProperty("user.home"), ".swiftbank", "journal").toString());
+    private static final int JOURNAL_SEGMENT_BYTES = Integer.getInteger("swiftbank.journal.segmentBytes", 8 << 20);
+    private static final boolean JOURNAL_SYNC = Boolean.parseBoolean(System.getProperty("swiftbank.journal.sync", "true"));
+    private static final long JOURNAL_REPLAY_MS = Long.getLong("swiftbank.journal.replayMs", 2000);
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private volatile PostingPipeline pipeline;
+    private volatile PostingJournal journal;
+
+    public record Transfer(String from, String to, Money amount) {
+    }
+
+    public static LedgerService getInstance() {
+        return INSTANCE;
+    }
+
+    LedgerService() {
+        for (int i = 0; i < STRIPES; i++) locks[i] = new ReentrantLock();
+    }
+
+    public Money deposit(String accountNo, Money amount) throws SQLException, InsufficientFundsException {
+        if (!amount.isPositive()) throw new IllegalArgumentException("Deposit amount must be positive");
+        return post(accountNo, "Deposit", amount, amount);
+    }
+
+    public Money withdraw(String accountNo, Money amount) throws SQLException, InsufficientFundsException {
+        if (!amount.isPositive()) throw new IllegalArgumentException("Withdrawal amount must be positive");
+        return post(accountNo, "Withdrawal", amount.negate(), amount);
+    }
+
+    // 💸 Money in / money out, by transactions.type
+    static boolean isCredit(String type) {
+        return type.equals("Deposit") || type.equals(TRANSFER_IN);
+    }
+
+    static boolean isDebit(String type) {
+        return type.equals("Withdrawal") || type.equals(TRANSFER_OUT);
+    }
+
+    // 🔁 Debits `from` and credits `to` in one DB transaction; returns the source's new balance
+    public Money transfer(String from, String to, Money amount)
+            throws SQLException, InsufficientFundsException, UnknownAccountException {
+        return transferAll(List.of(new Transfer(from, to, amount))).get(from);
+    }
+
+    // 🧾 Payroll: one payer, many payees, all or nothing
+    public Map<String, Money> payroll(String payer, Map<String, Money> payees)
+            throws SQLException, InsufficientFundsException, UnknownAccountException {
+        List<Transfer> transfers = new ArrayList<>(payees.size());
+        payees.forEach((payee, amount) -> transfers.add(new Transfer(payer, payee, amount)));
+        return transferAll(transfers);
+    }
+
+    // 📦 Applies every transfer or none. Each account's net delta is applied once, rows in
+    // account_no order, while holding the accounts' stripes (taken in index order). Returns the new
+    // balance of every account involved.
+    public Map<String, Money> transferAll(List<Transfer> transfers)
+            throws SQLException, InsufficientFundsException, UnknownAccountException {
+        if (transfers.isEmpty()) throw new IllegalArgumentException("No transfers");
+        Map<String, Long> net = new TreeMap<>();
+        boolean[] stripes = new boolean[STRIPES];
+        for (Transfer t : transfers) {
+            if (!t.amount.isPositive()) throw new IllegalArgumentException("Transfer amount must be positive");
+            if (t.from.equals(t.to)) throw new IllegalArgumentException("Cannot transfer to the same account");
+            net.merge(t.from, -t.amount.getMinor(), Long::sum);
+            net.merge(t.to, t.amount.getMinor(), Long::sum);
+            stripes[stripeOf(t.from)] = stripes[stripeOf(t.to)] = true;
+        }
+        for (Map.Entry<String, Long> e : net.entrySet())
+            if (cannotCover(e.getKey(), Money.ofMinor(e.getValue())))
+                throw new InsufficientFundsException(e.getKey(), Money.ofMinor(-e.getValue()));
+
+        for (int i = 0; i < STRIPES; i++) if (stripes[i]) locks[i].lock();
+        AccountStore store = AccountStore.getInstance();
+        boolean stored = store.isLoaded();
+        if (stored) store.commitOrder().lock();
+        try (Connection con = DBConnection.getConnection()) {
+            if (con == null) throw new SQLException("Database connection failed.");
+            AccountAggregates.ensureSchema(con);
+            con.setAutoCommit(false);
+            try {
+                try (PreparedStatement ps = con.prepareStatement(Sql.APPLY_DELTA.text())) {
+                    for (Map.Entry<String, Long> e : net.entrySet()) {
+                        BigDecimal delta = Money.ofMinor(e.getValue()).toBigDecimal();
+                        ps.setBigDecimal(1, delta);
+                        ps.setString(2, e.getKey());
+                        ps.setBigDecimal(3, delta);
+                        ps.addBatch();
+                    }
+                    int[] counts = ps.executeBatch();
+                    int i = 0;
+                    for (Map.Entry<String, Long> e : net.entrySet()) {
+                        if (counts[i++] != 0) continue;
+                        con.rollback();
+                        if (e.getValue() < 0) throw new InsufficientFundsException(e.getKey(), Money.ofMinor(-e.getValue()));
+                        throw new UnknownAccountException(e.getKey());
+                    }
+                }
+                long lastId = 0;
+                AccountAggregates.Batch aggregates = new AccountAggregates.Batch();
+                try (PreparedStatement ps = stored
+                        ? con.prepareStatement(Sql.INSERT_TRANSACTION.text(), Statement.RETURN_GENERATED_KEYS)
+                        : con.prepareStatement(Sql.INSERT_TRANSACTION.text())) {
+                    for (Transfer t : transfers) {
+                        addLeg(ps, t.from, TRANSFER_OUT, t.amount, aggregates.timestamp());
+                        addLeg(ps, t.to, TRANSFER_IN, t.amount, aggregates.timestamp());
+                        aggregates.add(t.from, TRANSFER_OUT, t.amount).add(t.to, TRANSFER_IN, t.amount);
+                    }
+                    ps.executeBatch();
+                    if (stored) lastId = AccountStore.lastGeneratedId(ps);
+                }
+                aggregates.apply(con);
+                Map<String, Money> balances = new HashMap<>();
+                Map<String, Long> deltas = new HashMap<>();
+                try (PreparedStatement ps = con.prepareStatement(Sql.SELECT_BALANCE.text())) {
+                    for (Map.Entry<String, Long> e : net.entrySet()) {
+                        if (stored && store.contains(e.getKey())) {
+                            deltas.put(e.getKey(), e.getValue());
+                            continue;
+                        }
+                        ps.setString(1, e.getKey());
+                        try (ResultSet rs = ps.executeQuery()) {
+                            rs.next();
+                            balances.put(e.getKey(), Money.of(rs.getBigDecimal(1)));
+                        }
+                    }
+                }
+                con.commit();
+                if (stored) balances.putAll(store.applyCommitted(deltas, balances, lastId));
+                balances.forEach(AccountSnapshotCache.getInstance()::updateBalance);
+                long now = System.currentTimeMillis();
+                List<PostingEvents.Event> legs = new ArrayList<>(transfers.size() * 2);
+                for (Transfer t : transfers) {
+                    legs.add(new PostingEvents.Event(t.from, TRANSFER_OUT, t.amount, null, now));
+                    legs.add(new PostingEvents.Event(t.to, TRANSFER_IN, t.amount, null, now));
+                }
+                PostingEvents.getInstance().publishCommitted(legs, balances);
+                return balances;
+            } catch (SQLException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            }
+        } finally {
+            if (stored) store.commitOrder().unlock();
+            for (int i = STRIPES - 1; i >= 0; i--) if (stripes[i]) locks[i].unlock();
+        }
+    }
+
+    private static void addLeg(PreparedStatement ps, String accountNo, String type, Money amount, Timestamp at)
+            throws SQLException {
+        ps.setString(1, accountNo);
+        ps.setString(2, type);
+        ps.setBigDecimal(3, amount.toBigDecimal());
+        ps.setTimestamp(4, at);
+        ps.addBatch();
+    }
+
+    // 📦 Batched variants: postings share a JDBC batch and a single commit with other tellers
+    public CompletableFuture<Money> depositAsync(String accountNo, Money amount) {
+        if (!amount.isPositive()) return CompletableFuture.failedFuture(new IllegalArgumentException("Deposit amount must be positive"));
+        return submitJournaled(accountNo, "Deposit", amount, amount);
+    }
+
+    public CompletableFuture<Money> withdrawAsync(String accountNo, Money amount) {
+        if (!amount.isPositive()) return CompletableFuture.failedFuture(new IllegalArgumentException("Withdrawal amount must be positive"));
+        return submitJournaled(accountNo, "Withdrawal", amount.negate(), amount);
+    }
+
+    // 📓 Journal first, then the pipeline. If the DB attempt fails the posting stays in the journal
+    // and the future fails with PostingDeferredException: accepted locally, replayed later.
+    private CompletableFuture<Money> submitJournaled(String accountNo, String type, Money delta, Money amount) {
+        PostingPipeline p = pipeline();
+        if (cannotCover(accountNo, delta))
+            return CompletableFuture.failedFuture(new InsufficientFundsException(accountNo, amount));
+        PostingJournal j = journal;
+        if (j == null) return p.submit(accountNo, type, delta, amount);
+        UUID key;
+        try {
+            key = j.append(accountNo, type, delta, amount);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return p.submit(accountNo, type, delta, amount, key).handle((balance, ex) -> {
+            if (ex == null) {
+                j.settle(key);
+                return balance;
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof InsufficientFundsException) {
+                j.settle(key);
+                throw new CompletionException(cause);
+            }
+            j.defer(key);
+            throw new CompletionException(new PostingDeferredException(accountNo, amount, cause));
+        });
+    }
+
+    private PostingPipeline pipeline() {
+        // 🧵 Posting may start the store, recover the journal, fsync and wait: never on the Swing EDT
+        assert !EventQueue.isDispatchThread() : "Posting on the Event Dispatch Thread";
+        PostingPipeline p = pipeline;
+        if (p == null) {
+            synchronized (this) {
+                p = pipeline;
+                if (p == null) {
+                    AccountStore.getInstance().start(); // before the journal replays into it
+                    if (JOURNAL_ENABLED) journal = openJournal();
+                    pipeline = p = new PostingPipeline(MAX_BATCH, MAX_LINGER_MS);
+                }
+            }
+        }
+        return p;
+    }
+
+    // 🚀 Opens the pipeline and recovers the journal now instead of on the first posting
+    public void start() {
+        pipeline();
+    }
+
+    private static PostingJournal openJournal() {
+        try {
+            return new PostingJournal(Path.of(JOURNAL_DIR), JOURNAL_SEGMENT_BYTES, JOURNAL_SYNC, JOURNAL_REPLAY_MS);
+        } catch (IOException e) {
+            System.err.println("⚠️ Posting journal unavailable, continuing without it: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // 📊 Null until the first async posting (or when the journal is disabled)
+    public PostingJournal getJournal() {
+        return journal;
+    }
+
+    // 🧠 With the account store loaded a withdrawal it cannot cover is refused without a round trip
+    private boolean cannotCover(String accountNo, Money delta) {
+        if (!delta.isNegative() || !AccountStore.getInstance().isLoaded()) return false;
+        Money balance = AccountStore.getInstance().balance(accountNo);
+        return balance != null && balance.plus(delta).isNegative();
+    }
+
+    // 🔒 Same-account postings queue on one stripe; unrelated accounts proceed in parallel.
+    // The conditional UPDATE keeps the balance correct even across separate app instances.
+    private Money post(String accountNo, String type, Money delta, Money amount)
+            throws SQLException, InsufficientFundsException {
+        if (AccountStore.ENABLED) {
+            pipeline(); // loads the store
+            if (AccountStore.getInstance().isLoaded()) return postThroughPipeline(accountNo, type, delta, amount);
+        }
+        ReentrantLock lock = lockFor(accountNo);
+        lock.lock();
+        try (Connection con = DBConnection.getConnection()) {
+            if (con == null) throw new SQLException("Database connection failed.");
+            AccountAggregates.ensureSchema(con);
+            con.setAutoCommit(false);
+            try {
+                try (PreparedStatement ps = con.prepareStatement(Sql.APPLY_DELTA.text())) {
+                    ps.setBigDecimal(1, delta.toBigDecimal());
+                    ps.setString(2, accountNo);
+                    ps.setBigDecimal(3, delta.toBigDecimal());
+                    if (ps.executeUpdate() == 0) {
+                        con.rollback();
+                        throw new InsufficientFundsException(accountNo, amount);
+                    }
+                }
+                AccountAggregates.Batch aggregates = new AccountAggregates.Batch();
+                try (PreparedStatement ps = con.prepareStatement(Sql.INSERT_TRANSACTION.text())) {
+                    ps.setString(1, accountNo);
+                    ps.setString(2, type);
+                    ps.setBigDecimal(3, amount.toBigDecimal());
+                    ps.setTimestamp(4, aggregates.timestamp());
+                    ps.executeUpdate();
+                }
+                aggregates.add(accountNo, type, amount).apply(con);
+                Money balance;
+                try (PreparedStatement ps = con.prepareStatement(Sql.SELECT_BALANCE.text())) {
+                    ps.setString(1, accountNo);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        balance = Money.of(rs.getBigDecimal(1));
+                    }
+                }
+                con.commit();
+                AccountSnapshotCache.getInstance().updateBalance(accountNo, balance);
+                PostingEvents.getInstance().publish(
+                        new PostingEvents.Event(accountNo, type, amount, balance, System.currentTimeMillis()));
+                return balance;
+            } catch (SQLException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The store's watermark needs one writer committing in id order, so blocking postings join the pipeline
+    private Money postThroughPipeline(String accountNo, String type, Money delta, Money amount)
+            throws SQLException, InsufficientFundsException {
+        if (cannotCover(accountNo, delta)) throw new InsufficientFundsException(accountNo, amount);
+        try {
+            return pipeline().submit(accountNo, type, delta, amount).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof InsufficientFundsException ife) throw ife;
+            if (e.getCause() instanceof SQLException se) throw se;
+            throw e;
+        }
+    }
+
+    private ReentrantLock lockFor(String accountNo) {
+        return locks[stripeOf(accountNo)];
+    }
+
+    private static int stripeOf(String accountNo) {
+        int h = accountNo.hashCode();
+        h ^= (h >>> 16);
+        return h & (STRIPES - 1);
+    }
+
+    // ❌ Raised when the conditional update finds the balance too low (or no such account)
+    public static class InsufficientFundsException extends Exception {
+        public InsufficientFundsException(String accountNo, Money amount) {
+            super("Insufficient balance in " + accountNo + " for " + amount);
+        }
+    }
+
+    // ❓ A transfer names an account that does not exist
+    public static class UnknownAccountException extends Exception {
+        public UnknownAccountException(String accountNo) {
+            super("No account " + accountNo);
+        }
+    }
+
+    // 🕓 The DB could not take the posting now; it is safe in the journal and will be replayed
+    public static class PostingDeferredException extends Exception {
+        public PostingDeferredException(String accountNo, Money amount, Throwable cause) {
+            super(amount + " for " + accountNo + " saved offline; it will post when the database is reachable", cause);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 🧪 Concurrency stress check for LedgerService: hammers a few accounts from many threads and
+// verifies no update was lost. Migrates the schema and seeds its own accounts, so it runs against a
+// fresh embedded database; pass account numbers to use existing accounts instead. Exits 1 on a
+// lost update:
+//   java -Dswiftbank.db.url="jdbc:h2:mem:bank;DB_CLOSE_DELAY=-1" -Dswiftbank.db.driver=org.h2.Driver \
+//        -Dswiftbank.db.user=sa -Dswiftbank.auth.iterations=1000 LedgerStress [<accountNo>...] [-Dthreads=16 -Dops=500 -Daccounts=4]
+public class LedgerStress {
+    private static final Money ONE = Money.parse("1"), TWO = Money.parse("2");
+
+    public static void main(String[] args) throws Exception {
+        BankServiceHarness.createSchema();
+        String[] accountNos = args.length > 0 ? args
+                : BankServiceHarness.seedAccounts(Integer.getInteger("accounts", 4), Money.parse("1000")).toArray(new String[0]);
+        int threads = Integer.getInteger("threads", 16);
+        int ops = Integer.getInteger("ops", 500);
+        LedgerService ledger = LedgerService.getInstance();
+
+        long[] before = new long[accountNos.length];
+        for (int i = 0; i < accountNos.length; i++) before[i] = balanceOf(accountNos[i]);
+
+        // Every thread deposits 2 and withdraws 1 per round, so each account must end at +ops*threads/accountNos.length
+        AtomicLong[] rounds = new AtomicLong[accountNos.length];
+        for (int i = 0; i < accountNos.length; i++) rounds[i] = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        long t0 = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int idx = t % accountNos.length;
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ops; i++) {
+                    ledger.deposit(accountNos[idx], TWO);
+                    ledger.withdraw(accountNos[idx], ONE);
+                    rounds[idx].incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> f : workers) f.get();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            System.out.println("❌ A worker failed: " + e.getCause());
+            System.exit(1);
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+
+        boolean ok = true;
+        for (int i = 0; i < accountNos.length; i++) {
+            Money expected = Money.ofMinor(before[i] + rounds[i].get() * ONE.getMinor());
+            Money actual = Money.ofMinor(balanceOf(accountNos[i]));
+            boolean match = expected.equals(actual);
+            ok &= match;
+            System.out.printf("%s %s expected=%s actual=%s%n", match ? "✅" : "❌", accountNos[i], expected, actual);
+        }
+        long postings = 2L * threads * ops;
+        System.out.printf("%d postings in %.2fs (%.0f/s)%n", postings, seconds, postings / seconds);
+        System.out.println(ok ? "✅ No lost updates" : "❌ Lost updates detected");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static long balanceOf(String accountNo) throws SQLException {
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(Sql.SELECT_BALANCE.text())) {
+            ps.setString(1, accountNo);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) throw new SQLException("No such account: " + accountNo);
+                return Money.of(rs.getBigDecimal(1)).getMinor();
+            }
+        }
+    }
+}
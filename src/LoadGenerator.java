@@ -0,0 +1,175 @@
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 🚦 Replays a weighted mix of login / deposit / withdraw / history against BankService and
+// reports throughput plus latency percentiles in HdrHistogram format. Run it against an
+// embedded database stand-in, e.g.
+//   java -Dswiftbank.db.url=jdbc:h2:mem:bank -Dswiftbank.db.driver=org.h2.Driver -Dswiftbank.db.user=sa \
+//        -Dthreads=64 -Dseconds=30 -Dskew=zipf LoadGenerator
+//
+// Options (system properties):
+//   threads=64  seconds=30  warmup=5  accounts=1000
+//   mix=login:20,deposit:30,withdraw:20,history:30
+//   skew=uniform | zipf (zipfS=1.1) | hot (hotFraction=0.01, hotTraffic=0.9)
+//   hgrm=<dir>  also write one .hgrm file per operation
+public class LoadGenerator {
+    enum Op { LOGIN, DEPOSIT, WITHDRAW, HISTORY }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("threads", 64);
+        int seconds = Integer.getInteger("seconds", 30);
+        int warmup = Integer.getInteger("warmup", 5);
+        int accounts = Integer.getInteger("accounts", 1000);
+        Op[] mix = parseMix(System.getProperty("mix", "login:20,deposit:30,withdraw:20,history:30"));
+        AccountChooser chooser = AccountChooser.fromProperties(accounts);
+
+        BankServiceHarness.createSchema();
+        List<String> accountNos = BankServiceHarness.seedAccounts(accounts, Money.parse("1000000"));
+        BankService bank = BankService.getInstance();
+
+        Map<Op, LatencyHistogram> histograms = new LinkedHashMap<>();
+        for (Op op : Op.values()) histograms.put(op, new LatencyHistogram());
+        LatencyHistogram errors = new LatencyHistogram();
+
+        System.out.printf("⏳ %d threads, %d accounts, skew=%s, warmup %ds, measure %ds%n",
+                threads, accounts, chooser, warmup, seconds);
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(seconds);
+        Money amount = Money.parse("10");
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    boolean measuring = false;
+                    while (true) {
+                        long now = System.nanoTime();
+                        if (now >= end) break;
+                        if (!measuring && now >= warmupEnd) measuring = true;
+                        Op op = mix[random.nextInt(mix.length)];
+                        String accountNo = accountNos.get(chooser.next(random));
+                        long start = System.nanoTime();
+                        try {
+                            switch (op) {
+                                case LOGIN -> bank.login(accountNo, BankServiceHarness.PASSWORD);
+                                case DEPOSIT -> bank.deposit(accountNo, amount).join();
+                                case WITHDRAW -> bank.withdraw(accountNo, amount).join();
+                                case HISTORY -> bank.recentHistory(accountNo, 10);
+                            }
+                            if (measuring) histograms.get(op).record(System.nanoTime() - start);
+                        } catch (Exception e) {
+                            if (measuring) errors.record(System.nanoTime() - start);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long total = 0;
+        System.out.printf("%n%-10s %10s %10s %10s %10s %10s %10s%n", "op", "count", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Op, LatencyHistogram> e : histograms.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            total += h.getTotalCount();
+            System.out.printf("%-10s %10d %10.0f %10.3f %10.3f %10.3f %10.3f%n", e.getKey(), h.getTotalCount(),
+                    (double) h.getTotalCount() / seconds, h.getValueAtPercentile(50) / 1e6,
+                    h.getValueAtPercentile(99) / 1e6, h.getValueAtPercentile(99.9) / 1e6, h.getMaxValue() / 1e6);
+        }
+        System.out.printf("%-10s %10d %10.0f   (errors: %d)%n", "TOTAL", total, (double) total / seconds, errors.getTotalCount());
+
+        String dir = System.getProperty("hgrm");
+        for (Map.Entry<Op, LatencyHistogram> e : histograms.entrySet()) {
+            if (dir != null) {
+                try (PrintStream out = new PrintStream(new FileOutputStream(dir + "/" + e.getKey().name().toLowerCase() + ".hgrm"))) {
+                    e.getValue().outputPercentileDistribution(out, 1e6);
+                }
+            } else {
+                System.out.println("\n# " + e.getKey() + " latency (ms)");
+                e.getValue().outputPercentileDistribution(System.out, 1e6);
+            }
+        }
+        System.exit(0);
+    }
+
+    // "login:20,deposit:30" → lookup table with one slot per weight unit
+    private static Op[] parseMix(String spec) {
+        Map<Op, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            weights.put(Op.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return weights.entrySet().stream()
+                .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                .toArray(Op[]::new);
+    }
+
+    // 🎯 Which account the next operation hits
+    abstract static class AccountChooser {
+        abstract int next(ThreadLocalRandom random);
+
+        static AccountChooser fromProperties(int accounts) {
+            String skew = System.getProperty("skew", "uniform");
+            return switch (skew) {
+                case "zipf" -> new Zipf(accounts, Double.parseDouble(System.getProperty("zipfS", "1.1")));
+                case "hot" -> new Hot(accounts, Double.parseDouble(System.getProperty("hotFraction", "0.01")),
+                        Double.parseDouble(System.getProperty("hotTraffic", "0.9")));
+                default -> new Uniform(accounts);
+            };
+        }
+    }
+
+    static class Uniform extends AccountChooser {
+        private final int accounts;
+        Uniform(int accounts) { this.accounts = accounts; }
+        int next(ThreadLocalRandom random) { return random.nextInt(accounts); }
+        public String toString() { return "uniform"; }
+    }
+
+    // A small set of hot accounts receives most of the traffic
+    static class Hot extends AccountChooser {
+        private final int accounts, hot;
+        private final double hotTraffic;
+
+        Hot(int accounts, double hotFraction, double hotTraffic) {
+            this.accounts = accounts;
+            this.hot = Math.max(1, (int) (accounts * hotFraction));
+            this.hotTraffic = hotTraffic;
+        }
+
+        int next(ThreadLocalRandom random) {
+            return random.nextDouble() < hotTraffic ? random.nextInt(hot) : random.nextInt(accounts);
+        }
+
+        public String toString() { return "hot(" + hot + " accounts get " + (int) (hotTraffic * 100) + "%)"; }
+    }
+
+    // Rank-frequency Zipf distribution sampled by binary search over a precomputed CDF
+    static class Zipf extends AccountChooser {
+        private final double[] cdf;
+        private final double s;
+
+        Zipf(int accounts, double s) {
+            this.s = s;
+            cdf = new double[accounts];
+            double sum = 0;
+            for (int i = 0; i < accounts; i++) cdf[i] = sum += 1 / Math.pow(i + 1, s);
+            for (int i = 0; i < accounts; i++) cdf[i] /= sum;
+        }
+
+        int next(ThreadLocalRandom random) {
+            int i = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(i < 0 ? -i - 1 : i, cdf.length - 1);
+        }
+
+        public String toString() { return "zipf(s=" + s + ")"; }
+    }
+}
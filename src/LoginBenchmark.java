@@ -0,0 +1,64 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+// ⏱️ Password verifications (= logins) per second per core at several PBKDF2 costs, plus the
+// cost of turning away a throttled attempt. Pure CPU, no database needed:
+//   java -Dcosts=10000,100000,310000,600000 -Dthreads=4 LoginBenchmark
+// Pick swiftbank.auth.iterations so a single verify stays well under the login latency budget.
+public class LoginBenchmark {
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threads = Integer.getInteger("threads", cores);
+        double seconds = Double.parseDouble(System.getProperty("seconds", "3"));
+        String[] costs = System.getProperty("costs", "10000,100000,310000,600000").split(",");
+
+        System.out.printf("%d thread(s) on %d core(s)%n%n%10s %12s %12s %12s%n",
+                threads, cores, "iterations", "ms/verify", "logins/s", "per core");
+        // 🔥 Let the JIT compile the HMAC loop before anything is measured
+        PasswordHasher warmup = new PasswordHasher(1000);
+        String warm = warmup.hash("warm-up");
+        for (long until = System.nanoTime() + 2_000_000_000L; System.nanoTime() < until; ) warmup.verify("warm-up", warm);
+
+        for (String cost : costs) {
+            PasswordHasher hasher = new PasswordHasher(Integer.parseInt(cost.trim()));
+            String stored = hasher.hash("correct horse battery staple");
+
+            long end = System.nanoTime() + (long) (seconds * 1e9);
+            List<Future<Long>> counts = new ArrayList<>();
+            long t0 = System.nanoTime();
+            try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+                for (int t = 0; t < threads; t++) {
+                    counts.add(pool.submit(() -> {
+                        long n = 0;
+                        do {
+                            if (!hasher.verify("correct horse battery staple", stored)) throw new IllegalStateException();
+                            n++;
+                        } while (System.nanoTime() < end);
+                        return n;
+                    }));
+                }
+            }
+            double elapsed = (System.nanoTime() - t0) / 1e9;
+            long total = 0;
+            for (Future<Long> f : counts) total += f.get();
+            double perSecond = total / elapsed;
+            System.out.printf("%10s %12.2f %12.1f %12.1f%n", cost.trim(),
+                    1000.0 * threads / perSecond, perSecond, perSecond / Math.min(threads, cores));
+        }
+
+        // 🚧 Locked accounts are rejected before any hashing or I/O
+        LoginThrottle throttle = new LoginThrottle();
+        for (int i = 0; i < 10; i++) throttle.failure("ACC-1");
+        int attempts = 5_000_000;
+        long rejected = 0, t0 = System.nanoTime();
+        for (int i = 0; i < attempts; i++) {
+            try {
+                throttle.check("ACC-1");
+            } catch (LoginThrottle.ThrottledException e) {
+                rejected++;
+            }
+        }
+        System.out.printf("%nThrottled attempt: %.0f ns each (%d rejected)%n", (System.nanoTime() - t0) / (double) attempts, rejected);
+    }
+}
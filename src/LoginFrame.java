@@ -1,14 +1,15 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.sql.*;
 
 public class LoginFrame extends JFrame {
     private final JTextField accNoField;
     private final JPasswordField passwordField;
     private final JButton loginBtn;
     private final JLabel statusLabel;
-    private float hueShift = 0f; // For animated gradient
+    private static final Color BG_TOP = new Color(15, 20, 40), BG_BOTTOM = new Color(25, 35, 55);
+    private final AsyncDataAccess data = new AsyncDataAccess();
+    private final BankService bank = BankService.getInstance();
 
     public LoginFrame() {
         setTitle("💳 SwiftBank - Secure Login");
@@ -17,23 +18,12 @@ public class LoginFrame extends JFrame {
         setLocationRelativeTo(null);
         setResizable(false);
 
-        // ---------- Animated Dark Gradient Background ----------
-        JPanel bgPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                hueShift += 0.001f;
-                Color c1 = new Color(15, 20, 40);
-                Color c2 = new Color(25, 35, 55);
-                GradientPaint gp = new GradientPaint(0, 0, c1, getWidth(), getHeight(), c2);
-                g2d.setPaint(gp);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-            }
-        };
+        // ---------- Dark Gradient Background (rendered once, cached) ----------
+        CachedBackgroundPanel bgPanel = new CachedBackgroundPanel((g2d, w, h) -> {
+            g2d.setPaint(new GradientPaint(0, 0, BG_TOP, w, h, BG_BOTTOM));
+            g2d.fillRect(0, 0, w, h);
+        });
         bgPanel.setLayout(new GridBagLayout());
-        Timer t = new Timer(50, e -> bgPanel.repaint());
-        t.start();
 
         // ---------- Login Card ----------
         JPanel card = new JPanel();
@@ -46,7 +36,7 @@ public class LoginFrame extends JFrame {
         card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
 
         JLabel title = new JLabel("SwiftBank Login", JLabel.CENTER);
-        title.setFont(new Font("Segoe UI Semibold", Font.BOLD, 22));
+        title.setFont(Fonts.get(Fonts.UI_SEMIBOLD, Font.BOLD, 22));
         title.setForeground(new Color(79, 195, 247));
         title.setAlignmentX(Component.CENTER_ALIGNMENT);
 
@@ -55,14 +45,14 @@ public class LoginFrame extends JFrame {
 
         // ---------- Account No Field ----------
         JLabel accLabel = new JLabel("Account Number:");
-        accLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        accLabel.setFont(Fonts.get(Fonts.UI, Font.PLAIN, 14));
         accLabel.setForeground(Color.LIGHT_GRAY);
         accLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         card.add(accLabel);
 
         accNoField = new JTextField();
         accNoField.setMaximumSize(new Dimension(Integer.MAX_VALUE, 35));
-        accNoField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        accNoField.setFont(Fonts.get(Fonts.UI, Font.PLAIN, 14));
         accNoField.setBackground(new Color(48, 54, 70));
         accNoField.setForeground(Color.WHITE);
         accNoField.setCaretColor(Color.WHITE);
@@ -75,14 +65,14 @@ public class LoginFrame extends JFrame {
 
         // ---------- Password Field ----------
         JLabel passLabel = new JLabel("Password:");
-        passLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        passLabel.setFont(Fonts.get(Fonts.UI, Font.PLAIN, 14));
         passLabel.setForeground(Color.LIGHT_GRAY);
         passLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         card.add(passLabel);
 
         passwordField = new JPasswordField();
         passwordField.setMaximumSize(new Dimension(Integer.MAX_VALUE, 35));
-        passwordField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        passwordField.setFont(Fonts.get(Fonts.UI, Font.PLAIN, 14));
         passwordField.setBackground(new Color(48, 54, 70));
         passwordField.setForeground(Color.WHITE);
         passwordField.setCaretColor(Color.WHITE);
@@ -95,7 +85,7 @@ public class LoginFrame extends JFrame {
 
         // ---------- Login Button ----------
         loginBtn = new JButton("Login");
-        loginBtn.setFont(new Font("Segoe UI", Font.BOLD, 15));
+        loginBtn.setFont(Fonts.get(Fonts.UI, Font.BOLD, 15));
         loginBtn.setForeground(Color.BLACK);
         loginBtn.setBackground(new Color(79, 195, 247));
         loginBtn.setFocusPainted(false);
@@ -119,7 +109,7 @@ public class LoginFrame extends JFrame {
 
         // ---------- Status Label ----------
         statusLabel = new JLabel(" ");
-        statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        statusLabel.setFont(Fonts.get(Fonts.UI, Font.PLAIN, 12));
         statusLabel.setForeground(new Color(200, 200, 200));
         statusLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         card.add(Box.createRigidArea(new Dimension(0, 10)));
@@ -148,55 +138,27 @@ public class LoginFrame extends JFrame {
         statusLabel.setText("🔒 Verifying credentials...");
         loginBtn.setEnabled(false);
 
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
-            @Override
-            protected Void doInBackground() {
-                try (Connection con = DBConnection.getConnection()) {
-                    if (con == null) {
-                        statusLabel.setForeground(Color.RED);
-                        statusLabel.setText("❌ Database connection failed.");
-                        return null;
-                    }
-
-                    // ✅ JOIN customers + accounts
-                    String query = """
-                        SELECT a.account_no, a.balance, c.name
-                        FROM accounts a
-                        JOIN customers c ON a.customer_id = c.id
-                        WHERE a.account_no = ? AND c.password = ?
-                    """;
-
-                    PreparedStatement ps = con.prepareStatement(query);
-                    ps.setString(1, accNo);
-                    ps.setString(2, password);
-
-                    ResultSet rs = ps.executeQuery();
-
-                    if (rs.next()) {
-                        String name = rs.getString("name");
-                        double balance = rs.getDouble("balance");
-                        Account account = new Account(name, accNo, balance);
-
-                        SwingUtilities.invokeLater(() -> {
-                            dispose();
-                            new DashboardFrame(account).setVisible(true);
-                        });
-                    } else {
-                        statusLabel.setForeground(Color.RED);
-                        statusLabel.setText("❌ Invalid account number or password.");
-                    }
-
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                    statusLabel.setForeground(Color.RED);
-                    statusLabel.setText("⚠️ Database error.");
-                } finally {
-                    SwingUtilities.invokeLater(() -> loginBtn.setEnabled(true));
-                }
-                return null;
+        // ✅ JOIN customers + accounts, off the EDT
+        AsyncDataAccess.onEdt(data.call("login", () -> bank.login(accNo, password)), account -> {
+            loginBtn.setEnabled(true);
+            if (account != null) {
+                dispose();
+                DashboardFrame.open(account).setVisible(true);
+                StartupTimeline.mark("dashboard shown");
+            } else {
+                statusLabel.setForeground(Color.RED);
+                statusLabel.setText("❌ Invalid account number or password.");
             }
-        };
-        worker.execute();
+        }, ex -> {
+            if (!(ex instanceof LoginThrottle.ThrottledException)) ex.printStackTrace();
+            loginBtn.setEnabled(true);
+            statusLabel.setForeground(Color.RED);
+            if (ex instanceof LoginThrottle.ThrottledException)
+                statusLabel.setText("⛔ " + ex.getMessage());
+            else
+                statusLabel.setText(ex.getMessage() != null && ex.getMessage().startsWith("Database connection failed")
+                        ? "❌ Database connection failed." : "⚠️ Database error.");
+        });
     }
 
     // --- Test Launcher ---
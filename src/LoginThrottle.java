@@ -0,0 +1,59 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 🚧 Per-account brute-force brake, checked before any hashing or DB work. After FREE_FAILURES
+// consecutive wrong passwords the account is locked for a delay that doubles with each further
+// failure, up to MAX_LOCK_MS. A successful login clears the record.
+public class LoginThrottle {
+    private static final int FREE_FAILURES = Integer.getInteger("swiftbank.auth.freeFailures", 5);
+    private static final long BASE_LOCK_MS = Long.getLong("swiftbank.auth.baseLockMs", 1000);
+    private static final long MAX_LOCK_MS = Long.getLong("swiftbank.auth.maxLockMs", TimeUnit.MINUTES.toMillis(15));
+    private static final int PRUNE_ABOVE = 10_000;
+
+    private record State(int failures, long lockedUntil, long lastFailure) {
+    }
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    // ⚡ O(1), no I/O: throws while the account is locked
+    public void check(String accountNo) throws ThrottledException {
+        State s = states.get(accountNo);
+        if (s == null) return;
+        long wait = s.lockedUntil - System.currentTimeMillis();
+        if (wait > 0) throw new ThrottledException("Too many failed attempts. Try again in "
+                + TimeUnit.MILLISECONDS.toSeconds(wait + 999) + "s.", wait);
+    }
+
+    public void failure(String accountNo) {
+        long now = System.currentTimeMillis();
+        states.compute(accountNo, (k, s) -> {
+            int failures = s == null ? 1 : s.failures + 1;
+            long lock = failures <= FREE_FAILURES ? 0
+                    : Math.min(MAX_LOCK_MS, BASE_LOCK_MS << Math.min(30, failures - FREE_FAILURES - 1));
+            return new State(failures, now + lock, now);
+        });
+        if (states.size() > PRUNE_ABOVE) prune(now);
+    }
+
+    public void success(String accountNo) {
+        states.remove(accountNo);
+    }
+
+    // Forget accounts whose last failure is older than the longest lock
+    private void prune(long now) {
+        states.values().removeIf(s -> now - s.lastFailure > MAX_LOCK_MS && s.lockedUntil < now);
+    }
+
+    // ⛔ Raised for a locked account, and when the verification queue is full
+    public static class ThrottledException extends Exception {
+        private final long retryAfterMs;
+
+        public ThrottledException(String message, long retryAfterMs) {
+            super(message, null, false, false); // no stack trace: rejections must stay cheap
+            this.retryAfterMs = retryAfterMs;
+        }
+
+        public long getRetryAfterMs() { return retryAfterMs; }
+    }
+}
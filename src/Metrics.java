@@ -0,0 +1,337 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.*;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// 📊 Timings for every data-access operation, plus counters for pool waits, SQL errors and rows
+// read. Recording is lock-free (LatencyHistogram buckets and LongAdders) and allocation-free, so
+// it stays on in production; -Dswiftbank.metrics.enabled=false turns it off.
+//
+// Exported as JMX beans under swiftbank:* and, with -Dswiftbank.metrics.dumpSeconds=<n>, written
+// every n seconds to metrics.txt and metrics.json in -Dswiftbank.metrics.dir (default ./metrics).
+// -Dswiftbank.metrics.slowMs=<n> logs each operation slower than n ms.
+//
+// Callers bracket an operation with start() and ok()/rejected()/failed():
+//   long start = Metrics.start();
+//   try { ...; return Metrics.HISTORY.ok(start, rows); }
+//   catch (SQLException | RuntimeException e) { Metrics.HISTORY.failed(start, e); throw e; }
+public final class Metrics {
+    private static final long DUMP_SECONDS = Long.getLong("swiftbank.metrics.dumpSeconds", 0);
+    private static final Path DUMP_DIR = Path.of(System.getProperty("swiftbank.metrics.dir", "metrics"));
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("swiftbank.metrics.slowMs", 0));
+    private static volatile boolean enabled = !"false".equalsIgnoreCase(System.getProperty("swiftbank.metrics.enabled"));
+
+    private static final Map<String, Op> OPS = new LinkedHashMap<>();
+    public static final Op LOGIN = op("login");
+    public static final Op DEPOSIT = op("deposit");
+    public static final Op WITHDRAW = op("withdraw");
+    public static final Op TRANSFER = op("transfer");
+    public static final Op PAYROLL = op("payroll");
+    public static final Op HISTORY = op("history");
+    public static final Op PROFILE = op("profile"); // profile and account details: snapshot cache misses
+    public static final Op SUMMARY = op("summary");
+    public static final Op CHANGE_PASSWORD = op("changePassword");
+    public static final Op ONBOARDING = op("onboarding"); // one committed chunk of a bulk import
+    public static final Op POOL_WAIT = op("poolWait"); // every connection borrow; errors are timeouts
+
+    // 📊 Counters
+    private static final LongAdder sqlErrors = new LongAdder();
+    private static final LongAdder rowsRead = new LongAdder();
+    private static final LongAdder profileCacheHits = new LongAdder();
+    private static volatile String lastError;
+
+    private static ScheduledExecutorService dumper;
+    private static boolean started;
+
+    private Metrics() {
+    }
+
+    private static Op op(String name) {
+        Op op = new Op(name);
+        OPS.put(name, op);
+        return op;
+    }
+
+    // ⏱️ 0 when metrics are off, so a disabled build does not even read the clock
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void rowsRead(int rows) {
+        if (enabled) rowsRead.add(rows);
+    }
+
+    public static void profileCacheHit() {
+        if (enabled) profileCacheHits.increment();
+    }
+
+    // ⚠️ Counted even with metrics off: the dump and JMX are where failures are looked for first
+    public static void sqlError(String where, Throwable e) {
+        sqlErrors.increment();
+        lastError = where + ": " + e;
+    }
+
+    static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // ▶️ JMX beans and the periodic dump; safe to call more than once
+    public static synchronized void start(boolean jmx) {
+        if (started) return;
+        started = true;
+        if (jmx) registerBeans();
+        if (DUMP_SECONDS > 0) {
+            dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "swiftbank-metrics-dump");
+                t.setDaemon(true);
+                return t;
+            });
+            dumper.scheduleAtFixedRate(Metrics::dumpQuietly, DUMP_SECONDS, DUMP_SECONDS, TimeUnit.SECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(Metrics::dumpQuietly, "swiftbank-metrics-final-dump"));
+        }
+    }
+
+    private static void registerBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (Op op : OPS.values()) {
+                ObjectName name = new ObjectName("swiftbank:type=Operation,name=" + op.name);
+                if (!server.isRegistered(name)) server.registerMBean(op, name);
+            }
+            ObjectName name = new ObjectName("swiftbank:type=Metrics");
+            if (!server.isRegistered(name)) server.registerMBean(new Summary(), name);
+        } catch (JMException e) {
+            System.err.println("⚠️ Metrics not exported over JMX: " + e.getMessage());
+        }
+    }
+
+    // 💾 Writes both files next to each other; each replaces the previous dump atomically
+    public static void dump(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        writeAtomically(dir.resolve("metrics.txt"), text());
+        writeAtomically(dir.resolve("metrics.json"), json());
+    }
+
+    private static void dumpQuietly() {
+        try {
+            dump(DUMP_DIR);
+        } catch (IOException e) {
+            System.err.println("⚠️ Metrics dump failed: " + e.getMessage());
+        }
+    }
+
+    private static void writeAtomically(Path target, String content) throws IOException {
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        Files.writeString(part, content);
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 🖨️ One line per operation, latencies in microseconds
+    public static String text() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SwiftBank metrics at ").append(Instant.now()).append(enabled ? "" : " (recording off)").append('\n');
+        sb.append(String.format("%-15s %9s %7s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "rejected", "mean µs", "p50 µs", "p99 µs", "p99.9 µs", "max µs"));
+        for (Op op : OPS.values()) {
+            sb.append(String.format("%-15s %9d %7d %8d %9.1f %9d %9d %9d %9d%n", op.name, op.getCount(), op.getErrors(),
+                    op.getRejected(), op.getMeanMicros(), op.getP50Micros(), op.getP99Micros(), op.getP999Micros(), op.getMaxMicros()));
+        }
+        sb.append(String.format("sqlErrors=%d rowsRead=%d profileCacheHits=%d%n",
+                sqlErrors.sum(), rowsRead.sum(), profileCacheHits.sum()));
+        String error = lastError;
+        if (error != null) sb.append("lastError=").append(error).append('\n');
+        return sb.toString();
+    }
+
+    public static String json() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("{\"timestamp\":\"").append(Instant.now()).append("\",\"enabled\":").append(enabled).append(",\"operations\":{");
+        boolean first = true;
+        for (Op op : OPS.values()) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append('"').append(op.name).append("\":{\"count\":").append(op.getCount())
+                    .append(",\"errors\":").append(op.getErrors())
+                    .append(",\"rejected\":").append(op.getRejected())
+                    .append(",\"meanMicros\":").append(String.format(Locale.ROOT, "%.1f", op.getMeanMicros()))
+                    .append(",\"p50Micros\":").append(op.getP50Micros())
+                    .append(",\"p99Micros\":").append(op.getP99Micros())
+                    .append(",\"p999Micros\":").append(op.getP999Micros())
+                    .append(",\"maxMicros\":").append(op.getMaxMicros()).append('}');
+        }
+        sb.append("},\"sqlErrors\":").append(sqlErrors.sum())
+                .append(",\"rowsRead\":").append(rowsRead.sum())
+                .append(",\"profileCacheHits\":").append(profileCacheHits.sum())
+                .append(",\"lastError\":");
+        String error = lastError;
+        if (error == null) sb.append("null");
+        else quote(sb, error);
+        return sb.append("}\n").toString();
+    }
+
+    private static void quote(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    public static void reset() {
+        for (Op op : OPS.values()) op.reset();
+        sqlErrors.reset();
+        rowsRead.reset();
+        profileCacheHits.reset();
+        lastError = null;
+    }
+
+    public static Op get(String name) {
+        return OPS.get(name);
+    }
+
+    // 🔌 JMX views; MXBeans, so jconsole and any JMX client read them without our classes
+    public interface OperationMXBean {
+        long getCount();
+        long getErrors();
+        long getRejected();
+        double getMeanMicros();
+        long getP50Micros();
+        long getP99Micros();
+        long getP999Micros();
+        long getMaxMicros();
+        void reset();
+    }
+
+    public interface MetricsMXBean {
+        long getSqlErrors();
+        long getRowsRead();
+        long getProfileCacheHits();
+        String getLastError();
+        String getText();
+        String getJson();
+        void reset();
+    }
+
+    private static final class Summary implements MetricsMXBean {
+        @Override public long getSqlErrors() { return sqlErrors.sum(); }
+        @Override public long getRowsRead() { return rowsRead.sum(); }
+        @Override public long getProfileCacheHits() { return profileCacheHits.sum(); }
+        @Override public String getLastError() { return lastError; }
+        @Override public String getText() { return text(); }
+        @Override public String getJson() { return json(); }
+        @Override public void reset() { Metrics.reset(); }
+    }
+
+    // ⏱️ One operation: latency of every call, plus failures (SQL or runtime) and rejections
+    // (insufficient funds, throttled, bad input: the operation worked, the answer was no)
+    public static final class Op implements OperationMXBean {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+
+        private Op(String name) {
+            this.name = name;
+        }
+
+        public <T> T ok(long start, T result) {
+            if (start != 0) record(System.nanoTime() - start);
+            return result;
+        }
+
+        public void rejected(long start, Throwable e) {
+            if (start == 0) return;
+            record(System.nanoTime() - start);
+            rejections.increment();
+        }
+
+        public void failed(long start, Throwable e) {
+            if (start != 0) record(System.nanoTime() - start);
+            error(e);
+        }
+
+        // Failure without a duration (a pool timeout, an async error seen elsewhere)
+        public void error(Throwable e) {
+            errors.increment();
+            if (e instanceof SQLException) sqlError(name, e);
+        }
+
+        public void record(long nanos) {
+            if (!enabled) return;
+            latency.record(nanos);
+            if (SLOW_NANOS > 0 && nanos > SLOW_NANOS)
+                System.err.printf("🐢 %s took %.1f ms on %s%n", name, nanos / 1e6, Thread.currentThread().getName());
+        }
+
+        // 📦 Ledger postings complete later: timed until the future settles
+        public <T> CompletableFuture<T> async(long start, CompletableFuture<T> future) {
+            future.whenComplete((v, ex) -> {
+                if (ex == null) {
+                    ok(start, v);
+                    return;
+                }
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                if (isRejection(cause)) rejected(start, cause);
+                else failed(start, cause instanceof LedgerService.PostingDeferredException && cause.getCause() != null
+                        ? cause.getCause() : cause);
+            });
+            return future;
+        }
+
+        static boolean isRejection(Throwable e) {
+            return e instanceof LedgerService.InsufficientFundsException || e instanceof LedgerService.UnknownAccountException
+                    || e instanceof LoginThrottle.ThrottledException || e instanceof IllegalArgumentException;
+        }
+
+        public String getName() { return name; }
+        @Override public long getCount() { return latency.getTotalCount(); }
+        @Override public long getErrors() { return errors.sum(); }
+        @Override public long getRejected() { return rejections.sum(); }
+        @Override public double getMeanMicros() { return latency.getMean() / 1e3; }
+        @Override public long getP50Micros() { return latency.getValueAtPercentile(50) / 1000; }
+        @Override public long getP99Micros() { return latency.getValueAtPercentile(99) / 1000; }
+        @Override public long getP999Micros() { return latency.getValueAtPercentile(99.9) / 1000; }
+        @Override public long getMaxMicros() { return latency.getMaxValue() / 1000; }
+
+        @Override
+        public void reset() {
+            latency.reset();
+            errors.reset();
+            rejections.reset();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[count=%d, errors=%d, rejected=%d, p50=%dµs, p99=%dµs, max=%dµs]",
+                    name, getCount(), getErrors(), getRejected(), getP50Micros(), getP99Micros(), getMaxMicros());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.management.ObjectName;
+
+// ⏱️ What the metrics layer costs. First the price of one timed call (start + ok) against the same
+// loop with recording off, single-threaded and contended. Then real BankService operations with
+// recording on, whose p50 is the denominator: overhead = cost per call / p50 of the operation, and
+// every operation must stay under 1%. A wall-clock A/B of the history hot path (recording on vs
+// off, interleaved rounds) is printed alongside. Also checks the JMX beans and the dump files.
+// Exits 1 on failure:
+//   java -Dswiftbank.db.url="jdbc:h2:mem:bank;DB_CLOSE_DELAY=-1" -Dswiftbank.db.driver=org.h2.Driver \
+//        -Dswiftbank.db.user=sa -Dswiftbank.auth.iterations=1000 MetricsOverheadBenchmark
+public class MetricsOverheadBenchmark {
+    private static final int CALLS = Integer.getInteger("calls", 5_000_000);
+    private static final int OPERATIONS = Integer.getInteger("operations", 2_000);
+    private static final int ROUNDS = Integer.getInteger("rounds", 7);
+    private static final double BUDGET_PERCENT = 1.0;
+    private static int failures;
+    private static long sink;
+
+    public static void main(String[] args) throws Exception {
+        double single = costPerCall(1), contended = costPerCall(4);
+        System.out.printf("⏱️ One timed call: %.1f ns single-threaded, %.1f ns with 4 threads%n", single, contended);
+        double cost = Math.max(single, contended);
+
+        BankServiceHarness.createSchema();
+        List<String> accountNos = BankServiceHarness.seedAccounts(50, Money.parse("100000"));
+        BankService bank = BankService.getInstance();
+        Metrics.start(true);
+        workload(bank, accountNos); // warm up
+        Metrics.reset();
+        workload(bank, accountNos);
+
+        System.out.printf("%-15s %9s %9s %10s%n", "operation", "count", "p50 µs", "overhead");
+        for (String name : new String[]{"login", "deposit", "withdraw", "transfer", "history", "profile", "summary",
+                "changePassword", "poolWait"}) {
+            Metrics.Op op = Metrics.get(name);
+            long p50Nanos = op.getP50Micros() * 1000;
+            if (name.equals("poolWait")) {
+                // Not an operation of its own: recorded inside the others, whose overhead it already is
+                System.out.printf("%-15s %9d %9d %10s%n", name, op.getCount(), op.getP50Micros(), "(inside)");
+                continue;
+            }
+            check(op.getCount() > 0, name + " was never timed");
+            // Two records per operation: its own and the connection borrow inside it
+            double percent = 100.0 * cost * 2 / Math.max(1, p50Nanos);
+            System.out.printf("%-15s %9d %9d %9.3f%%%n", name, op.getCount(), op.getP50Micros(), percent);
+            check(percent < BUDGET_PERCENT, name + " overhead " + String.format("%.3f%%", percent) + " is over budget");
+        }
+
+        abTest(bank, accountNos);
+        exports();
+        System.out.println(failures == 0 ? "✅ Metrics overhead under " + BUDGET_PERCENT + "%" : "❌ " + failures + " problem(s)");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // 🔬 ns per start()+ok() with recording on, minus the same loop with it off
+    private static double costPerCall(int threads) throws Exception {
+        Metrics.Op op = Metrics.get("summary");
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            Metrics.setEnabled(false);
+            long off = loop(op, threads);
+            Metrics.setEnabled(true);
+            long on = loop(op, threads);
+            best = Math.min(best, (on - off) / (double) CALLS);
+        }
+        op.reset();
+        return Math.max(0, best);
+    }
+
+    private static long loop(Metrics.Op op, int threads) throws Exception {
+        int share = CALLS / threads;
+        List<Thread> workers = new ArrayList<>();
+        long t0 = System.nanoTime();
+        for (int w = 0; w < threads; w++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                long local = 0;
+                for (int i = 0; i < share; i++) local += op.ok(Metrics.start(), i);
+                sink += local;
+            }));
+        }
+        for (Thread t : workers) t.join();
+        return System.nanoTime() - t0;
+    }
+
+    // 🏦 Every timed operation, most of them many times
+    private static void workload(BankService bank, List<String> accountNos) throws Exception {
+        List<CompletableFuture<Money>> postings = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            String accountNo = accountNos.get(i % accountNos.size());
+            bank.recentHistory(accountNo, 10);
+            bank.summary(accountNo);
+            if (i % 4 == 0) {
+                AccountSnapshotCache.getInstance().invalidate(accountNo);
+                bank.snapshot(accountNo);
+            }
+            if (i % 10 == 0) bank.transfer(accountNo, accountNos.get((i + 1) % accountNos.size()), Money.parse("1.00"));
+            postings.add(i % 2 == 0 ? bank.deposit(accountNo, Money.parse("2.00")) : bank.withdraw(accountNo, Money.parse("1.00")));
+            if (postings.size() == 64) {
+                for (CompletableFuture<Money> f : postings) f.join();
+                postings.clear();
+            }
+        }
+        for (CompletableFuture<Money> f : postings) f.join();
+        for (int i = 0; i < 20; i++) {
+            String accountNo = accountNos.get(i);
+            BankServiceHarness.loginWithRetry(bank, accountNo);
+            bank.changePassword(accountNo, BankServiceHarness.PASSWORD, BankServiceHarness.PASSWORD);
+        }
+    }
+
+    // ⚖️ History reads with recording on and off, interleaved so drift hits both sides
+    private static void abTest(BankService bank, List<String> accountNos) throws Exception {
+        long[] on = new long[ROUNDS], off = new long[ROUNDS];
+        for (int r = 0; r < ROUNDS; r++) {
+            Metrics.setEnabled(r % 2 == 0);
+            long first = historyRound(bank, accountNos);
+            Metrics.setEnabled(r % 2 != 0);
+            long second = historyRound(bank, accountNos);
+            on[r] = r % 2 == 0 ? first : second;
+            off[r] = r % 2 == 0 ? second : first;
+        }
+        Metrics.setEnabled(true);
+        Arrays.sort(on);
+        Arrays.sort(off);
+        double medianOn = on[ROUNDS / 2] / (double) OPERATIONS, medianOff = off[ROUNDS / 2] / (double) OPERATIONS;
+        System.out.printf("⚖️ history wall clock: %.1f µs/op recording, %.1f µs/op off (%+.2f%%, run-to-run noise included)%n",
+                medianOn / 1e3, medianOff / 1e3, 100 * (medianOn - medianOff) / medianOff);
+    }
+
+    private static long historyRound(BankService bank, List<String> accountNos) throws Exception {
+        long t0 = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) sink += bank.recentHistory(accountNos.get(i % accountNos.size()), 10).size();
+        return System.nanoTime() - t0;
+    }
+
+    // 🔌 JMX beans answer, and the dump writes both formats
+    private static void exports() throws Exception {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        Object count = server.getAttribute(new ObjectName("swiftbank:type=Operation,name=history"), "Count");
+        Object rows = server.getAttribute(new ObjectName("swiftbank:type=Metrics"), "RowsRead");
+        check(count instanceof Long c && c > 0, "JMX history count is " + count);
+        check(rows instanceof Long r && r > 0, "JMX rows read is " + rows);
+        Path dir = Files.createTempDirectory("swiftbank-metrics");
+        Metrics.dump(dir);
+        String json = Files.readString(dir.resolve("metrics.json"));
+        check(json.startsWith("{") && json.contains("\"history\":{\"count\":"), "metrics.json looks wrong: " + json);
+        System.out.println("📊 JMX swiftbank:type=Operation,name=history Count=" + count + ", dump in " + dir);
+        System.out.print(Files.readString(dir.resolve("metrics.txt")));
+    }
+
+    private static void check(boolean ok, String what) {
+        if (ok) return;
+        failures++;
+        System.out.println("❌ " + what);
+    }
+}
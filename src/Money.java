@@ -0,0 +1,144 @@
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 💰 Fixed-point money: a long count of minor units (paise for INR) plus its currency.
+// The static *Minor helpers work on raw longs so hot paths need not allocate at all.
+public final class Money implements Comparable<Money> {
+    public static final Currency INR = Currency.getInstance("INR");
+    public static final Money ZERO = new Money(0, INR);
+
+    private static final long[] POW10 = {1, 10, 100, 1_000, 10_000};
+    private static final Map<Currency, String> SYMBOLS = new ConcurrentHashMap<>(); // getSymbol() is a locale lookup
+
+    private final long minor;
+    private final Currency currency;
+
+    private Money(long minor, Currency currency) {
+        this.minor = minor;
+        this.currency = currency;
+    }
+
+    public static Money ofMinor(long minor) {
+        return new Money(minor, INR);
+    }
+
+    public static Money ofMinor(long minor, Currency currency) {
+        return new Money(minor, currency);
+    }
+
+    // 🗄️ From a DECIMAL column; rejects values with more precision than the currency allows
+    public static Money of(BigDecimal amount) {
+        if (amount == null) return ZERO;
+        return new Money(amount.movePointRight(scale(INR)).longValueExact(), INR);
+    }
+
+    // ⌨️ From user input such as "250", "99.5" or "1,000.75"
+    public static Money parse(String text) {
+        return new Money(parseMinor(text, scale(INR)), INR);
+    }
+
+    public long getMinor() { return minor; }
+    public Currency getCurrency() { return currency; }
+    public boolean isPositive() { return minor > 0; }
+    public boolean isNegative() { return minor < 0; }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.addExact(minor, other.minor), currency);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.subtractExact(minor, other.minor), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minor), currency);
+    }
+
+    // 🗄️ For ps.setBigDecimal(...)
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, scale(currency));
+    }
+
+    // "1234.50" without the currency symbol (table cells, CSV)
+    public String toPlainString() {
+        return appendMinor(new StringBuilder(24), minor, scale(currency)).toString();
+    }
+
+    // "₹1234.50"
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(24).append(SYMBOLS.computeIfAbsent(currency, Currency::getSymbol));
+        return appendMinor(sb, minor, scale(currency)).toString();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money m && m.minor == minor && m.currency.equals(currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minor) * 31 + currency.hashCode();
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency))
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+    }
+
+    private static int scale(Currency currency) {
+        return Math.max(0, currency.getDefaultFractionDigits());
+    }
+
+    // ---------- Allocation-free helpers on raw minor units ----------
+
+    public static long parseMinor(CharSequence text, int scale) {
+        int len = text.length(), i = 0;
+        while (i < len && Character.isWhitespace(text.charAt(i))) i++;
+        while (len > i && Character.isWhitespace(text.charAt(len - 1))) len--;
+        boolean negative = i < len && text.charAt(i) == '-';
+        if (negative || (i < len && text.charAt(i) == '+')) i++;
+
+        long units = 0;
+        int fractionDigits = -1, digits = 0;
+        for (; i < len; i++) {
+            char c = text.charAt(i);
+            if (c == ',' && fractionDigits < 0) continue;
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') throw new NumberFormatException("Invalid amount: " + text);
+            if (fractionDigits >= 0 && ++fractionDigits > scale)
+                throw new NumberFormatException("Too many decimal places: " + text);
+            units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+            digits++;
+        }
+        if (digits == 0) throw new NumberFormatException("Invalid amount: " + text);
+        units = Math.multiplyExact(units, POW10[scale - Math.max(fractionDigits, 0)]);
+        return negative ? -units : units;
+    }
+
+    public static StringBuilder appendMinor(StringBuilder sb, long minor, int scale) {
+        if (minor < 0) {
+            sb.append('-');
+            minor = -minor;
+        }
+        if (scale == 0) return sb.append(minor);
+        long factor = POW10[scale];
+        sb.append(minor / factor).append('.');
+        long fraction = minor % factor;
+        for (long p = factor / 10; p > fraction && p > 1; p /= 10) sb.append('0');
+        return sb.append(fraction);
+    }
+}
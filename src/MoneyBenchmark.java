@@ -0,0 +1,78 @@
+import java.math.BigDecimal;
+
+// ⏱️ Throughput comparison of long minor units (Money), double and BigDecimal for
+// deposit/withdraw/format. Plain main-method harness; run with a warmed-up JVM, e.g.
+//   java MoneyBenchmark [iterations]
+public class MoneyBenchmark {
+    private static volatile Object sink; // keeps results alive so the JIT cannot drop the loops
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        for (int round = 1; round <= 3; round++) {
+            System.out.println("— Round " + round + " —");
+            report("long minor units  deposit/withdraw", iterations, MoneyBenchmark::longPostings);
+            report("double            deposit/withdraw", iterations, MoneyBenchmark::doublePostings);
+            report("BigDecimal        deposit/withdraw", iterations, MoneyBenchmark::bigDecimalPostings);
+            report("long minor units  format", iterations, MoneyBenchmark::longFormat);
+            report("double            format", iterations, MoneyBenchmark::doubleFormat);
+            report("BigDecimal        format", iterations, MoneyBenchmark::bigDecimalFormat);
+        }
+    }
+
+    private static void report(String name, int iterations, java.util.function.IntFunction<Object> body) {
+        long start = System.nanoTime();
+        sink = body.apply(iterations);
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-40s %8.1f Mops/s%n", name, iterations / (nanos / 1000.0));
+    }
+
+    private static Object longPostings(int n) {
+        long balance = 0, deposit = Money.parseMinor("125.75", 2), withdrawal = Money.parseMinor("99.10", 2);
+        for (int i = 0; i < n; i++) {
+            balance = Math.addExact(balance, deposit);
+            if (withdrawal <= balance) balance -= withdrawal;
+        }
+        return balance;
+    }
+
+    private static Object doublePostings(int n) {
+        double balance = 0, deposit = 125.75, withdrawal = 99.10;
+        for (int i = 0; i < n; i++) {
+            balance += deposit;
+            if (withdrawal <= balance) balance -= withdrawal;
+        }
+        return balance;
+    }
+
+    private static Object bigDecimalPostings(int n) {
+        BigDecimal balance = BigDecimal.ZERO, deposit = new BigDecimal("125.75"), withdrawal = new BigDecimal("99.10");
+        for (int i = 0; i < n; i++) {
+            balance = balance.add(deposit);
+            if (withdrawal.compareTo(balance) <= 0) balance = balance.subtract(withdrawal);
+        }
+        return balance;
+    }
+
+    private static Object longFormat(int n) {
+        StringBuilder sb = new StringBuilder(32);
+        int len = 0;
+        for (int i = 0; i < n; i++) {
+            sb.setLength(0);
+            Money.appendMinor(sb, 12_345_678L + i, 2);
+            len += sb.length();
+        }
+        return len;
+    }
+
+    private static Object doubleFormat(int n) {
+        int len = 0;
+        for (int i = 0; i < n; i++) len += String.format("%.2f", 123456.78 + i).length();
+        return len;
+    }
+
+    private static Object bigDecimalFormat(int n) {
+        int len = 0;
+        for (int i = 0; i < n; i++) len += BigDecimal.valueOf(12_345_678L + i, 2).toPlainString().length();
+        return len;
+    }
+}
@@ -0,0 +1,187 @@
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 🔐 Checks passwords against salted PBKDF2 hashes. Order of work per attempt, cheapest first:
+// per-account throttle (memory only) → credential lookup (LRU cache, else one indexed query) →
+// hashing on a small bounded executor. A login storm therefore queues on a few hashing threads
+// and is turned away when the queue is full, instead of taking every core from the rest of the app.
+public class PasswordAuthenticator {
+    private static final int ITERATIONS = Integer.getInteger("swiftbank.auth.iterations", 310_000);
+    private static final int THREADS = Integer.getInteger("swiftbank.auth.threads",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    private static final int QUEUE = Integer.getInteger("swiftbank.auth.queue", 64);
+    private static final int CACHE_ENTRIES = Integer.getInteger("swiftbank.auth.cacheEntries", 1024);
+    private static final long CACHE_TTL_MS = Long.getLong("swiftbank.auth.cacheTtlMs", TimeUnit.MINUTES.toMillis(5));
+    private static final PasswordAuthenticator INSTANCE = new PasswordAuthenticator(new PasswordHasher(ITERATIONS), THREADS, QUEUE);
+
+    private record Credential(int customerId, String stored, long loadedAt) {
+    }
+
+    private final PasswordHasher hasher;
+    private final LoginThrottle throttle = new LoginThrottle();
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Credential> credentials;
+    private volatile String dummyHash;
+
+    // 📊 Counters
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder credentialHits = new LongAdder();
+
+    public static PasswordAuthenticator getInstance() {
+        return INSTANCE;
+    }
+
+    PasswordAuthenticator(PasswordHasher hasher, int threads, int queue) {
+        this.hasher = hasher;
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue), r -> {
+                    Thread t = new Thread(r, "swiftbank-auth-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.credentials = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Credential> eldest) {
+                return size() > CACHE_ENTRIES;
+            }
+        };
+    }
+
+    public PasswordHasher getHasher() { return hasher; }
+
+    // ✅ True when the password matches; legacy or under-cost hashes are upgraded in the background
+    public boolean authenticate(String accountNo, String password) throws SQLException, LoginThrottle.ThrottledException {
+        Credential c = check(accountNo, password);
+        if (c == null) return false;
+        if (hasher.needsRehash(c.stored)) upgradeLater(accountNo, c, password);
+        return true;
+    }
+
+    // 🔒 Verifies the old password, then stores a fresh hash of the new one
+    public boolean changePassword(String accountNo, String oldPassword, String newPassword)
+            throws SQLException, LoginThrottle.ThrottledException {
+        Credential c = check(accountNo, oldPassword);
+        if (c == null) return false;
+        String hashed = onExecutor(() -> hasher.hash(newPassword));
+        boolean changed = store(c, hashed);
+        invalidate(accountNo);
+        return changed;
+    }
+
+    // The matching credential, or null (and one more strike against the account)
+    private Credential check(String accountNo, String password) throws SQLException, LoginThrottle.ThrottledException {
+        throttle.check(accountNo);
+        Credential c = credential(accountNo);
+        // Unknown accounts still pay for one hash, so timing does not reveal which numbers exist
+        boolean ok = verify(password, c != null ? c.stored : dummyHash()) && c != null;
+        if (!ok) {
+            throttle.failure(accountNo);
+            invalidate(accountNo); // the cached hash may be stale after a change elsewhere
+            return null;
+        }
+        throttle.success(accountNo);
+        return c;
+    }
+
+    private boolean verify(String password, String stored) throws LoginThrottle.ThrottledException {
+        verifications.increment();
+        return onExecutor(() -> hasher.verify(password, stored));
+    }
+
+    private <T> T onExecutor(Callable<T> work) throws LoginThrottle.ThrottledException {
+        Future<T> f;
+        try {
+            f = executor.submit(work);
+        } catch (RejectedExecutionException e) {
+            throttled.increment();
+            throw new LoginThrottle.ThrottledException("Sign-in is busy right now. Please try again shortly.", 1000);
+        }
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            f.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Sign-in cancelled");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Best effort: a full queue just means the upgrade happens on a later login
+    private void upgradeLater(String accountNo, Credential c, String password) {
+        try {
+            executor.execute(() -> {
+                try {
+                    if (store(c, hasher.hash(password))) invalidate(accountNo);
+                } catch (SQLException e) {
+                    System.err.println("⚠️ Password hash upgrade failed for " + accountNo + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    // Compare-and-set on the old hash so a concurrent change is never overwritten
+    private static boolean store(Credential c, String hashed) throws SQLException {
+        try (Connection con = connect(); PreparedStatement ps = con.prepareStatement(Sql.CHANGE_PASSWORD.text())) {
+            ps.setString(1, hashed);
+            ps.setInt(2, c.customerId);
+            ps.setString(3, c.stored);
+            return ps.executeUpdate() > 0;
+        }
+    }
+
+    private Credential credential(String accountNo) throws SQLException {
+        synchronized (this) {
+            Credential c = credentials.get(accountNo);
+            if (c != null && System.currentTimeMillis() - c.loadedAt < CACHE_TTL_MS) {
+                credentialHits.increment();
+                return c;
+            }
+        }
+        try (Connection con = connect(); PreparedStatement ps = con.prepareStatement(Sql.LOAD_CREDENTIAL.text())) {
+            ps.setString(1, accountNo);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+                Credential c = new Credential(rs.getInt(1), rs.getString(2), System.currentTimeMillis());
+                synchronized (this) {
+                    credentials.put(accountNo, c);
+                }
+                return c;
+            }
+        }
+    }
+
+    public synchronized void invalidate(String accountNo) {
+        credentials.remove(accountNo);
+    }
+
+    private String dummyHash() throws LoginThrottle.ThrottledException {
+        String h = dummyHash;
+        if (h == null) dummyHash = h = onExecutor(() -> hasher.hash("not-a-real-password"));
+        return h;
+    }
+
+    private static Connection connect() throws SQLException {
+        Connection con = DBConnection.getConnection();
+        if (con == null) throw new SQLException("Database connection failed.");
+        return con;
+    }
+
+    public long getVerificationCount() { return verifications.sum(); }
+    public long getThrottledCount() { return throttled.sum(); }
+    public long getCredentialHitCount() { return credentialHits.sum(); }
+
+    @Override
+    public String toString() {
+        return String.format("PasswordAuthenticator[iterations=%d, threads=%d, queued=%d, verifications=%d, throttled=%d, credentialHits=%d]",
+                hasher.getIterations(), executor.getMaximumPoolSize(), executor.getQueue().size(),
+                getVerificationCount(), getThrottledCount(), getCredentialHitCount());
+    }
+}
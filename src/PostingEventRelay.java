@@ -0,0 +1,235 @@
+import java.io.*;
+import java.net.*;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// 🛰️ Carries posting events between app instances on this machine over loopback TCP. Whichever
+// instance binds 127.0.0.1:<port> first is the hub; the rest connect to it. The hub delivers what
+// a client sends and forwards it to every other client (never back to the sender); when the hub
+// goes away the clients race to take its place. Each connection has a bounded outbound queue
+// drained by its own writer thread, so a slow or stuck peer never stalls a posting commit: when
+// the queue is full the frame is dropped and the peer is sent a gap, which makes its dashboards
+// reload. A reconnect is a gap for every local subscriber, since postings may have been missed.
+final class PostingEventRelay implements AutoCloseable {
+    private static final int QUEUE = Integer.getInteger("swiftbank.events.relayQueue", 4096);
+    private static final long RETRY_MS = 200;
+    private static final byte EVENT = 1, GAP = 2;
+    private static final String ALL = "";
+
+    private final PostingEvents bus;
+    private final int port;
+    private final Set<Peer> peers = ConcurrentHashMap.newKeySet();
+    private final Thread thread;
+    private volatile boolean closed, hub;
+    private volatile ServerSocket server;
+    private volatile Socket client;
+
+    // 📊 Counters
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+
+    private PostingEventRelay(PostingEvents bus, int port) {
+        this.bus = bus;
+        this.port = port;
+        thread = new Thread(this::run, "swiftbank-event-relay");
+        thread.setDaemon(true);
+    }
+
+    static PostingEventRelay start(PostingEvents bus, int port) {
+        PostingEventRelay relay = new PostingEventRelay(bus, port);
+        relay.thread.start();
+        return relay;
+    }
+
+    void send(PostingEvents.Event e) {
+        for (Peer p : peers) p.offer(e);
+    }
+
+    void sendGap(String accountNo) {
+        PostingEvents.Event gap = gapFrame(accountNo);
+        for (Peer p : peers) p.offer(gap);
+    }
+
+    private void run() {
+        boolean joined = false;
+        while (!closed) {
+            try (ServerSocket s = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+                server = s;
+                hub = true;
+                if (joined) rejoined();
+                joined = true;
+                while (!closed) {
+                    Socket socket = s.accept();
+                    socket.setTcpNoDelay(true);
+                    Peer peer = new Peer(socket);
+                    peers.add(peer);
+                    Thread.ofVirtual().name("swiftbank-event-peer").start(peer::read);
+                }
+            } catch (BindException taken) {
+                // 🔌 Another instance is the hub
+                hub = false;
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                    socket.setTcpNoDelay(true);
+                    client = socket;
+                    if (joined) rejoined();
+                    joined = true;
+                    Peer peer = new Peer(socket);
+                    peers.add(peer);
+                    peer.read(); // until the hub goes away
+                } catch (IOException e) {
+                    pause();
+                }
+            } catch (IOException e) {
+                pause();
+            } finally {
+                hub = false;
+                server = null;
+                client = null;
+            }
+        }
+    }
+
+    // Postings from other instances may have gone past while we were disconnected
+    private void rejoined() {
+        reconnects.increment();
+        bus.deliverGap(null);
+    }
+
+    private void pause() {
+        if (closed) return;
+        try {
+            Thread.sleep(RETRY_MS + ThreadLocalRandom.current().nextLong(RETRY_MS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void received(Peer from, PostingEvents.Event e) {
+        received.increment();
+        if (e.type() == null) bus.deliverGap(e.accountNo().equals(ALL) ? null : e.accountNo());
+        else bus.deliver(e);
+        if (hub) for (Peer p : peers) if (p != from) p.offer(e);
+    }
+
+    // A gap travels as an event without a type
+    private static PostingEvents.Event gapFrame(String accountNo) {
+        return new PostingEvents.Event(accountNo == null ? ALL : accountNo, null, null, null, 0);
+    }
+
+    boolean isHub() {
+        return hub;
+    }
+
+    int peerCount() {
+        return peers.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(server);
+        closeQuietly(client);
+        for (Peer p : peers) p.close();
+        thread.interrupt();
+    }
+
+    private static void closeQuietly(Closeable c) {
+        if (c == null) return;
+        try {
+            c.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    // 🔗 One connection: frames in on the reading thread, frames out on its own writer thread
+    private final class Peer {
+        private final Socket socket;
+        private final BlockingQueue<PostingEvents.Event> outbound = new ArrayBlockingQueue<>(QUEUE);
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final Thread writer;
+
+        Peer(Socket socket) {
+            this.socket = socket;
+            writer = Thread.ofVirtual().name("swiftbank-event-writer").start(this::write);
+        }
+
+        void offer(PostingEvents.Event e) {
+            if (!outbound.offer(e)) {
+                overflows.increment();
+                overflowed.set(true);
+            }
+        }
+
+        private void write() {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+                while (!socket.isClosed()) {
+                    PostingEvents.Event e = outbound.poll(1, TimeUnit.SECONDS);
+                    if (e != null) writeFrame(out, e);
+                    // 🕳️ Frames were dropped for this peer: everything it has open must reload
+                    if (overflowed.getAndSet(false)) {
+                        outbound.clear();
+                        writeFrame(out, gapFrame(null));
+                    }
+                    if (outbound.isEmpty()) out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                close();
+            }
+        }
+
+        private void writeFrame(DataOutputStream out, PostingEvents.Event e) throws IOException {
+            sent.increment();
+            if (e.type() == null) {
+                out.writeByte(GAP);
+                out.writeUTF(e.accountNo());
+                return;
+            }
+            out.writeByte(EVENT);
+            out.writeUTF(e.accountNo());
+            out.writeUTF(e.type());
+            out.writeLong(e.amount().getMinor());
+            out.writeLong(e.balance().getMinor());
+            out.writeLong(e.epochMillis());
+        }
+
+        void read() {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+                while (true) {
+                    byte kind = in.readByte();
+                    String accountNo = in.readUTF();
+                    if (kind == GAP) {
+                        received(this, gapFrame(accountNo));
+                        continue;
+                    }
+                    if (kind != EVENT) throw new IOException("Unknown frame " + kind);
+                    received(this, new PostingEvents.Event(accountNo, in.readUTF(),
+                            Money.ofMinor(in.readLong()), Money.ofMinor(in.readLong()), in.readLong()));
+                }
+            } catch (IOException e) {
+                // EOF or reset: the peer is gone
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            peers.remove(this);
+            closeQuietly(socket);
+            writer.interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("relay[%s :%d, peers=%d, sent=%d, received=%d, overflows=%d, reconnects=%d]",
+                hub ? "hub" : "client", port, peerCount(), sent.sum(), received.sum(), overflows.sum(), reconnects.sum());
+    }
+}
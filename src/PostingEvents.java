@@ -0,0 +1,209 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// 📡 Committed postings, published per account_no to whoever has that account open. The ledger
+// publishes after each commit; dashboards subscribe and apply the postings in place instead of
+// polling. publish() never blocks: each subscription has a bounded mailbox and at most one pending
+// delivery on its executor, so a burst reaches a busy subscriber as one batch. When a mailbox
+// overflows the oldest postings are dropped and the next batch is marked as a gap, which tells
+// the subscriber to reload from the database.
+//
+// With -Dswiftbank.events.port=<port>, PostingEventRelay carries the postings to the other app
+// instances on this machine as well.
+public final class PostingEvents {
+    private static final int MAILBOX = Integer.getInteger("swiftbank.events.mailbox", 256);
+    private static final int RELAY_PORT = Integer.getInteger("swiftbank.events.port", 0);
+    private static final PostingEvents INSTANCE = new PostingEvents(MAILBOX);
+
+    public record Event(String accountNo, String type, Money amount, Money balance, long epochMillis) {
+    }
+
+    // Postings in publish order; gap = some were missed, reload instead of applying them
+    public record Batch(List<Event> events, boolean gap) {
+    }
+
+    private final int mailbox;
+    private final Map<String, List<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private volatile PostingEventRelay relay;
+
+    // 📊 Counters
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public static PostingEvents getInstance() {
+        return INSTANCE;
+    }
+
+    PostingEvents(int mailbox) {
+        this.mailbox = mailbox;
+    }
+
+    // ▶️ Joins the other instances when a relay port is configured
+    public synchronized void start() {
+        if (RELAY_PORT > 0 && relay == null) relay = PostingEventRelay.start(this, RELAY_PORT);
+    }
+
+    // For harnesses that run several buses in one JVM
+    synchronized PostingEventRelay startRelay(int port) {
+        if (relay == null) relay = PostingEventRelay.start(this, port);
+        return relay;
+    }
+
+    // 🔔 Batches for `accountNo` run on `executor` (SwingUtilities::invokeLater for the UI)
+    public Subscription subscribe(String accountNo, Executor executor, Consumer<Batch> listener) {
+        Subscription s = new Subscription(accountNo, executor, listener);
+        subscribers.compute(accountNo, (k, list) -> {
+            if (list == null) list = new CopyOnWriteArrayList<>();
+            list.add(s);
+            return list;
+        });
+        return s;
+    }
+
+    // ✍️ After commit; local subscribers and, with a relay, the other instances
+    public void publish(Event e) {
+        published.increment();
+        deliver(e);
+        PostingEventRelay r = relay;
+        if (r != null) r.send(e);
+    }
+
+    // ✍️ One commit's postings in order, balance left null: each gets the balance right after it,
+    // worked back from the committed balance of its account
+    public void publishCommitted(List<Event> postings, Map<String, Money> balances) {
+        if (subscribers.isEmpty() && relay == null) {
+            published.add(postings.size());
+            return;
+        }
+        Event[] events = new Event[postings.size()];
+        Map<String, Long> after = new HashMap<>();
+        for (int i = events.length - 1; i >= 0; i--) {
+            Event p = postings.get(i);
+            Money committed = balances.get(p.accountNo);
+            if (committed == null) continue;
+            long balance = after.getOrDefault(p.accountNo, committed.getMinor());
+            events[i] = new Event(p.accountNo, p.type, p.amount, Money.ofMinor(balance), p.epochMillis);
+            long delta = LedgerService.isCredit(p.type) ? p.amount.getMinor()
+                    : LedgerService.isDebit(p.type) ? -p.amount.getMinor() : 0;
+            after.put(p.accountNo, balance - delta);
+        }
+        for (Event e : events) if (e != null) publish(e);
+    }
+
+    // 🕳️ Something changed that cannot be described as postings (e.g. a journal replay)
+    public void publishGap(String accountNo) {
+        deliverGap(accountNo);
+        PostingEventRelay r = relay;
+        if (r != null) r.sendGap(accountNo);
+    }
+
+    // Local delivery only (the relay calls these for postings from other instances)
+    void deliver(Event e) {
+        List<Subscription> list = subscribers.get(e.accountNo);
+        if (list != null) for (Subscription s : list) s.offer(e);
+    }
+
+    // null: every subscription (the relay lost contact and may have missed postings)
+    void deliverGap(String accountNo) {
+        if (accountNo == null) {
+            for (List<Subscription> list : subscribers.values()) for (Subscription s : list) s.gap();
+            return;
+        }
+        List<Subscription> list = subscribers.get(accountNo);
+        if (list != null) for (Subscription s : list) s.gap();
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final String accountNo;
+        private final Executor executor;
+        private final Consumer<Batch> listener;
+        private final ArrayDeque<Event> pending = new ArrayDeque<>();
+        private boolean gap, scheduled, closed;
+
+        private Subscription(String accountNo, Executor executor, Consumer<Batch> listener) {
+            this.accountNo = accountNo;
+            this.executor = executor;
+            this.listener = listener;
+        }
+
+        private void offer(Event e) {
+            synchronized (this) {
+                if (closed) return;
+                if (pending.size() == mailbox) {
+                    pending.pollFirst();
+                    gap = true;
+                    dropped.increment();
+                }
+                pending.addLast(e);
+                if (scheduled) return;
+                scheduled = true;
+            }
+            executor.execute(this::drain);
+        }
+
+        private void gap() {
+            synchronized (this) {
+                if (closed) return;
+                pending.clear();
+                gap = true;
+                if (scheduled) return;
+                scheduled = true;
+            }
+            executor.execute(this::drain);
+        }
+
+        // Everything queued since the last delivery, as one batch
+        private void drain() {
+            Batch batch;
+            synchronized (this) {
+                scheduled = false;
+                if (closed) return;
+                batch = new Batch(gap ? List.of() : new ArrayList<>(pending), gap);
+                pending.clear();
+                gap = false;
+            }
+            batches.increment();
+            delivered.add(batch.events.size());
+            try {
+                listener.accept(batch);
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ Posting listener for " + accountNo + " failed: " + e);
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+            subscribers.computeIfPresent(accountNo, (k, list) -> {
+                list.remove(this);
+                return list.isEmpty() ? null : list;
+            });
+        }
+    }
+
+    public long getPublishedCount() { return published.sum(); }
+    public long getDeliveredCount() { return delivered.sum(); }
+    public long getBatchCount() { return batches.sum(); }
+    public long getDroppedCount() { return dropped.sum(); }
+
+    @Override
+    public String toString() {
+        PostingEventRelay r = relay;
+        return String.format("PostingEvents[accounts=%d, published=%d, delivered=%d, batches=%d, dropped=%d%s]",
+                subscribers.size(), getPublishedCount(), getDeliveredCount(), getBatchCount(), getDroppedCount(),
+                r == null ? "" : ", " + r);
+    }
+}
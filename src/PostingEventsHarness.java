@@ -0,0 +1,189 @@
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 🧪 Exercises posting events. Part one bursts postings at a fast and a slow subscriber: the fast
+// one must see every posting in order, the slow one must get them coalesced into few batches or a
+// gap, and publish() must stay cheap. Part two runs three buses with loopback relays in one JVM:
+// postings reach the other instances exactly once, and when the hub goes away the rest reconnect
+// (with a gap) and keep delivering. Part three posts through the bank and checks that the last
+// event carries the database balance. Exits 1 on failure:
+//   java -Dswiftbank.db.url="jdbc:h2:mem:bank;DB_CLOSE_DELAY=-1" -Dswiftbank.db.driver=org.h2.Driver \
+//        -Dswiftbank.db.user=sa -Dswiftbank.auth.iterations=1000 PostingEventsHarness
+public class PostingEventsHarness {
+    private static final int BURST = Integer.getInteger("burst", 200_000);
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        burst();
+        relay();
+        bank();
+        System.out.println(failures == 0 ? "✅ Posting events delivered" : "❌ " + failures + " problem(s)");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // 💥 One publisher per account, a subscriber that keeps up and one that does not
+    private static void burst() throws Exception {
+        PostingEvents bus = new PostingEvents(256);
+        int threads = 4;
+        List<Long> fastSeen = Collections.synchronizedList(new ArrayList<>());
+        LongAdder slowEvents = new LongAdder(), slowBatches = new LongAdder(), slowGaps = new LongAdder();
+        ExecutorService slowExecutor = Executors.newSingleThreadExecutor();
+        PostingEvents.Subscription fast = bus.subscribe("A0", Runnable::run,
+                b -> b.events().forEach(e -> fastSeen.add(e.amount().getMinor())));
+        PostingEvents.Subscription slow = bus.subscribe("A1", slowExecutor, b -> {
+            slowBatches.increment();
+            slowEvents.add(b.events().size());
+            if (b.gap()) slowGaps.increment();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1)); // a busy EDT
+        });
+
+        long t0 = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int w = 0; w < threads; w++) {
+                String accountNo = "A" + w; // A2 and A3 have nobody listening
+                pool.submit(() -> {
+                    for (int i = 1; i <= BURST / threads; i++)
+                        bus.publish(new PostingEvents.Event(accountNo, "Deposit", Money.ofMinor(i), Money.ofMinor(i), 0));
+                });
+            }
+        }
+        double nsPerPublish = (System.nanoTime() - t0) / (double) BURST;
+        slowExecutor.shutdown();
+        slowExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+        int per = BURST / threads;
+        boolean ordered = fastSeen.size() == per;
+        for (int i = 0; ordered && i < per; i++) ordered = fastSeen.get(i) == i + 1;
+        check(ordered, "fast subscriber saw " + fastSeen.size() + " of " + per + " postings, or out of order");
+        check(slowBatches.sum() < per / 10, "slow subscriber got " + slowBatches.sum() + " batches for " + per + " postings");
+        check(slowEvents.sum() == per || slowGaps.sum() > 0, "slow subscriber lost postings without a gap");
+        System.out.printf("💥 %,d postings from %d threads: %.0f ns per publish; fast %,d events, slow %,d events in %,d batches (%d gaps)%n",
+                BURST, threads, nsPerPublish, fastSeen.size(), slowEvents.sum(), slowBatches.sum(), slowGaps.sum());
+        System.out.println("📡 " + bus);
+        fast.close();
+        slow.close();
+    }
+
+    // 🛰️ Three instances, one port
+    private static void relay() throws Exception {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        List<PostingEvents> buses = new ArrayList<>();
+        List<PostingEventRelay> relays = new ArrayList<>();
+        List<BlockingQueue<PostingEvents.Batch>> inboxes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PostingEvents bus = new PostingEvents(256);
+            BlockingQueue<PostingEvents.Batch> inbox = new LinkedBlockingQueue<>();
+            bus.subscribe("X", Runnable::run, inbox::add);
+            buses.add(bus);
+            inboxes.add(inbox);
+            relays.add(bus.startRelay(port));
+            Thread.sleep(100); // the first one becomes the hub
+        }
+        check(relays.get(0).isHub(), "first instance is not the hub");
+        await(() -> relays.get(0).peerCount() == 2, "clients did not connect");
+
+        buses.get(1).publish(new PostingEvents.Event("X", "Deposit", Money.ofMinor(500), Money.ofMinor(1500), 1));
+        for (int i = 0; i < 3; i++) {
+            PostingEvents.Batch b = inboxes.get(i).poll(2, TimeUnit.SECONDS);
+            check(b != null && !b.gap() && b.events().size() == 1 && b.events().get(0).balance().getMinor() == 1500,
+                    "instance " + i + " got " + b);
+        }
+        Thread.sleep(200);
+        for (int i = 0; i < 3; i++) check(inboxes.get(i).isEmpty(), "instance " + i + " got a posting twice");
+
+        // 🔌 The hub goes away: the others reconnect, report a gap and keep going
+        long t0 = System.nanoTime();
+        relays.get(0).close();
+        AtomicBoolean rejoined = new AtomicBoolean();
+        await(() -> {
+            boolean oneHub = relays.get(1).isHub() ^ relays.get(2).isHub();
+            PostingEventRelay hub = relays.get(1).isHub() ? relays.get(1) : relays.get(2);
+            rejoined.set(oneHub && hub.peerCount() == 1);
+            return rejoined.get();
+        }, "no new hub after the old one closed");
+        System.out.printf("🔌 New hub after %.0f ms: %s%n", (System.nanoTime() - t0) / 1e6,
+                relays.get(1).isHub() ? relays.get(1) : relays.get(2));
+        for (int i = 1; i < 3; i++) {
+            PostingEvents.Batch b = inboxes.get(i).poll(2, TimeUnit.SECONDS);
+            check(b != null && b.gap(), "instance " + i + " did not get a gap after reconnecting: " + b);
+        }
+        buses.get(2).publish(new PostingEvents.Event("X", "Withdrawal", Money.ofMinor(200), Money.ofMinor(1300), 2));
+        for (int i = 1; i < 3; i++) {
+            PostingEvents.Batch b = inboxes.get(i).poll(2, TimeUnit.SECONDS);
+            check(b != null && !b.gap() && b.events().get(0).balance().getMinor() == 1300,
+                    "instance " + i + " got " + b + " after failover");
+        }
+        check(inboxes.get(0).isEmpty(), "closed hub still received postings");
+        System.out.println("🛰️ " + relays.get(1) + " / " + relays.get(2));
+        relays.get(1).close();
+        relays.get(2).close();
+    }
+
+    // 🏦 Postings through the bank, one account watched
+    private static void bank() throws Exception {
+        BankServiceHarness.createSchema();
+        List<String> accountNos = BankServiceHarness.seedAccounts(3, Money.parse("1000"));
+        String watched = accountNos.get(0);
+        BlockingQueue<PostingEvents.Event> seen = new LinkedBlockingQueue<>();
+        LongAdder gaps = new LongAdder();
+        PostingEvents.Subscription s = PostingEvents.getInstance().subscribe(watched, Runnable::run, b -> {
+            if (b.gap()) gaps.increment();
+            seen.addAll(b.events());
+        });
+        BankService bank = BankService.getInstance();
+        int postings = 0;
+        List<CompletableFuture<Money>> pending = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            pending.add(i % 3 == 0 ? bank.withdraw(watched, Money.parse("3.00")) : bank.deposit(watched, Money.parse("10.00")));
+            postings++;
+        }
+        for (CompletableFuture<Money> f : pending) f.join();
+        bank.transfer(watched, accountNos.get(1), Money.parse("25.00"));
+        bank.transfer(accountNos.get(2), watched, Money.parse("40.00"));
+        bank.payroll(watched, java.util.Map.of(accountNos.get(1), Money.parse("1.00"), accountNos.get(2), Money.parse("2.00")));
+        postings += 4;
+        Money db = bank.snapshot(watched).balance();
+        await(() -> seen.size() + gaps.sum() > 0 && (gaps.sum() > 0 || seen.size() == 54), "events did not arrive");
+        List<PostingEvents.Event> events = new ArrayList<>(seen);
+        check(gaps.sum() == 0, gaps.sum() + " gaps with a mailbox that never filled");
+        check(events.size() == postings, events.size() + " events for " + postings + " postings");
+        check(!events.isEmpty() && events.get(events.size() - 1).balance().equals(db),
+                "last event balance " + (events.isEmpty() ? null : events.get(events.size() - 1).balance()) + ", database " + db);
+        long running = Money.parse("1000").getMinor();
+        boolean consistent = true;
+        for (PostingEvents.Event e : events) {
+            running += LedgerService.isCredit(e.type()) ? e.amount().getMinor() : -e.amount().getMinor();
+            consistent &= running == e.balance().getMinor();
+        }
+        check(consistent, "event balances do not follow the postings");
+        System.out.printf("🏦 %d postings → %d events, last balance %s (database %s)%n", postings, events.size(),
+                events.isEmpty() ? null : events.get(events.size() - 1).balance(), db);
+        s.close();
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                check(false, what);
+                return;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static void check(boolean ok, String what) {
+        if (ok) return;
+        failures++;
+        System.out.println("❌ " + what);
+    }
+}
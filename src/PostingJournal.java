@@ -0,0 +1,402 @@
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+// 📓 Write-ahead journal for ledger postings. Each posting is appended to a memory-mapped,
+// checksummed segment file before it reaches the database, so a posting made while the DB is
+// down is still kept and replayed later. Every record carries an idempotency key that is
+// stored in posting_keys in the same DB transaction as the posting, which makes replay
+// exactly-once even if the app dies between the DB commit and the journal cursor update.
+//
+// Segment layout: [int magic][int version][long replayed offset] then records of
+// [int payload length][int crc32c][payload]. A zero length ends the segment; a bad checksum
+// marks a torn write and ends it too.
+public class PostingJournal implements AutoCloseable {
+    private static final int MAGIC = 0x53424A31; // "SBJ1"
+    private static final int VERSION = 1;
+    private static final int HEADER = 16;
+    private static final int RECORD_HEADER = 8;
+    private static final String PREFIX = "journal-", SUFFIX = ".seg";
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final boolean sync;
+    private final long replayIntervalMs;
+
+    // Oldest first; the last one is the active segment appends go to
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private Segment active;
+
+    // Appended but the online attempt has not finished: replay must not race the pipeline
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    // Committed or rejected online in this run: replay can step over them without a DB trip
+    private final Set<UUID> settled = ConcurrentHashMap.newKeySet();
+
+    private final Thread replayer;
+    private volatile boolean closed;
+    private volatile boolean schemaReady;
+
+    public record Entry(UUID key, String accountNo, String type, Money delta, Money amount, long createdAt) {
+    }
+
+    public PostingJournal(Path dir, int segmentBytes, boolean sync, long replayIntervalMs) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.segmentBytes = segmentBytes;
+        this.sync = sync;
+        this.replayIntervalMs = replayIntervalMs;
+        recover();
+        replayer = new Thread(this::replayLoop, "swiftbank-journal-replay");
+        replayer.setDaemon(true);
+        replayer.start();
+    }
+
+    // 🔎 Map every segment and walk its record headers to find where valid data ends.
+    // Checksums run over the mapped region, so nothing is copied onto the heap.
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            for (Path p : ds) files.add(p);
+        }
+        files.sort(Comparator.naturalOrder()); // zero-padded sequence numbers sort by name
+        long pending = 0;
+        for (Path p : files) {
+            Segment s = Segment.open(p, sequenceOf(p), segmentBytes);
+            if (s == null) {
+                System.err.println("⚠️ Skipping unreadable journal segment " + p);
+                continue;
+            }
+            s.writePos = s.scanEnd();
+            pending += s.countRecords(s.replayPos(), s.writePos);
+            segments.addLast(s);
+        }
+        if (segments.isEmpty()) segments.addLast(Segment.create(dir, 0, segmentBytes));
+        active = segments.peekLast();
+        if (pending > 0) System.out.println("📓 Journal recovered " + pending + " unreplayed posting(s)");
+    }
+
+    // ✍️ Durable before it returns (msync of the written range when sync is on)
+    public synchronized UUID append(String accountNo, String type, Money delta, Money amount) throws IOException {
+        assert !EventQueue.isDispatchThread() : "Journal append (fsync) on the Event Dispatch Thread";
+        if (closed) throw new IOException("Posting journal is closed");
+        UUID key = UUID.randomUUID();
+        byte[] account = accountNo.getBytes(StandardCharsets.UTF_8);
+        byte[] kind = type.getBytes(StandardCharsets.UTF_8);
+        byte[] currency = delta.getCurrency().getCurrencyCode().getBytes(StandardCharsets.US_ASCII);
+        int payload = 16 + 8 + 8 + 8 + 2 + account.length + 2 + kind.length + 2 + currency.length;
+        int size = RECORD_HEADER + payload;
+        if (HEADER + size > segmentBytes) throw new IOException("Posting too large for a journal segment");
+        if (active.writePos + size > segmentBytes) roll();
+
+        MappedByteBuffer buf = active.buf;
+        int pos = active.writePos;
+        ByteBuffer body = buf.duplicate().position(pos + RECORD_HEADER).limit(pos + size).slice();
+        body.putLong(key.getMostSignificantBits()).putLong(key.getLeastSignificantBits())
+                .putLong(delta.getMinor()).putLong(amount.getMinor()).putLong(System.currentTimeMillis());
+        putBytes(body, account);
+        putBytes(body, kind);
+        putBytes(body, currency);
+        buf.putInt(pos + 4, crc(buf, pos + RECORD_HEADER, payload));
+        buf.putInt(pos, payload); // length last: a reader never sees a length without its body
+        if (sync) buf.force(pos, size);
+        active.writePos = pos + size;
+        inFlight.add(key);
+        return key;
+    }
+
+    // ✅ The online pipeline committed (or rejected) this posting
+    public void settle(UUID key) {
+        settled.add(key);
+        inFlight.remove(key);
+    }
+
+    // 🕓 The online attempt failed; the replayer takes over
+    public void defer(UUID key) {
+        inFlight.remove(key);
+        synchronized (replayer) {
+            replayer.notify();
+        }
+    }
+
+    private void roll() throws IOException {
+        active = Segment.create(dir, active.sequence + 1, segmentBytes);
+        segments.addLast(active);
+    }
+
+    // 🔁 Replays records past each segment's cursor, oldest first
+    private void replayLoop() {
+        while (!closed) {
+            try {
+                replayPending();
+            } catch (SQLException e) {
+                // DB still unreachable: keep the records and try again next round
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            synchronized (replayer) {
+                try {
+                    replayer.wait(replayIntervalMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    void replayPending() throws SQLException, IOException {
+        Connection con = null;
+        try {
+            if (!schemaReady) con = connect(); // create posting_keys before the pipeline needs it
+            while (true) {
+                Segment s;
+                int end;
+                synchronized (this) {
+                    s = segments.peekFirst();
+                    end = s.writePos;
+                }
+                int pos = s.replayPos();
+                while (pos < end) {
+                    Entry e = s.read(pos);
+                    if (inFlight.contains(e.key)) return; // pipeline still owns it; keep order
+                    if (!settled.remove(e.key)) {
+                        if (con == null) con = connect();
+                        apply(con, e);
+                    }
+                    pos += RECORD_HEADER + s.buf.getInt(pos);
+                    s.setReplayPos(pos); // not forced: losing it only means re-checking keys
+                }
+                synchronized (this) {
+                    if (s == active || pos < s.writePos) return;
+                    segments.removeFirst();
+                }
+                s.delete();
+            }
+        } finally {
+            if (con != null) con.close();
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection con = DBConnection.getConnection();
+        if (con == null) throw new SQLException("Database connection failed.");
+        if (!schemaReady) {
+            try (Statement st = con.createStatement()) {
+                st.execute(Sql.CREATE_POSTING_KEYS.text());
+            }
+            AccountAggregates.ensureSchema(con);
+            schemaReady = true;
+        }
+        return con;
+    }
+
+    // 🧾 One DB transaction per replayed posting; a duplicate key means it already landed
+    private void apply(Connection con, Entry e) throws SQLException {
+        AccountStore store = AccountStore.getInstance();
+        boolean stored = store.isLoaded();
+        if (stored) store.commitOrder().lock();
+        con.setAutoCommit(false);
+        try {
+            boolean accepted;
+            try (PreparedStatement ps = con.prepareStatement(Sql.APPLY_DELTA.text())) {
+                ps.setBigDecimal(1, e.delta.toBigDecimal());
+                ps.setString(2, e.accountNo);
+                ps.setBigDecimal(3, e.delta.toBigDecimal());
+                accepted = ps.executeUpdate() > 0;
+            }
+            try (PreparedStatement ps = con.prepareStatement(Sql.INSERT_POSTING_KEY.text())) {
+                ps.setString(1, e.key.toString());
+                ps.setString(2, accepted ? "APPLIED" : "REJECTED");
+                ps.executeUpdate();
+            } catch (SQLException dup) {
+                if (!isDuplicateKey(dup)) throw dup;
+                con.rollback(); // already applied before a crash: undo this round's delta
+                return;
+            }
+            long id = 0;
+            if (accepted) {
+                AccountAggregates.Batch aggregates = new AccountAggregates.Batch();
+                try (PreparedStatement ps = stored
+                        ? con.prepareStatement(Sql.INSERT_TRANSACTION.text(), Statement.RETURN_GENERATED_KEYS)
+                        : con.prepareStatement(Sql.INSERT_TRANSACTION.text())) {
+                    ps.setString(1, e.accountNo);
+                    ps.setString(2, e.type);
+                    ps.setBigDecimal(3, e.amount.toBigDecimal());
+                    ps.setTimestamp(4, aggregates.timestamp());
+                    ps.executeUpdate();
+                    if (stored) id = AccountStore.lastGeneratedId(ps);
+                }
+                aggregates.add(e.accountNo, e.type, e.amount).apply(con);
+            } else {
+                System.err.println("⚠️ Replayed posting rejected (insufficient balance or no account): "
+                        + e.type + " " + e.amount + " on " + e.accountNo);
+            }
+            con.commit();
+            if (stored && accepted) store.applyCommitted(Map.of(e.accountNo, e.delta.getMinor()), Map.of(), id);
+            AccountSnapshotCache.getInstance().invalidate(e.accountNo);
+            if (accepted) PostingEvents.getInstance().publishGap(e.accountNo); // no balance read here
+        } catch (SQLException | RuntimeException ex) {
+            con.rollback();
+            throw ex;
+        } finally {
+            con.setAutoCommit(true);
+            if (stored) store.commitOrder().unlock();
+        }
+    }
+
+    static boolean isDuplicateKey(SQLException e) {
+        return e instanceof SQLIntegrityConstraintViolationException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("23"));
+    }
+
+    // 📊 Postings the replayer has not reached yet
+    public synchronized long pendingCount() {
+        long n = 0;
+        for (Segment s : segments) n += s.countRecords(s.replayPos(), s.writePos);
+        return n;
+    }
+
+    public synchronized int segmentCount() { return segments.size(); }
+
+    @Override
+    public void close() {
+        closed = true;
+        replayer.interrupt();
+        try {
+            replayer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            for (Segment s : segments) s.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PostingJournal[dir=%s, segments=%d, pending=%d, inFlight=%d]",
+                dir, segmentCount(), pendingCount(), inFlight.size());
+    }
+
+    private static long sequenceOf(Path p) {
+        String name = p.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static void putBytes(ByteBuffer b, byte[] bytes) {
+        b.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer b) {
+        byte[] bytes = new byte[b.getShort()];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(MappedByteBuffer buf, int from, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buf.duplicate().position(from).limit(from + length));
+        return (int) crc.getValue();
+    }
+
+    // 📄 One mapped segment file
+    private static class Segment {
+        final long sequence;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buf;
+        int writePos;
+
+        private Segment(long sequence, Path path, FileChannel channel, MappedByteBuffer buf) {
+            this.sequence = sequence;
+            this.path = path;
+            this.channel = channel;
+            this.buf = buf;
+        }
+
+        static Segment create(Path dir, long sequence, int size) throws IOException {
+            Path path = dir.resolve(String.format("%s%016d%s", PREFIX, sequence, SUFFIX));
+            FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buf.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, HEADER);
+            buf.force(0, HEADER);
+            Segment s = new Segment(sequence, path, ch, buf);
+            s.writePos = HEADER;
+            return s;
+        }
+
+        static Segment open(Path path, long sequence, int size) throws IOException {
+            FileChannel ch = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long length = Math.max(ch.size(), size);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) {
+                ch.close();
+                return null;
+            }
+            return new Segment(sequence, path, ch, buf);
+        }
+
+        int replayPos() { return (int) buf.getLong(8); }
+        void setReplayPos(int pos) { buf.putLong(8, pos); }
+
+        // End of the last record whose length and checksum are intact
+        int scanEnd() {
+            int pos = HEADER;
+            int limit = buf.capacity();
+            while (pos + RECORD_HEADER <= limit) {
+                int length = buf.getInt(pos);
+                if (length <= 0 || pos + RECORD_HEADER + length > limit) break;
+                if (crc(buf, pos + RECORD_HEADER, length) != buf.getInt(pos + 4)) {
+                    System.err.println("⚠️ Torn journal record in " + path.getFileName() + " at " + pos);
+                    break;
+                }
+                pos += RECORD_HEADER + length;
+            }
+            // Anything after a torn record is unreachable; clear it so new appends start clean
+            for (int i = pos; i < Math.min(pos + RECORD_HEADER, limit); i++) buf.put(i, (byte) 0);
+            return pos;
+        }
+
+        int countRecords(int from, int to) {
+            int n = 0;
+            for (int pos = from; pos < to; pos += RECORD_HEADER + buf.getInt(pos)) n++;
+            return n;
+        }
+
+        Entry read(int pos) {
+            int length = buf.getInt(pos);
+            ByteBuffer b = buf.duplicate().position(pos + RECORD_HEADER).limit(pos + RECORD_HEADER + length).slice();
+            UUID key = new UUID(b.getLong(), b.getLong());
+            long delta = b.getLong(), amount = b.getLong(), createdAt = b.getLong();
+            String accountNo = getString(b), type = getString(b);
+            Currency currency = Currency.getInstance(getString(b));
+            return new Entry(key, accountNo, type, Money.ofMinor(delta, currency),
+                    Money.ofMinor(amount, currency), createdAt);
+        }
+
+        void close() {
+            try {
+                buf.force();
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not delete replayed journal segment " + path + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+// 🧪 Crash-recovery check for PostingJournal against a throwaway database, e.g.
+//   java -Dswiftbank.db.url=jdbc:h2:mem:bank -Dswiftbank.db.driver=org.h2.Driver -Dswiftbank.db.user=sa \
+//        -Dpostings=20000 PostingJournalHarness
+// Appends postings, commits the first half through the pipeline with their keys, then "crashes"
+// (closes the journal without settling anything) and leaves a torn record at the tail.
+// Reopening must recover every intact record, replay it, and land each posting exactly once.
+public class PostingJournalHarness {
+    public static void main(String[] args) throws Exception {
+        int postings = Integer.getInteger("postings", 20_000);
+        int accounts = Integer.getInteger("accounts", 10);
+        boolean sync = Boolean.parseBoolean(System.getProperty("sync", "true"));
+        Path dir = Files.createTempDirectory("swiftbank-journal");
+        Money opening = Money.parse("1000");
+
+        BankServiceHarness.createSchema();
+        List<String> accountNos = BankServiceHarness.seedAccounts(accounts, opening);
+        long[] expectedMinor = new long[accounts];
+
+        // 1️⃣ Append, commit half online, then crash
+        PostingJournal journal = new PostingJournal(dir, 1 << 20, sync, 60_000);
+        List<UUID> keys = new ArrayList<>(postings);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < postings; i++) {
+            int a = i % accounts;
+            Money amount = Money.ofMinor(100 + i % 50);
+            Money delta = i % 3 == 0 ? amount.negate() : amount;
+            keys.add(journal.append(accountNos.get(a), delta.isNegative() ? "Withdrawal" : "Deposit", delta, amount));
+            expectedMinor[a] += delta.getMinor();
+        }
+        double appendSeconds = (System.nanoTime() - t0) / 1e9;
+        System.out.printf("✍️ %d appends in %.2fs (%.0f/s, sync=%s), %d segment(s)%n",
+                postings, appendSeconds, postings / appendSeconds, sync, journal.segmentCount());
+
+        List<CompletableFuture<Money>> online = new ArrayList<>();
+        try (PostingPipeline pipeline = new PostingPipeline(64, 2)) {
+            for (int i = 0; i < postings / 2; i++) {
+                int a = i % accounts;
+                Money amount = Money.ofMinor(100 + i % 50);
+                Money delta = i % 3 == 0 ? amount.negate() : amount;
+                online.add(pipeline.submit(accountNos.get(a), delta.isNegative() ? "Withdrawal" : "Deposit",
+                        delta, amount, keys.get(i)));
+            }
+            CompletableFuture.allOf(online.toArray(CompletableFuture[]::new)).join();
+        }
+        journal.close();
+        tearTail(dir);
+        System.out.println("💥 Crashed with " + postings / 2 + " postings committed online and none settled");
+
+        // 2️⃣ Recover and replay
+        t0 = System.nanoTime();
+        PostingJournal recovered = new PostingJournal(dir, 1 << 20, sync, 100);
+        System.out.printf("🔎 Recovery scan: %.1f ms, %d pending%n", (System.nanoTime() - t0) / 1e6, recovered.pendingCount());
+        while (recovered.pendingCount() > 0) Thread.sleep(50);
+        System.out.printf("🔁 Replay done in %.2fs, %d segment(s) left%n", (System.nanoTime() - t0) / 1e9, recovered.segmentCount());
+        recovered.close();
+
+        int mismatches = 0;
+        for (int a = 0; a < accounts; a++) {
+            Money expected = opening.plus(Money.ofMinor(expectedMinor[a]));
+            Money actual = BankServiceHarness.balanceOf(accountNos.get(a));
+            if (!expected.equals(actual)) {
+                mismatches++;
+                System.out.printf("❌ %s expected=%s actual=%s%n", accountNos.get(a), expected, actual);
+            }
+        }
+        System.out.println(mismatches == 0 ? "✅ Every posting landed exactly once" : "❌ Journal replay is not exactly-once");
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+
+    // A length with a garbage body after the last record, as a crash mid-append would leave
+    private static void tearTail(Path dir) throws Exception {
+        Path last;
+        try (var files = Files.list(dir)) {
+            last = files.sorted().reduce((a, b) -> b).orElseThrow();
+        }
+        try (FileChannel ch = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            int pos = 16;
+            while (true) {
+                header.clear();
+                ch.read(header, pos);
+                int length = header.flip().getInt();
+                if (length == 0) break;
+                pos += 8 + length;
+            }
+            ch.write(ByteBuffer.allocate(12).putInt(40).putInt(0xBAD).putInt(7).flip(), pos);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+import java.awt.EventQueue;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// 📦 Queues ledger postings and writes them in JDBC batches, one commit per batch (group commit).
+// A posting's future completes only after its batch has committed, so an ack means it is durable.
+public class PostingPipeline implements AutoCloseable {
+    private final BlockingQueue<Posting> queue;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public PostingPipeline(int maxBatchSize, long maxLingerMs) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = TimeUnit.MILLISECONDS.toNanos(maxLingerMs);
+        this.queue = new LinkedBlockingQueue<>(Math.max(1024, maxBatchSize * 16));
+        writer = new Thread(this::run, "swiftbank-posting-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ➕ Completes with the account's committed balance after the batch that carried this posting
+    public CompletableFuture<Money> submit(String accountNo, String type, Money delta, Money amount) {
+        return submit(accountNo, type, delta, amount, null);
+    }
+
+    // 🔑 With an idempotency key the outcome is recorded in posting_keys in the same commit
+    public CompletableFuture<Money> submit(String accountNo, String type, Money delta, Money amount, UUID key) {
+        assert !EventQueue.isDispatchThread() : "Pipeline submit (blocks when full) on the Event Dispatch Thread";
+        CompletableFuture<Money> done = new CompletableFuture<>();
+        if (closed) {
+            done.completeExceptionally(new SQLException("Posting pipeline is closed"));
+            return done;
+        }
+        try {
+            queue.put(new Posting(accountNo, type, delta, amount, key, done));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            done.completeExceptionally(e);
+        }
+        return done;
+    }
+
+    private void run() {
+        List<Posting> batch = new ArrayList<>(maxBatchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Posting first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                // ⏳ Linger briefly so concurrent tellers share one round trip and one commit
+                long deadline = System.nanoTime() + maxLingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) break;
+                    Posting next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (!closed) Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Posting> batch) {
+        AccountStore store = AccountStore.getInstance();
+        boolean stored = store.isLoaded();
+        if (stored) store.commitOrder().lock();
+        try (Connection con = DBConnection.getConnection()) {
+            if (con == null) throw new SQLException("Database connection failed.");
+            AccountAggregates.ensureSchema(con);
+            con.setAutoCommit(false);
+            // Rows are locked in account_no order, like every other ledger writer, so a batch and a
+            // transfer can never deadlock; the sort is stable, so one account's postings keep their order
+            batch.sort(Comparator.comparing(p -> p.accountNo));
+            try {
+                List<Posting> accepted = new ArrayList<>(batch.size());
+                try (PreparedStatement ps = con.prepareStatement(Sql.APPLY_DELTA.text())) {
+                    for (Posting p : batch) {
+                        ps.setBigDecimal(1, p.delta.toBigDecimal());
+                        ps.setString(2, p.accountNo);
+                        ps.setBigDecimal(3, p.delta.toBigDecimal());
+                        ps.addBatch();
+                    }
+                    int[] counts = ps.executeBatch();
+                    // Conditional update matched no row → insufficient funds for that posting only
+                    for (int i = 0; i < batch.size(); i++) {
+                        if (counts[i] == 0) batch.get(i).failed = true;
+                        else accepted.add(batch.get(i));
+                    }
+                }
+                boolean keyed = false;
+                try (PreparedStatement ps = con.prepareStatement(Sql.INSERT_POSTING_KEY.text())) {
+                    for (Posting p : batch) {
+                        if (p.key == null) continue;
+                        ps.setString(1, p.key.toString());
+                        ps.setString(2, p.failed ? "REJECTED" : "APPLIED");
+                        ps.addBatch();
+                        keyed = true;
+                    }
+                    if (keyed) ps.executeBatch();
+                }
+                long lastId = 0;
+                if (!accepted.isEmpty()) {
+                    AccountAggregates.Batch aggregates = new AccountAggregates.Batch();
+                    try (PreparedStatement ps = stored
+                            ? con.prepareStatement(Sql.INSERT_TRANSACTION.text(), Statement.RETURN_GENERATED_KEYS)
+                            : con.prepareStatement(Sql.INSERT_TRANSACTION.text())) {
+                        for (Posting p : accepted) {
+                            ps.setString(1, p.accountNo);
+                            ps.setString(2, p.type);
+                            ps.setBigDecimal(3, p.amount.toBigDecimal());
+                            ps.setTimestamp(4, aggregates.timestamp());
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+                        if (stored) lastId = AccountStore.lastGeneratedId(ps);
+                    }
+                    for (Posting p : accepted) aggregates.add(p.accountNo, p.type, p.amount);
+                    aggregates.apply(con);
+                }
+                // With the store loaded only accounts it has not seen yet need a balance query
+                Map<String, Money> balances = new HashMap<>();
+                Map<String, Long> deltas = new HashMap<>();
+                try (PreparedStatement ps = con.prepareStatement(Sql.SELECT_BALANCE.text())) {
+                    for (Posting p : accepted) {
+                        if (stored && store.contains(p.accountNo)) {
+                            deltas.merge(p.accountNo, p.delta.getMinor(), Long::sum);
+                            continue;
+                        }
+                        if (balances.containsKey(p.accountNo)) continue;
+                        ps.setString(1, p.accountNo);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            rs.next();
+                            balances.put(p.accountNo, Money.of(rs.getBigDecimal(1)));
+                        }
+                    }
+                }
+                con.commit();
+                if (stored) balances.putAll(store.applyCommitted(deltas, balances, lastId));
+                balances.forEach(AccountSnapshotCache.getInstance()::updateBalance);
+
+                for (Posting p : batch) {
+                    if (p.failed) p.done.completeExceptionally(new LedgerService.InsufficientFundsException(p.accountNo, p.amount));
+                    else p.done.complete(balances.get(p.accountNo));
+                }
+                long now = System.currentTimeMillis();
+                List<PostingEvents.Event> events = new ArrayList<>(accepted.size());
+                for (Posting p : accepted) events.add(new PostingEvents.Event(p.accountNo, p.type, p.amount, null, now));
+                PostingEvents.getInstance().publishCommitted(events, balances);
+            } catch (SQLException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            for (Posting p : batch) p.done.completeExceptionally(e);
+        } finally {
+            if (stored) store.commitOrder().unlock();
+        }
+    }
+
+    // 🛑 Stops accepting postings and flushes whatever is already queued
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Posting {
+        final String accountNo, type;
+        final Money delta, amount;
+        final UUID key;
+        final CompletableFuture<Money> done;
+        boolean failed;
+
+        Posting(String accountNo, String type, Money delta, Money amount, UUID key, CompletableFuture<Money> done) {
+            this.accountNo = accountNo;
+            this.type = type;
+            this.delta = delta;
+            this.amount = amount;
+            this.key = key;
+            this.done = done;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+// ⏱️ Postings/sec through PostingPipeline for several batch sizes. Migrates the schema and seeds
+// its own accounts, so it runs against a fresh embedded database; pass account numbers to post to
+// existing accounts instead. A posting that fails is counted apart from the acks, and any failure
+// (or balances that do not add up afterwards) fails the run with exit code 1:
+//   java -Dswiftbank.db.url="jdbc:h2:mem:bank;DB_CLOSE_DELAY=-1" -Dswiftbank.db.driver=org.h2.Driver \
+//        -Dswiftbank.db.user=sa -Dswiftbank.auth.iterations=1000 PostingPipelineBenchmark
+public class PostingPipelineBenchmark {
+    public static void main(String[] args) throws Exception {
+        int producers = Integer.getInteger("producers", 32);
+        int postings = Integer.getInteger("postings", 20_000);
+        int accounts = Integer.getInteger("accounts", 16);
+        long lingerMs = Long.getLong("lingerMs", 2);
+        Money amount = Money.parse("1");
+        int[] batchSizes = {1, 8, 32, 128, 512};
+
+        BankServiceHarness.createSchema();
+        List<String> accountNos = args.length > 0 ? List.of(args) : BankServiceHarness.seedAccounts(accounts, Money.ZERO);
+        long before = 0;
+        for (String accountNo : accountNos) {
+            if (BankService.getInstance().snapshot(accountNo) == null) {
+                System.out.println("❌ Unknown account " + accountNo);
+                System.exit(1);
+            }
+            before += BankServiceHarness.balanceOf(accountNo).getMinor();
+        }
+
+        long failed = 0;
+        System.out.printf("%-10s %12s %14s %8s%n", "batch", "postings/s", "avg ack (ms)", "failed");
+        for (int batchSize : batchSizes) {
+            try (PostingPipeline pipeline = new PostingPipeline(batchSize, lingerMs)) {
+                ExecutorService pool = Executors.newFixedThreadPool(producers);
+                LongAdder ackNanos = new LongAdder(), acks = new LongAdder(), failures = new LongAdder();
+                CountDownLatch done = new CountDownLatch(postings);
+                long t0 = System.nanoTime();
+                for (int i = 0; i < postings; i++) {
+                    String accountNo = accountNos.get(i % accountNos.size());
+                    pool.execute(() -> {
+                        long start = System.nanoTime();
+                        try {
+                            pipeline.submit(accountNo, "Deposit", amount, amount).join();
+                            ackNanos.add(System.nanoTime() - start);
+                            acks.increment();
+                        } catch (RuntimeException e) {
+                            if (failures.sum() == 0) e.printStackTrace();
+                            failures.increment();
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+                done.await();
+                double seconds = (System.nanoTime() - t0) / 1e9;
+                pool.shutdown();
+                System.out.printf("%-10d %12.0f %14.3f %8d%n", batchSize, acks.sum() / seconds,
+                        ackNanos.sum() / 1e6 / Math.max(1, acks.sum()), failures.sum());
+                failed += failures.sum();
+            }
+        }
+
+        long after = 0;
+        for (String accountNo : accountNos) after += BankServiceHarness.balanceOf(accountNo).getMinor();
+        long expected = (long) batchSizes.length * postings - failed;
+        boolean balanced = after - before == expected * amount.getMinor();
+        if (!balanced) System.out.printf("❌ Balances grew by %s, expected %s%n",
+                Money.ofMinor(after - before), Money.ofMinor(expected * amount.getMinor()));
+        if (failed > 0) System.out.printf("❌ %,d postings failed%n", failed);
+        boolean ok = balanced && failed == 0;
+        if (ok) System.out.printf("✅ %,d postings acknowledged and applied%n", expected);
+        System.exit(ok ? 0 : 1);
+    }
+}
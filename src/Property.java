@@ -0,0 +1,36 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+// 🔗 Observable value for view binding. EDT only. set() with an equal value does nothing, so
+// re-publishing unchanged data never reaches a label and never triggers a relayout or repaint.
+public final class Property<T> {
+    private final List<Consumer<? super T>> listeners = new ArrayList<>();
+    private T value;
+
+    public Property() {
+    }
+
+    public Property(T initial) {
+        this.value = initial;
+    }
+
+    public T get() {
+        return value;
+    }
+
+    // Returns whether the value changed (and listeners ran)
+    public boolean set(T newValue) {
+        if (Objects.equals(value, newValue)) return false;
+        value = newValue;
+        for (Consumer<? super T> listener : listeners) listener.accept(newValue);
+        return true;
+    }
+
+    // Pushes the current value immediately when there is one, then every change
+    public void bind(Consumer<? super T> listener) {
+        listeners.add(listener);
+        if (value != null) listener.accept(value);
+    }
+}
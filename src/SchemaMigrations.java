@@ -0,0 +1,187 @@
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+// 🗄️ Versioned schema shipped with the app. Each migration runs once per database and is
+// recorded in schema_version with a checksum of its SQL, so an edited migration that was already
+// applied is reported instead of silently diverging. Migrations are append-only: change the
+// schema by adding a new version, never by editing an old one.
+// The SQL is plain enough for both MySQL and H2. MySQL commits DDL implicitly, so a migration
+// that fails halfway is not rolled back there; fix the database by hand and restart.
+// Startup runs migrate() unless -Dswiftbank.db.migrate=false.
+public final class SchemaMigrations {
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("swiftbank.db.migrate", "true"));
+
+    @FunctionalInterface
+    interface Condition {
+        boolean test(Connection con) throws SQLException;
+    }
+
+    // One statement, skipped when `unless` already holds for this database
+    record Ddl(String sql, Condition unless) {
+        Ddl(String sql) {
+            this(sql, con -> false);
+        }
+    }
+
+    record Migration(int version, String description, List<Ddl> statements) {
+        long checksum() {
+            CRC32 crc = new CRC32();
+            for (Ddl d : statements) crc.update(d.sql.getBytes(StandardCharsets.UTF_8));
+            return crc.getValue();
+        }
+    }
+
+    static final String HISTORY_INDEX = "ix_transactions_account_time";
+    static final String ACCOUNT_NO_INDEX = "ux_accounts_account_no";
+    static final String EMAIL_INDEX = "ix_customers_email";
+
+    static final List<Migration> MIGRATIONS = List.of(
+            // Baseline: the tables the app has always assumed; existing databases keep theirs
+            new Migration(1, "customers, accounts, transactions", List.of(
+                    new Ddl("""
+                            CREATE TABLE IF NOT EXISTS customers (
+                                id INT AUTO_INCREMENT PRIMARY KEY,
+                                name VARCHAR(100), email VARCHAR(100), password VARCHAR(255),
+                                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"""),
+                    new Ddl("""
+                            CREATE TABLE IF NOT EXISTS accounts (
+                                account_no VARCHAR(20) PRIMARY KEY,
+                                customer_id INT, type VARCHAR(20), balance DECIMAL(15,2),
+                                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"""),
+                    new Ddl("""
+                            CREATE TABLE IF NOT EXISTS transactions (
+                                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                account_no VARCHAR(20), type VARCHAR(20), amount DECIMAL(15,2),
+                                timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"""))),
+            // History reads, keyset pages, exports and aggregate backfills all filter on account_no
+            // and order or range on (timestamp, id): one index serves them all without a sort.
+            // Trailing type and amount make it covering, so those reads never touch the table rows.
+            new Migration(2, "history index on transactions (account_no, timestamp, id) covering type, amount", List.of(
+                    new Ddl("CREATE INDEX " + HISTORY_INDEX + " ON transactions (account_no, timestamp, id, type, amount)"))),
+            // Hand-made databases may lack a key on account_no; the baseline's primary key already is one
+            new Migration(3, "unique account numbers", List.of(
+                    new Ddl("CREATE UNIQUE INDEX " + ACCOUNT_NO_INDEX + " ON accounts (account_no)",
+                            con -> hasUniqueIndex(con, "accounts", "account_no")))),
+            // Fails on orphaned rows; clean those up first
+            new Migration(4, "foreign keys accounts → customers, transactions → accounts", List.of(
+                    new Ddl("ALTER TABLE accounts ADD CONSTRAINT fk_accounts_customer "
+                            + "FOREIGN KEY (customer_id) REFERENCES customers (id)"),
+                    new Ddl("ALTER TABLE transactions ADD CONSTRAINT fk_transactions_account "
+                            + "FOREIGN KEY (account_no) REFERENCES accounts (account_no)"))),
+            // Same DDL the ledger creates lazily, so either order leaves one definition. The checksum
+            // covers those Sql constants too: changing them now needs a new migration.
+            new Migration(5, "posting_keys and account_aggregates", List.of(
+                    new Ddl(Sql.CREATE_POSTING_KEYS.text()),
+                    new Ddl(Sql.CREATE_ACCOUNT_AGGREGATES.text()))),
+            // Registry of months moved out of transactions into archive files (see TransactionArchive)
+            new Migration(6, "transaction_archive", List.of(
+                    new Ddl(Sql.CREATE_TRANSACTION_ARCHIVE.text()))),
+            // Bulk onboarding: reserved account number blocks, per-file checkpoints, and the email
+            // lookup it runs once per chunk to refuse customers who already exist
+            new Migration(7, "account_number_blocks, onboarding_checkpoints, customer email index", List.of(
+                    new Ddl(Sql.CREATE_ACCOUNT_NUMBER_BLOCKS.text()),
+                    new Ddl(Sql.CREATE_ONBOARDING_CHECKPOINTS.text()),
+                    new Ddl("CREATE INDEX " + EMAIL_INDEX + " ON customers (email)"))));
+
+    private static final String CREATE_VERSION_TABLE = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INT PRIMARY KEY,
+                description VARCHAR(200) NOT NULL,
+                checksum BIGINT NOT NULL,
+                installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)""";
+
+    private SchemaMigrations() {
+    }
+
+    // ▶️ Brings the pooled database up to date; returns how many migrations ran
+    public static int migrate() throws SQLException {
+        try (Connection con = DBConnection.getConnection()) {
+            if (con == null) throw new SQLException("Database connection failed.");
+            return migrate(con);
+        }
+    }
+
+    public static int migrate(Connection con) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.execute(CREATE_VERSION_TABLE);
+        }
+        Map<Integer, Long> applied = applied(con);
+        int ran = 0;
+        boolean autoCommit = con.getAutoCommit();
+        try {
+            for (Migration m : MIGRATIONS) {
+                Long checksum = applied.get(m.version);
+                if (checksum != null) {
+                    if (checksum != m.checksum())
+                        throw new MigrationException(m, "was changed after it was applied (checksum " + checksum + ")", null);
+                    continue;
+                }
+                apply(con, m);
+                ran++;
+            }
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+        return ran;
+    }
+
+    public static int currentVersion(Connection con) throws SQLException {
+        return applied(con).keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private static void apply(Connection con, Migration m) throws SQLException {
+        con.setAutoCommit(false);
+        try (Statement st = con.createStatement();
+             PreparedStatement record = con.prepareStatement(
+                     "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)")) {
+            for (Ddl d : m.statements)
+                if (!d.unless.test(con)) st.execute(d.sql);
+            record.setInt(1, m.version);
+            record.setString(2, m.description);
+            record.setLong(3, m.checksum());
+            record.executeUpdate();
+            con.commit();
+            System.out.printf("🗄️ Schema V%d applied: %s%n", m.version, m.description);
+        } catch (SQLException e) {
+            con.rollback();
+            throw new MigrationException(m, "failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<Integer, Long> applied(Connection con) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) applied.put(rs.getInt(1), rs.getLong(2));
+        }
+        return applied;
+    }
+
+    // True when a unique index (or the primary key) covers exactly this one column
+    static boolean hasUniqueIndex(Connection con, String table, String column) throws SQLException {
+        DatabaseMetaData meta = con.getMetaData();
+        String t = meta.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, List<String>> columns = new HashMap<>();
+        try (ResultSet rs = meta.getIndexInfo(con.getCatalog(), con.getSchema(), t, true, true)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME"), col = rs.getString("COLUMN_NAME");
+                if (index != null && col != null) columns.computeIfAbsent(index, k -> new ArrayList<>()).add(col);
+            }
+        }
+        return columns.values().stream().anyMatch(cols -> cols.size() == 1 && cols.get(0).equalsIgnoreCase(column));
+    }
+
+    // ⛔ A migration that could not be applied, or was edited after it was
+    public static class MigrationException extends SQLException {
+        private final int version;
+
+        MigrationException(Migration m, String message, Throwable cause) {
+            super("Schema V" + m.version + " (" + m.description + ") " + message, cause);
+            this.version = m.version;
+        }
+
+        public int getVersion() { return version; }
+    }
+}
@@ -0,0 +1,115 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 🧪 Runs the schema migrations against an embedded database, checks they are idempotent, and
+// asserts that the hot queries' plans use the indexes instead of scanning. Exits 1 on failure:
+//   java -Dswiftbank.db.url="jdbc:h2:mem:bank;DB_CLOSE_DELAY=-1" -Dswiftbank.db.driver=org.h2.Driver \
+//        -Dswiftbank.db.user=sa -Dswiftbank.auth.iterations=1000 SchemaMigrationsHarness
+// Plans are read with EXPLAIN; H2 and MySQL output are both understood.
+public class SchemaMigrationsHarness {
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        int ran = SchemaMigrations.migrate();
+        int again = SchemaMigrations.migrate();
+        check(again == 0, "second migrate() ran " + again + " migrations");
+        List<String> accountNos = BankServiceHarness.seedAccounts(50, Money.parse("500"));
+
+        try (Connection con = DBConnection.getConnection()) {
+            int version = SchemaMigrations.currentVersion(con);
+            check(version == SchemaMigrations.MIGRATIONS.size(), "schema at V" + version);
+            System.out.printf("🗄️ %d migration(s) applied, schema at V%d%n", ran, version);
+
+            seedHistory(con, accountNos, 40);
+            // H2 picks among indexes by statistics; MySQL samples them on its own
+            if (con.getMetaData().getDatabaseProductName().equals("H2"))
+                try (Statement st = con.createStatement()) {
+                    st.execute("ANALYZE");
+                }
+            String accountNo = accountNos.get(0);
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            expect(con, "recent history", Sql.RECENT_HISTORY, "transactions", SchemaMigrations.HISTORY_INDEX,
+                    accountNo, new Timestamp(0), 10);
+            expect(con, "history page", Sql.HISTORY_PAGE, "transactions", SchemaMigrations.HISTORY_INDEX,
+                    accountNo, new Timestamp(0), now, now, Long.MAX_VALUE, 50);
+            expect(con, "statement export", Sql.EXPORT_HISTORY, "transactions", SchemaMigrations.HISTORY_INDEX,
+                    accountNo, new Timestamp(0));
+            expect(con, "aggregate backfill", Sql.AGGREGATE_BACKFILL, "transactions", SchemaMigrations.HISTORY_INDEX,
+                    accountNo, new Timestamp(0), now);
+            expect(con, "balance", Sql.SELECT_BALANCE, "accounts", null, accountNo);
+            expect(con, "snapshot join", Sql.LOAD_SNAPSHOT, "accounts", null, accountNo);
+            expect(con, "credential join", Sql.LOAD_CREDENTIAL, "customers", null, accountNo);
+
+            // The foreign key rejects history for an account that does not exist
+            try (PreparedStatement ps = con.prepareStatement(Sql.INSERT_TRANSACTION.text())) {
+                ps.setString(1, "NO-SUCH-ACCOUNT");
+                ps.setString(2, "Deposit");
+                ps.setBigDecimal(3, Money.parse("1").toBigDecimal());
+                ps.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+                ps.executeUpdate();
+                check(false, "orphan transaction was accepted");
+            } catch (SQLException expected) {
+                System.out.println("✅ orphan transaction rejected by fk_transactions_account");
+            }
+        }
+        System.out.println(failures == 0 ? "✅ Schema and query plans look right" : "❌ " + failures + " problem(s)");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void seedHistory(Connection con, List<String> accountNos, int perAccount) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(Sql.INSERT_TRANSACTION.text())) {
+            for (String accountNo : accountNos) {
+                for (int i = 0; i < perAccount; i++) {
+                    ps.setString(1, accountNo);
+                    ps.setString(2, i % 2 == 0 ? "Deposit" : "Withdrawal");
+                    ps.setBigDecimal(3, Money.parse("1.25").toBigDecimal());
+                    ps.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // 🔎 The plan must not scan `table`, and must name `index` when one is given
+    private static void expect(Connection con, String name, Sql query, String table, String index, Object... params)
+            throws SQLException {
+        List<String> plan = explain(con, query.text(), params);
+        String all = String.join("\n", plan).toLowerCase(Locale.ROOT);
+        boolean scans = plan.stream().map(l -> l.toLowerCase(Locale.ROOT)).anyMatch(l ->
+                l.contains(table + ".tablescan")                                 // H2
+                        || (l.contains("table=" + table + ",") && l.contains("type=all,"))); // MySQL
+        boolean usesIndex = index == null || all.contains(index.toLowerCase(Locale.ROOT));
+        check(!scans && usesIndex, name + " plan: " + String.join(" | ", plan));
+        if (!scans && usesIndex) System.out.println("✅ " + name + (index != null ? " uses " + index : " avoids a scan of " + table));
+    }
+
+    private static List<String> explain(Connection con, String sql, Object... params) throws SQLException {
+        List<String> lines = new ArrayList<>();
+        try (PreparedStatement ps = con.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    if (meta.getColumnCount() == 1) {
+                        lines.add(rs.getString(1).replaceAll("\\s+", " "));
+                        continue;
+                    }
+                    StringBuilder row = new StringBuilder();
+                    for (int c = 1; c <= meta.getColumnCount(); c++)
+                        row.append(meta.getColumnLabel(c)).append('=').append(rs.getString(c)).append(", ");
+                    lines.add(row.toString());
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static void check(boolean ok, String what) {
+        if (ok) return;
+        failures++;
+        System.out.println("❌ " + what);
+    }
+}
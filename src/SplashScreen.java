@@ -2,16 +2,38 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class SplashScreen extends JFrame {
+    // ⏳ Never hold the user at the splash longer than this, even if a warmup task hangs (e.g. DB timeout)
+    private static final long MAX_WAIT_MS = Long.getLong("swiftbank.startup.maxWaitMs", 10_000);
+
+    // 📶 Latest warmup state, written by warmup threads and read by the animation timer
+    public static class Progress implements StartupWarmup.Listener {
+        private volatile int percent;
+        private volatile String status = "Initializing secure systems...";
+
+        @Override
+        public void progress(int percent, String status) {
+            this.percent = Math.max(this.percent, percent);
+            if (status != null) this.status = status;
+        }
+    }
+
     private float opacityLevel = 0f;
-    private int progress = 0;
+    private final Progress warmupProgress;
+    private final CompletableFuture<?> warmup;
+    private final long deadline;
     private final JProgressBar progressBar;
     private final JLabel loadingLabel;
     private final Timer fadeInTimer, progressTimer;
     private int gradientShift = 0;
 
-    public SplashScreen() {
+    public SplashScreen(Progress warmupProgress, CompletableFuture<?> warmup) {
+        this.warmupProgress = warmupProgress;
+        this.warmup = warmup;
+        this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MS);
         setTitle("💳 SwiftBank Loading...");
         setSize(700, 400);
         setLocationRelativeTo(null);
@@ -38,17 +60,17 @@ public class SplashScreen extends JFrame {
 
         // Bank Logo
         JLabel logo = new JLabel("💳", JLabel.CENTER);
-        logo.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 70));
+        logo.setFont(Fonts.get(Fonts.EMOJI, Font.PLAIN, 70));
         logo.setAlignmentX(Component.CENTER_ALIGNMENT);
         logo.setForeground(Color.WHITE);
 
         JLabel bankName = new JLabel("SwiftBank", JLabel.CENTER);
-        bankName.setFont(new Font("Segoe UI Semibold", Font.BOLD, 36));
+        bankName.setFont(Fonts.get(Fonts.UI_SEMIBOLD, Font.BOLD, 36));
         bankName.setForeground(Color.WHITE);
         bankName.setAlignmentX(Component.CENTER_ALIGNMENT);
 
         JLabel tagline = new JLabel("Empowering Digital Banking", JLabel.CENTER);
-        tagline.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        tagline.setFont(Fonts.get(Fonts.UI, Font.PLAIN, 16));
         tagline.setForeground(new Color(255, 255, 255, 200));
         tagline.setAlignmentX(Component.CENTER_ALIGNMENT);
 
@@ -60,12 +82,12 @@ public class SplashScreen extends JFrame {
         progressBar.setForeground(new Color(255, 255, 255));
         progressBar.setBackground(new Color(255, 255, 255, 70));
         progressBar.setBorderPainted(false);
-        progressBar.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        progressBar.setFont(Fonts.get(Fonts.UI, Font.BOLD, 13));
         progressBar.setStringPainted(true);
 
         // Loading Label
         loadingLabel = new JLabel("Initializing secure systems...");
-        loadingLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        loadingLabel.setFont(Fonts.get(Fonts.UI, Font.PLAIN, 14));
         loadingLabel.setForeground(new Color(255, 255, 255, 200));
         loadingLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
@@ -89,6 +111,14 @@ public class SplashScreen extends JFrame {
         progressTimer.start();
     }
 
+    // Timers must not outlive the window, however it gets closed
+    @Override
+    public void dispose() {
+        fadeInTimer.stop();
+        progressTimer.stop();
+        super.dispose();
+    }
+
     private class FadeInEffect implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
@@ -108,27 +138,16 @@ public class SplashScreen extends JFrame {
 
         @Override
         public void actionPerformed(ActionEvent e) {
-            progress += 1;
-            progressBar.setValue(progress);
-
-            // Fancy dynamic text
-            if (progress < 25)
-                loadingLabel.setText("Initializing secure systems...");
-            else if (progress < 50)
-                loadingLabel.setText("Connecting to SwiftBank servers...");
-            else if (progress < 75)
-                loadingLabel.setText("Fetching encrypted account data...");
-            else if (progress < 90)
-                loadingLabel.setText("Almost ready...");
-            else
-                loadingLabel.setText("Launching dashboard...");
-
+            boolean finished = warmup.isDone() || System.nanoTime() > deadline;
+            progressBar.setValue(finished ? 100 : warmupProgress.percent);
+            loadingLabel.setText(finished ? "Launching SwiftBank..." : warmupProgress.status);
             panel.repaint();
 
-            if (progress >= 100) {
+            if (finished) {
                 progressTimer.stop();
                 dispose();
                 new LoginFrame().setVisible(true);
+                StartupTimeline.mark("login interactive");
             }
         }
     }
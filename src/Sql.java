@@ -0,0 +1,137 @@
+// 📚 Registry of the fixed SQL the app runs. Keeping each statement's text in one place means
+// every caller prepares byte-identical SQL, so the per-connection StatementCache can reuse it.
+public enum Sql {
+    LOAD_CREDENTIAL("""
+            SELECT c.id, c.password
+            FROM accounts a
+            JOIN customers c ON a.customer_id = c.id
+            WHERE a.account_no = ?"""),
+    APPLY_DELTA(
+            "UPDATE accounts SET balance = balance + ? WHERE account_no=? AND balance + ? >= 0"),
+    INSERT_TRANSACTION(
+            "INSERT INTO transactions (account_no, type, amount, timestamp) VALUES (?, ?, ?, ?)"),
+    INSERT_POSTING_KEY(
+            "INSERT INTO posting_keys (idempotency_key, status) VALUES (?, ?)"),
+    CREATE_POSTING_KEYS("""
+            CREATE TABLE IF NOT EXISTS posting_keys (
+                idempotency_key CHAR(36) PRIMARY KEY,
+                status VARCHAR(10) NOT NULL,
+                posted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"""),
+    AGGREGATE_ADD("""
+            UPDATE account_aggregates
+            SET deposit_total = deposit_total + ?, deposit_count = deposit_count + ?,
+                withdrawal_total = withdrawal_total + ?, withdrawal_count = withdrawal_count + ?
+            WHERE account_no=? AND bucket=?"""),
+    AGGREGATE_INSERT("""
+            INSERT INTO account_aggregates
+                (account_no, bucket, deposit_total, deposit_count, withdrawal_total, withdrawal_count)
+            VALUES (?, ?, ?, ?, ?, ?)"""),
+    AGGREGATE_BACKFILL("""
+            SELECT type, SUM(amount), COUNT(*) FROM transactions
+            WHERE account_no=? AND timestamp >= ? AND timestamp < ?
+            GROUP BY type"""),
+    AGGREGATE_SELECT("""
+            SELECT bucket, deposit_total, deposit_count, withdrawal_total, withdrawal_count
+            FROM account_aggregates WHERE account_no=? AND bucket IN (?, ?, ?)"""),
+    CREATE_ACCOUNT_AGGREGATES("""
+            CREATE TABLE IF NOT EXISTS account_aggregates (
+                account_no VARCHAR(20) NOT NULL,
+                bucket VARCHAR(12) NOT NULL,
+                deposit_total DECIMAL(15,2) NOT NULL, deposit_count BIGINT NOT NULL,
+                withdrawal_total DECIMAL(15,2) NOT NULL, withdrawal_count BIGINT NOT NULL,
+                PRIMARY KEY (account_no, bucket))"""),
+    SELECT_BALANCE(
+            "SELECT balance FROM accounts WHERE account_no=?"),
+    // History reads take the archive horizon as a lower bound: only the hot months are read here
+    RECENT_HISTORY("""
+            SELECT id, type, amount, timestamp FROM transactions
+            WHERE account_no=? AND timestamp >= ?
+            ORDER BY timestamp DESC, id DESC LIMIT ?"""),
+    HISTORY_PAGE("""
+            SELECT id, type, amount, timestamp FROM transactions
+            WHERE account_no=? AND timestamp >= ? AND (timestamp < ? OR (timestamp = ? AND id < ?))
+            ORDER BY timestamp DESC, id DESC LIMIT ?"""),
+    EXPORT_HISTORY("""
+            SELECT id, type, amount, timestamp FROM transactions
+            WHERE account_no=? AND timestamp >= ? ORDER BY timestamp, id"""),
+    CREATE_TRANSACTION_ARCHIVE("""
+            CREATE TABLE IF NOT EXISTS transaction_archive (
+                archive_month CHAR(7) PRIMARY KEY,
+                file_name VARCHAR(100) NOT NULL,
+                row_count BIGINT NOT NULL,
+                purged BOOLEAN DEFAULT FALSE NOT NULL,
+                archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"""),
+    ARCHIVE_MONTHS(
+            "SELECT archive_month, file_name, row_count, purged FROM transaction_archive ORDER BY archive_month"),
+    ARCHIVE_REGISTER(
+            "INSERT INTO transaction_archive (archive_month, file_name, row_count) VALUES (?, ?, ?)"),
+    ARCHIVE_MARK_PURGED(
+            "UPDATE transaction_archive SET purged = TRUE WHERE archive_month=?"),
+    ARCHIVE_OLDEST(
+            "SELECT MIN(timestamp) FROM transactions WHERE timestamp >= ?"),
+    ARCHIVE_SCAN_MONTH("""
+            SELECT account_no, id, type, amount, timestamp FROM transactions
+            WHERE timestamp >= ? AND timestamp < ?
+            ORDER BY account_no, timestamp, id"""),
+    ARCHIVE_PURGE(
+            "DELETE FROM transactions WHERE account_no=? AND timestamp >= ? AND timestamp < ?"),
+    STORE_LOAD_BALANCES(
+            "SELECT account_no, balance FROM accounts"),
+    STORE_MAX_TRANSACTION_ID(
+            "SELECT COALESCE(MAX(id), 0) FROM transactions"),
+    STORE_REPLAY(
+            "SELECT id, account_no, type, amount FROM transactions WHERE id > ? ORDER BY id"),
+    LOAD_SNAPSHOT("""
+            SELECT c.id AS customer_id, c.name, c.email, c.created_at AS joined_at,
+                   a.account_no, a.type, a.balance, a.created_at
+            FROM customers c JOIN accounts a ON c.id=a.customer_id
+            WHERE a.account_no=?"""),
+    CHANGE_PASSWORD(
+            "UPDATE customers SET password=? WHERE id=? AND password=?"),
+    CREATE_ACCOUNT_NUMBER_BLOCKS("""
+            CREATE TABLE IF NOT EXISTS account_number_blocks (
+                prefix VARCHAR(8) PRIMARY KEY,
+                next_value BIGINT NOT NULL)"""),
+    RESERVE_ACCOUNT_NUMBERS(
+            "UPDATE account_number_blocks SET next_value = next_value + ? WHERE prefix=?"),
+    INSERT_ACCOUNT_NUMBER_BLOCK(
+            "INSERT INTO account_number_blocks (prefix, next_value) VALUES (?, ?)"),
+    SELECT_ACCOUNT_NUMBER_BLOCK(
+            "SELECT next_value FROM account_number_blocks WHERE prefix=?"),
+    CREATE_ONBOARDING_CHECKPOINTS("""
+            CREATE TABLE IF NOT EXISTS onboarding_checkpoints (
+                import_id CHAR(64) PRIMARY KEY,
+                source VARCHAR(255) NOT NULL,
+                line_no BIGINT NOT NULL,
+                imported BIGINT NOT NULL,
+                rejected BIGINT NOT NULL,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"""),
+    SELECT_CHECKPOINT(
+            "SELECT line_no, imported, rejected FROM onboarding_checkpoints WHERE import_id=?"),
+    INSERT_CHECKPOINT(
+            "INSERT INTO onboarding_checkpoints (import_id, source, line_no, imported, rejected) VALUES (?, ?, 0, 0, 0)"),
+    // Compare-and-set on line_no: a second run of the same file cannot commit the same chunk
+    ADVANCE_CHECKPOINT("""
+            UPDATE onboarding_checkpoints SET line_no=?, imported=imported+?, rejected=rejected+?,
+                updated_at=CURRENT_TIMESTAMP
+            WHERE import_id=? AND line_no=?"""),
+    // Multi-row inserts: AccountOnboarding appends one "(?, ?, ?)" group per row
+    ONBOARD_CUSTOMERS(
+            "INSERT INTO customers (name, email, password) VALUES "),
+    ONBOARD_ACCOUNTS(
+            "INSERT INTO accounts (account_no, customer_id, type, balance) VALUES "),
+    ONBOARD_OPENING_DEPOSITS(
+            "INSERT INTO transactions (account_no, type, amount, timestamp) VALUES "),
+    ONBOARD_KNOWN_EMAILS(
+            "SELECT email FROM customers WHERE email IN ");
+
+    private final String text;
+
+    Sql(String text) {
+        this.text = text;
+    }
+
+    public String text() {
+        return text;
+    }
+}
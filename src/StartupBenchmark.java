@@ -0,0 +1,41 @@
+import java.awt.GraphicsEnvironment;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// ⏱️ Tracks time-to-interactive. With a display it launches BankApp and reports the startup
+// milestones up to the login screen; headless (or with -Dheadless=true) it runs only the
+// warmup tasks. Either way it prints each task's time and how much running them in parallel saved.
+//   java -Dswiftbank.db.url=... StartupBenchmark
+// Run in a fresh JVM each time: the point is cold-start cost.
+public class StartupBenchmark {
+    public static void main(String[] args) throws Exception {
+        boolean gui = !GraphicsEnvironment.isHeadless() && !Boolean.getBoolean("headless");
+        long t0 = System.nanoTime();
+        List<StartupWarmup.TaskResult> results;
+        if (gui) {
+            BankApp.main(args);
+            while (StartupTimeline.marks().stream().noneMatch(m -> m.event().equals("login interactive"))) Thread.sleep(10);
+            results = List.of();
+        } else {
+            StartupTimeline.mark("main");
+            CompletableFuture<List<StartupWarmup.TaskResult>> warmup = new StartupWarmup().start((percent, status) -> { });
+            results = warmup.get();
+            StartupTimeline.mark("warmup done");
+        }
+        double wallMs = (System.nanoTime() - t0) / 1e6;
+
+        long sum = 0;
+        if (!results.isEmpty()) {
+            System.out.printf("%-12s %8s  %s%n", "task", "ms", "outcome");
+            for (StartupWarmup.TaskResult r : results) {
+                sum += r.millis();
+                System.out.printf("%-12s %8d  %s%n", r.name(), r.millis(), r.error() == null ? "ok" : "failed: " + r.error());
+            }
+            System.out.printf("%-12s %8d  (sequential equivalent)%n", "sum", sum);
+            System.out.printf("%-12s %8.0f  (parallel, wall clock)%n%n", "wall", wallMs);
+        }
+        System.out.println("Milestones since JVM start:");
+        for (StartupTimeline.Mark m : StartupTimeline.marks()) System.out.printf("%8d ms  %s%n", m.sinceJvmStartMs(), m.event());
+        System.exit(0);
+    }
+}
@@ -0,0 +1,32 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// ⏱️ Milestones since JVM start (splash shown, warmup done, login interactive, dashboard shown).
+// Printed as they happen with -Dswiftbank.startup.trace=true; StartupBenchmark reads them back.
+public final class StartupTimeline {
+    private static final boolean TRACE = Boolean.getBoolean("swiftbank.startup.trace");
+    private static final long JVM_START_MS = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    public record Mark(String event, long sinceJvmStartMs) {
+    }
+
+    private static final List<Mark> MARKS = new ArrayList<>();
+
+    private StartupTimeline() {
+    }
+
+    public static void mark(String event) {
+        Mark m = new Mark(event, System.currentTimeMillis() - JVM_START_MS);
+        synchronized (MARKS) {
+            MARKS.add(m);
+        }
+        if (TRACE) System.out.printf("⏱️ %6d ms  %s%n", m.sinceJvmStartMs, event);
+    }
+
+    public static List<Mark> marks() {
+        synchronized (MARKS) {
+            return List.copyOf(MARKS);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+import javax.swing.*;
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 🚀 Work the first login used to pay for, run in parallel while the splash screen is showing:
+// JDBC driver → pool prefill → schema migrations → journal recovery (one chain), fonts, the
+// PBKDF2 provider, and a prebuilt dashboard skeleton. Every task is best effort: a failure (say,
+// the DB is down) is recorded and the app starts anyway. Progress is the weighted share of
+// finished tasks.
+public class StartupWarmup {
+    @FunctionalInterface
+    public interface Listener {
+        // Called from worker threads; hop to the EDT before touching Swing. A null status keeps the last one.
+        void progress(int percent, String status);
+    }
+
+    public record TaskResult(String name, long millis, Throwable error) {
+    }
+
+    private record Task(String name, String status, int weight, Callable<?> work) {
+    }
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())), r -> {
+                Thread t = new Thread(r, "swiftbank-warmup");
+                t.setDaemon(true);
+                return t;
+            });
+    private final List<TaskResult> results = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger doneWeight = new AtomicInteger();
+    private int totalWeight;
+
+    // ▶️ Completes when every task has finished (successfully or not); never completes exceptionally
+    public CompletableFuture<List<TaskResult>> start(Listener listener) {
+        Task driver = new Task("driver", "Loading database driver...", 10, () -> {
+            Metrics.start(true); // JMX beans and the periodic dump, before the first query
+            DBConnection.loadDriver();
+            return null;
+        });
+        Task connections = new Task("connections", "Connecting to SwiftBank servers...", 30, () -> {
+            DBConnection.getPool().prewarm();
+            return null;
+        });
+        Task schema = new Task("schema", "Updating database schema...", 5, () -> {
+            if (SchemaMigrations.ENABLED) SchemaMigrations.migrate();
+            return null;
+        });
+        Task journal = new Task("journal", "Recovering offline postings...", 10, () -> {
+            LedgerService.getInstance().start();
+            TransactionArchive.getInstance().start(); // no-op unless swiftbank.archive.enabled
+            PostingEvents.getInstance().start(); // no-op unless swiftbank.events.port
+            return null;
+        });
+        Task fonts = new Task("fonts", "Loading fonts...", 15, () -> {
+            Fonts.warmUp();
+            return null;
+        });
+        Task hashing = new Task("hashing", "Preparing secure sign-in...", 10, () -> {
+            PasswordHasher hasher = new PasswordHasher(1);
+            hasher.verify("warm-up", hasher.hash("warm-up")); // loads the JCA provider and HMAC classes
+            return null;
+        });
+        Task dashboard = new Task("dashboard", "Building dashboard...", 25, () -> {
+            if (!GraphicsEnvironment.isHeadless()) SwingUtilities.invokeAndWait(DashboardFrame::prebuild);
+            return null;
+        });
+        totalWeight = driver.weight + connections.weight + schema.weight + journal.weight + fonts.weight + hashing.weight + dashboard.weight;
+
+        CompletableFuture<?> db = run(driver, listener)
+                .thenCompose(v -> run(connections, listener))
+                .thenCompose(v -> run(schema, listener))
+                .thenCompose(v -> run(journal, listener));
+        // Frame construction after fonts, so it lays out with warm glyph caches
+        CompletableFuture<?> ui = run(fonts, listener).thenCompose(v -> run(dashboard, listener));
+        return CompletableFuture.allOf(db, ui, run(hashing, listener)).thenApply(v -> {
+            pool.shutdown();
+            return List.copyOf(results);
+        });
+    }
+
+    private CompletableFuture<Void> run(Task task, Listener listener) {
+        return CompletableFuture.runAsync(() -> {
+            listener.progress(percent(), task.status);
+            long t0 = System.nanoTime();
+            Throwable error = null;
+            try {
+                task.work.call();
+            } catch (Throwable e) {
+                error = e instanceof InvocationTargetException ite ? ite.getCause() : e;
+            }
+            results.add(new TaskResult(task.name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0), error));
+            doneWeight.addAndGet(task.weight);
+            listener.progress(percent(), null);
+        }, pool);
+    }
+
+    private int percent() {
+        return totalWeight == 0 ? 0 : doneWeight.get() * 100 / totalWeight;
+    }
+}
@@ -0,0 +1,149 @@
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// 🗃️ Per-connection LRU cache of PreparedStatements. Callers keep the usual
+// try-with-resources: close() on a cached handle clears parameters, puts back the fetch size,
+// max rows and query timeout it was prepared with, and hands the statement back. The real
+// statement is closed on eviction or when the connection goes.
+public class StatementCache {
+    // 📊 Global counters across all connections
+    private static final LongAdder PREPARES = new LongAdder();
+    private static final LongAdder CACHE_HITS = new LongAdder();
+    private static final LongAdder EXECUTES = new LongAdder();
+
+    // Setters whose effect would outlive the borrower (see Entry.restore)
+    private static final Set<String> TUNING = Set.of("setFetchSize", "setMaxRows", "setLargeMaxRows",
+            "setQueryTimeout", "setFetchDirection");
+
+    private final Connection raw;
+    private final Map<String, Entry> entries;
+
+    public StatementCache(Connection raw, int maxStatements) {
+        this.raw = raw;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxStatements) return false;
+                if (!eldest.getValue().inUse) closeQuietly(eldest.getValue().statement);
+                else eldest.getValue().evicted = true;
+                return true;
+            }
+        };
+    }
+
+    public PreparedStatement prepare(String sql) throws SQLException {
+        Entry entry = entries.get(sql);
+        if (entry == null) {
+            PreparedStatement ps = prepareRaw(sql);
+            try {
+                entry = new Entry(ps);
+            } catch (SQLException e) {
+                closeQuietly(ps);
+                throw e;
+            }
+            entry.inUse = true; // before put: a full cache must not close the statement we hand out
+            entries.put(sql, entry);
+        } else if (entry.inUse) {
+            // Same SQL already open on this connection: hand out a private, uncached statement
+            return counting(prepareRaw(sql), null);
+        } else {
+            CACHE_HITS.increment();
+            entry.inUse = true;
+        }
+        return counting(entry.statement, entry);
+    }
+
+    private PreparedStatement prepareRaw(String sql) throws SQLException {
+        PREPARES.increment();
+        return raw.prepareStatement(sql);
+    }
+
+    public void closeAll() {
+        for (Entry e : entries.values()) closeQuietly(e.statement);
+        entries.clear();
+    }
+
+    private PreparedStatement counting(PreparedStatement ps, Entry entry) {
+        boolean[] closed = {false};
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("close")) {
+                        if (closed[0]) return null;
+                        closed[0] = true;
+                        if (entry == null || entry.evicted) {
+                            ps.close();
+                        } else {
+                            try {
+                                ps.clearParameters();
+                                ps.clearBatch();
+                                if (entry.tuned) entry.restore();
+                            } catch (SQLException e) {
+                                entries.values().remove(entry); // cannot be reset: never hand it out again
+                                closeQuietly(ps);
+                                throw e;
+                            }
+                            entry.inUse = false;
+                        }
+                        return null;
+                    }
+                    if (name.equals("isClosed") && closed[0]) return true;
+                    if (name.equals("equals")) return proxy == args[0];
+                    if (name.equals("hashCode")) return System.identityHashCode(proxy);
+                    if (closed[0]) throw new SQLException("Statement is closed");
+                    if (name.startsWith("execute")) EXECUTES.increment();
+                    else if (entry != null && TUNING.contains(name)) entry.tuned = true;
+                    try {
+                        return method.invoke(ps, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    public static long getPrepareCount() { return PREPARES.sum(); }
+    public static long getCacheHitCount() { return CACHE_HITS.sum(); }
+    public static long getExecuteCount() { return EXECUTES.sum(); }
+
+    public static String stats() {
+        return String.format("StatementCache[prepares=%d, cacheHits=%d, executes=%d]",
+                getPrepareCount(), getCacheHitCount(), getExecuteCount());
+    }
+
+    private static class Entry {
+        final PreparedStatement statement;
+        final int fetchSize, maxRows, queryTimeout, fetchDirection; // driver defaults at prepare time
+        boolean inUse, evicted, tuned;
+
+        Entry(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+            this.maxRows = statement.getMaxRows();
+            this.queryTimeout = statement.getQueryTimeout();
+            this.fetchDirection = statement.getFetchDirection();
+        }
+
+        // A borrower's setFetchSize/setMaxRows/setQueryTimeout must not reach the next borrower
+        void restore() throws SQLException {
+            statement.setMaxRows(maxRows); // first: some drivers refuse a fetch size above max rows
+            statement.setFetchSize(fetchSize);
+            statement.setQueryTimeout(queryTimeout);
+            statement.setFetchDirection(fetchDirection);
+            tuned = false;
+        }
+    }
+}
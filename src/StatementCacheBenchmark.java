@@ -0,0 +1,66 @@
+import java.sql.*;
+import java.util.List;
+
+// ⏱️ Cost of re-preparing the credential JOIN on every call versus reusing a cached statement.
+// Runs the same borrow → prepare → execute → close cycle on two pools, one with the
+// per-connection statement cache disabled. Use the swiftbank.db.* properties to pick the DB.
+// First checks that a borrower's fetch size, max rows and timeout do not reach the next borrower.
+public class StatementCacheBenchmark {
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        BankServiceHarness.createSchema();
+        String accountNo = BankServiceHarness.seedAccounts(1, Money.parse("100")).get(0);
+
+        ConnectionPool uncached = DBConnection.createPool(0);
+        ConnectionPool cached = DBConnection.createPool(64);
+        checkReset(uncached, accountNo);
+        for (int round = 1; round <= 3; round++) {
+            System.out.println("— Round " + round + " —");
+            for (ConnectionPool pool : List.of(uncached, cached)) {
+                long prepares = StatementCache.getPrepareCount();
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    try (Connection con = pool.borrow();
+                         PreparedStatement ps = con.prepareStatement(Sql.LOAD_CREDENTIAL.text())) {
+                        ps.setString(1, accountNo);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            if (!rs.next()) throw new IllegalStateException("credential row missing");
+                        }
+                    }
+                }
+                long nanos = System.nanoTime() - start;
+                System.out.printf("%-22s %10.1f µs/op %10.0f ops/s  prepares=%d%n",
+                        pool == cached ? "statement cache on" : "statement cache off",
+                        nanos / 1e3 / iterations, iterations / (nanos / 1e9), StatementCache.getPrepareCount() - prepares);
+            }
+        }
+        System.out.println(StatementCache.stats());
+        uncached.shutdown();
+        cached.shutdown();
+        System.exit(0);
+    }
+
+    // 🧹 Tune a cached statement, hand it back, borrow it again: the defaults must be back
+    private static void checkReset(ConnectionPool pool, String accountNo) throws SQLException {
+        try (Connection con = pool.borrow()) {
+            StatementCache cache = new StatementCache(con, 4);
+            int fetchSize, maxRows, timeout;
+            try (PreparedStatement ps = cache.prepare(Sql.LOAD_CREDENTIAL.text())) {
+                fetchSize = ps.getFetchSize();
+                maxRows = ps.getMaxRows();
+                timeout = ps.getQueryTimeout();
+                ps.setFetchSize(7);
+                ps.setMaxRows(1);
+                ps.setQueryTimeout(3);
+                ps.setString(1, accountNo);
+                ps.executeQuery().close();
+            }
+            try (PreparedStatement ps = cache.prepare(Sql.LOAD_CREDENTIAL.text())) {
+                if (ps.getFetchSize() != fetchSize || ps.getMaxRows() != maxRows || ps.getQueryTimeout() != timeout)
+                    throw new IllegalStateException("cached statement kept the previous borrower's settings");
+            }
+            cache.closeAll();
+        }
+        System.out.println("🧹 Cached statements come back with their default fetch size, max rows and timeout");
+    }
+}
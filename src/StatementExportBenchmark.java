@@ -0,0 +1,83 @@
+import java.io.InterruptedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ⏱️ Streams a large history through StatementExporter in both formats and checks that retained
+// heap does not grow with row count. Run with a small heap to make the point, e.g.
+//   java -Xmx48m -Dswiftbank.db.url=jdbc:h2:mem:bank -Dswiftbank.db.driver=org.h2.Driver -Dswiftbank.db.user=sa \
+//        -Drows=1000000 StatementExportBenchmark
+public class StatementExportBenchmark {
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("rows", 1_000_000);
+        BankServiceHarness.createSchema();
+        String accountNo = BankServiceHarness.seedAccounts(1, Money.parse("0")).get(0);
+        long expectedMinor = seedHistory(accountNo, rows);
+        Path dir = Files.createTempDirectory("swiftbank-export");
+        StatementExporter exporter = new StatementExporter();
+
+        for (StatementExporter.Format format : StatementExporter.Format.values()) {
+            Path target = dir.resolve("statement" + format.extension);
+            long liveBefore = liveHeap();
+            long t0 = System.nanoTime();
+            long written = exporter.export(accountNo, format, target, (done, total) -> { }, () -> false);
+            double seconds = (System.nanoTime() - t0) / 1e9;
+            System.out.printf("%-9s %,10d rows in %5.2fs (%,9.0f rows/s) %,12d bytes, live heap %+,d KiB%n",
+                    format, written, seconds, written / seconds, Files.size(target), (liveHeap() - liveBefore) / 1024);
+        }
+
+        AtomicLong sum = new AtomicLong();
+        long read = StatementExporter.readColumnar(dir.resolve("statement.sbc"),
+                (id, type, amountMinor, epochMillis) -> sum.addAndGet(type.equals("Deposit") ? amountMinor : -amountMinor));
+        System.out.println(read == rows && sum.get() == expectedMinor
+                ? "✅ Columnar round trip matches" : "❌ Columnar round trip: " + read + " rows, net " + sum.get());
+
+        Path cancelledTarget = dir.resolve("cancelled.csv");
+        try {
+            exporter.export(accountNo, StatementExporter.Format.CSV, cancelledTarget,
+                    (done, total) -> { }, new java.util.function.BooleanSupplier() {
+                        int calls;
+                        public boolean getAsBoolean() { return ++calls > 10; }
+                    });
+            System.out.println("❌ Cancelled export completed");
+        } catch (InterruptedIOException e) {
+            boolean clean = !Files.exists(cancelledTarget) && !Files.exists(dir.resolve("cancelled.csv.part"));
+            System.out.println(clean ? "✅ Cancelled export left no files" : "❌ Cancelled export left a partial file");
+        }
+        System.exit(0);
+    }
+
+    private static long seedHistory(String accountNo, int rows) throws SQLException {
+        long net = 0;
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(Sql.INSERT_TRANSACTION.text())) {
+            con.setAutoCommit(false);
+            for (int i = 0; i < rows; i++) {
+                boolean deposit = i % 3 != 0;
+                Money amount = Money.ofMinor(100 + i % 997);
+                ps.setString(1, accountNo);
+                ps.setString(2, deposit ? "Deposit" : "Withdrawal");
+                ps.setBigDecimal(3, amount.toBigDecimal());
+                ps.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+                ps.addBatch();
+                net += deposit ? amount.getMinor() : -amount.getMinor();
+                if (i % 1000 == 999) {
+                    ps.executeBatch();
+                    con.commit();
+                }
+            }
+            ps.executeBatch();
+            con.commit();
+            con.setAutoCommit(true);
+        }
+        return net;
+    }
+
+    // Heap still reachable after a full GC: what the export retained, not its short-lived garbage
+    private static long liveHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,281 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+// 📤 Streams an account's full history to a file in constant memory: archived months one at a
+// time, then a forward-only, read-only ResultSet with a tuned fetch size over the hot rows, feed
+// a fixed direct buffer drained to a FileChannel.
+// Output goes to "<target>.part" and is moved into place only when the export completes, so a
+// cancelled or failed export never leaves a truncated file behind.
+//
+// Columnar layout (little state, no index): [int magic][int version][currency code] then row
+// groups of up to GROUP_ROWS rows: [int rows][type dictionary][ids][type codes][amounts][times],
+// each numeric column delta/zigzag varint encoded; an [int 0] group ends the file, followed by
+// [long total rows].
+public class StatementExporter {
+    public enum Format {
+        CSV(".csv"), COLUMNAR(".sbc");
+
+        public final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Progress {
+        void update(long rowsDone, long rowsTotal);
+    }
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(long id, String type, long amountMinor, long epochMillis);
+    }
+
+    private static final int FETCH_SIZE = Integer.getInteger("swiftbank.export.fetchSize", 1000);
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final int GROUP_ROWS = 4096;
+    private static final int MAGIC = 0x53424358; // "SBCX"
+    private static final int VERSION = 1;
+    private static final int PROGRESS_EVERY = 1024;
+
+    // 🚚 Blocking; returns the number of rows written. Cancelled exports throw InterruptedIOException.
+    public long export(String accountNo, Format format, Path target, Progress progress, BooleanSupplier cancelled)
+            throws SQLException, IOException {
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        try (Connection con = DBConnection.getConnection()) {
+            if (con == null) throw new SQLException("Database connection failed.");
+            long total = estimateRows(con, accountNo);
+            long rows;
+            try (HistoryRouter.Cursor rs = new HistoryRouter(TransactionArchive.getInstance()).ascending(con, accountNo, FETCH_SIZE);
+                 FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                Sink sink = new Sink(out);
+                rows = format == Format.CSV
+                        ? writeCsv(rs, sink, total, progress, cancelled)
+                        : writeColumnar(rs, sink, total, progress, cancelled);
+                sink.flush();
+                out.force(false);
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            progress.update(rows, rows);
+            return rows;
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    // Progress denominator from the O(1) summary rows instead of a COUNT(*) over history
+    private static long estimateRows(Connection con, String accountNo) throws SQLException {
+        AccountAggregates.Totals all = AccountAggregates.read(con, accountNo).allTime();
+        return all.depositCount() + all.withdrawalCount();
+    }
+
+    private static void checkCancelled(BooleanSupplier cancelled) throws InterruptedIOException {
+        if (cancelled.getAsBoolean() || Thread.currentThread().isInterrupted())
+            throw new InterruptedIOException("Export cancelled");
+    }
+
+    // 🧾 CSV: rows are built in one reused StringBuilder and encoded straight into the buffer
+    private static long writeCsv(HistoryRouter.Cursor rs, Sink sink, long total, Progress progress, BooleanSupplier cancelled)
+            throws SQLException, IOException {
+        StringBuilder line = new StringBuilder(96);
+        sink.text(line.append("id,type,amount,timestamp\n"));
+        long rows = 0;
+        while (rs.next()) {
+            line.setLength(0);
+            line.append(rs.id()).append(',');
+            appendCsvField(line, rs.type());
+            line.append(',');
+            Money.appendMinor(line, rs.amountMinor(), Money.INR.getDefaultFractionDigits());
+            line.append(',').append(new Timestamp(rs.epochMillis()).toLocalDateTime()).append('\n');
+            sink.text(line);
+            if (++rows % PROGRESS_EVERY == 0) {
+                checkCancelled(cancelled);
+                progress.update(rows, Math.max(rows, total));
+            }
+        }
+        return rows;
+    }
+
+    private static void appendCsvField(StringBuilder sb, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            sb.append(value);
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') sb.append('"');
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    // 🧱 Columnar: one fixed-size row group of primitive columns is the only per-row state
+    private static long writeColumnar(HistoryRouter.Cursor rs, Sink sink, long total, Progress progress, BooleanSupplier cancelled)
+            throws SQLException, IOException {
+        long[] ids = new long[GROUP_ROWS], amounts = new long[GROUP_ROWS], times = new long[GROUP_ROWS];
+        byte[] codes = new byte[GROUP_ROWS];
+        Map<String, Byte> dictionary = new LinkedHashMap<>();
+        sink.ensure(8).putInt(MAGIC).putInt(VERSION);
+        sink.string(Money.INR.getCurrencyCode());
+
+        long rows = 0;
+        int n = 0;
+        while (rs.next()) {
+            String type = rs.type();
+            Byte code = dictionary.get(type);
+            if (code == null) {
+                if (dictionary.size() == Byte.MAX_VALUE) { // dictionary full: start a new group
+                    writeGroup(sink, ids, codes, amounts, times, n, dictionary);
+                    n = 0;
+                    dictionary.clear();
+                }
+                code = (byte) dictionary.size();
+                dictionary.put(type, code);
+            }
+            ids[n] = rs.id();
+            codes[n] = code;
+            amounts[n] = rs.amountMinor();
+            times[n] = rs.epochMillis();
+            if (++n == GROUP_ROWS) {
+                writeGroup(sink, ids, codes, amounts, times, n, dictionary);
+                n = 0;
+                dictionary.clear();
+            }
+            if (++rows % PROGRESS_EVERY == 0) {
+                checkCancelled(cancelled);
+                progress.update(rows, Math.max(rows, total));
+            }
+        }
+        if (n > 0) writeGroup(sink, ids, codes, amounts, times, n, dictionary);
+        sink.ensure(12).putInt(0).putLong(rows);
+        return rows;
+    }
+
+    private static void writeGroup(Sink sink, long[] ids, byte[] codes, long[] amounts, long[] times, int n,
+                                   Map<String, Byte> dictionary) throws IOException {
+        sink.ensure(5).putInt(n).put((byte) dictionary.size());
+        for (String type : dictionary.keySet()) sink.string(type);
+        long prev = 0;
+        for (int i = 0; i < n; i++) {
+            sink.varint(zigzag(ids[i] - prev));
+            prev = ids[i];
+        }
+        for (int i = 0; i < n; i++) sink.ensure(1).put(codes[i]);
+        for (int i = 0; i < n; i++) sink.varint(zigzag(amounts[i]));
+        prev = 0;
+        for (int i = 0; i < n; i++) {
+            sink.varint(zigzag(times[i] - prev));
+            prev = times[i];
+        }
+    }
+
+    // 📥 Reads a columnar export back through a read-only mapping (no heap copy of the file)
+    public static long readColumnar(Path file, RowConsumer consumer) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) throw new IOException("Not a SwiftBank columnar export");
+            Currency.getInstance(readString(in));
+            long[] ids = new long[GROUP_ROWS], amounts = new long[GROUP_ROWS], times = new long[GROUP_ROWS];
+            byte[] codes = new byte[GROUP_ROWS];
+            String[] dictionary = new String[Byte.MAX_VALUE];
+            long rows = 0;
+            int n;
+            while ((n = in.getInt()) > 0) {
+                int dictSize = in.get();
+                for (int i = 0; i < dictSize; i++) dictionary[i] = readString(in);
+                long prev = 0;
+                for (int i = 0; i < n; i++) ids[i] = prev += unzigzag(readVarint(in));
+                in.get(codes, 0, n);
+                for (int i = 0; i < n; i++) amounts[i] = unzigzag(readVarint(in));
+                prev = 0;
+                for (int i = 0; i < n; i++) times[i] = prev += unzigzag(readVarint(in));
+                for (int i = 0; i < n; i++) consumer.accept(ids[i], dictionary[codes[i]], amounts[i], times[i]);
+                rows += n;
+            }
+            long expected = in.getLong();
+            if (expected != rows) throw new IOException("Columnar export truncated: " + rows + " of " + expected + " rows");
+            return rows;
+        }
+    }
+
+    static long zigzag(long v) { return (v << 1) ^ (v >> 63); }
+    static long unzigzag(long v) { return (v >>> 1) ^ -(v & 1); }
+
+    static long readVarint(ByteBuffer in) {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return v;
+        }
+    }
+
+    static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // 💾 Fixed direct buffer in front of the channel
+    private static final class Sink {
+        private final FileChannel out;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        Sink(FileChannel out) {
+            this.out = out;
+        }
+
+        ByteBuffer ensure(int bytes) throws IOException {
+            if (buf.remaining() < bytes) flush();
+            return buf;
+        }
+
+        void varint(long v) throws IOException {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf.put((byte) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            buf.put((byte) v);
+        }
+
+        void string(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            ensure(2 + bytes.length).putShort((short) bytes.length).put(bytes);
+        }
+
+        void text(CharSequence s) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(s);
+            encoder.reset();
+            while (true) {
+                CoderResult result = encoder.encode(chars, buf, true);
+                if (result.isOverflow()) flush();
+                else if (result.isUnderflow()) break;
+                else result.throwException();
+            }
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) out.write(buf);
+            buf.clear();
+        }
+    }
+}
@@ -5,6 +5,12 @@ public class TestDB {
         Connection con = DBConnection.getConnection();
         if (con != null) {
             System.out.println("✅ Connected to bankdb successfully!");
+            try {
+                con.close();
+                System.out.println("🏊 " + DBConnection.getPool());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
         } else {
             System.out.println("❌ Connection failed!");
         }
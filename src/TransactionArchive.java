@@ -0,0 +1,487 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// 🗃️ Archive tier for transaction history. The transactions table keeps the hot months: the
+// current one plus swiftbank.archive.hotMonths - 1 closed ones. Older months are compacted into
+// one read-only file per month under swiftbank.archive.dir, registered in transaction_archive,
+// and then deleted from the table. The horizon, the first instant after the newest archived
+// month, divides the two tiers. Hot reads use it as a lower bound, and archive reads only cover
+// the months before it, so a month whose hot rows are still being purged is never read twice.
+//
+// Month file: [int magic][int version][currency code], then one deflated block per account
+// (the StatementExporter columnar group layout, rows in (timestamp, id) order), then a footer
+// of [accountNo, offset, lengths, rows, deposit/withdrawal totals] entries and a trailer of
+// [long footer offset][int footer CRC32][int magic]. A block is located with one footer lookup
+// and read with one positional read.
+//
+// The files live on this machine. Several app instances sharing one database must share the
+// directory too. Archiving moves data out of the database, so it is opt-in with
+// -Dswiftbank.archive.enabled=true, which runs it daily in the background.
+public class TransactionArchive {
+    static final boolean ENABLED = Boolean.getBoolean("swiftbank.archive.enabled");
+    private static final String DIR = System.getProperty("swiftbank.archive.dir",
+            Path.of(System.getProperty("user.home"), ".swiftbank", "archive").toString());
+    private static final int HOT_MONTHS = Math.max(1, Integer.getInteger("swiftbank.archive.hotMonths", 3));
+    private static final long REGISTRY_REFRESH_MS = 60_000;
+    private static final int MAGIC = 0x53424152; // "SBAR"
+    private static final int VERSION = 1;
+    private static final int SCAN_FETCH_SIZE = 1000;
+    private static final int PURGE_ACCOUNTS_PER_COMMIT = 100;
+
+    private static final TransactionArchive INSTANCE = new TransactionArchive(Path.of(DIR), HOT_MONTHS);
+
+    public record ArchivedMonth(YearMonth month, String fileName, long rows, boolean purged) {
+    }
+
+    // One account's rows within a month file
+    private record Block(long offset, int length, int rawLength, int rows, long depositMinor, long depositCount,
+                         long withdrawalMinor, long withdrawalCount) {
+    }
+
+    private record MonthFile(FileChannel channel, Map<String, Block> blocks) {
+    }
+
+    private final Path dir;
+    private final int hotMonths;
+    private final Map<YearMonth, MonthFile> files = new ConcurrentHashMap<>();
+    private volatile List<ArchivedMonth> registry;
+    private volatile long registryLoadedAt;
+    private volatile boolean schemaReady;
+    private ScheduledExecutorService scheduler;
+
+    public static TransactionArchive getInstance() {
+        return INSTANCE;
+    }
+
+    TransactionArchive(Path dir, int hotMonths) {
+        this.dir = dir;
+        this.hotMonths = hotMonths;
+    }
+
+    // ▶️ Daily archiving when enabled; reads work either way
+    public synchronized void start() {
+        if (!ENABLED || scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "swiftbank-archiver");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                archiveClosedMonths();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }, 1, TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+    }
+
+    // 📅 Archived months, oldest first (re-read from the registry at most once a minute)
+    public List<ArchivedMonth> months(Connection con) throws SQLException {
+        List<ArchivedMonth> months = registry;
+        if (months == null || System.currentTimeMillis() - registryLoadedAt > REGISTRY_REFRESH_MS) {
+            ensureSchema(con);
+            List<ArchivedMonth> loaded = new ArrayList<>();
+            try (PreparedStatement ps = con.prepareStatement(Sql.ARCHIVE_MONTHS.text());
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) loaded.add(new ArchivedMonth(YearMonth.parse(rs.getString(1).trim()),
+                        rs.getString(2), rs.getLong(3), rs.getBoolean(4)));
+            }
+            registry = months = List.copyOf(loaded);
+            registryLoadedAt = System.currentTimeMillis();
+        }
+        return months;
+    }
+
+    // ⏳ Everything before this lives in the archive, everything from it on in the transactions table
+    public Timestamp horizon(Connection con) throws SQLException {
+        List<ArchivedMonth> months = months(con);
+        return months.isEmpty() ? new Timestamp(0) : start(months.get(months.size() - 1).month.plusMonths(1));
+    }
+
+    // 📖 One account's rows for an archived month, oldest first
+    public List<BankService.HistoryEntry> read(YearMonth month, String accountNo) throws IOException {
+        MonthFile file = open(month);
+        Block block = file.blocks.get(accountNo);
+        if (block == null) return List.of();
+        ByteBuffer compressed = ByteBuffer.allocate(block.length);
+        while (compressed.hasRemaining()) {
+            if (file.channel.read(compressed, block.offset + compressed.position()) < 0)
+                throw new IOException("Archive " + month + " is truncated");
+        }
+        byte[] raw = new byte[block.rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array());
+            if (inflater.inflate(raw) != raw.length || !inflater.finished())
+                throw new IOException("Archive " + month + " block for " + accountNo + " is corrupt");
+        } catch (DataFormatException e) {
+            throw new IOException("Archive " + month + " block for " + accountNo + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        return decode(ByteBuffer.wrap(raw));
+    }
+
+    // 📊 Deposit/withdrawal totals of everything archived for an account (footer data, no blocks read)
+    public AccountAggregates.Totals totals(Connection con, String accountNo) throws SQLException {
+        long depositMinor = 0, depositCount = 0, withdrawalMinor = 0, withdrawalCount = 0;
+        for (ArchivedMonth m : months(con)) {
+            Block b;
+            try {
+                b = open(m.month).blocks.get(accountNo);
+            } catch (IOException e) {
+                throw new SQLException("Archive " + m.month + " unreadable: " + e.getMessage(), e);
+            }
+            if (b == null) continue;
+            depositMinor += b.depositMinor;
+            depositCount += b.depositCount;
+            withdrawalMinor += b.withdrawalMinor;
+            withdrawalCount += b.withdrawalCount;
+        }
+        return new AccountAggregates.Totals(Money.ofMinor(depositMinor), depositCount,
+                Money.ofMinor(withdrawalMinor), withdrawalCount);
+    }
+
+    // 🧹 Archives every month older than the hot window, oldest first, and finishes any purge an
+    // earlier run left half done. Returns the number of months archived.
+    public int archiveClosedMonths() throws SQLException, IOException {
+        Connection con = DBConnection.getConnection();
+        if (con == null) throw new SQLException("Database connection failed.");
+        try (con) {
+            ensureSchema(con);
+            registry = null; // always start from the registry as it is now
+            for (ArchivedMonth m : months(con))
+                if (!m.purged) purge(con, m.month);
+
+            YearMonth firstHot = YearMonth.now().minusMonths(hotMonths - 1);
+            Timestamp oldest;
+            try (PreparedStatement ps = con.prepareStatement(Sql.ARCHIVE_OLDEST.text())) {
+                ps.setTimestamp(1, horizon(con));
+                try (ResultSet rs = ps.executeQuery()) {
+                    oldest = rs.next() ? rs.getTimestamp(1) : null;
+                }
+            }
+            if (oldest == null) return 0;
+            int archived = 0;
+            for (YearMonth m = YearMonth.from(oldest.toLocalDateTime()); m.isBefore(firstHot); m = m.plusMonths(1)) {
+                archiveMonth(con, m);
+                archived++;
+            }
+            return archived;
+        }
+    }
+
+    // File first (fsynced, moved into place), then the registry row that moves the horizon, then
+    // the purge. A crash before the registry row leaves a stray file that the next run replaces;
+    // a crash during the purge is finished by the next run.
+    private void archiveMonth(Connection con, YearMonth month) throws SQLException, IOException {
+        Files.createDirectories(dir);
+        String fileName = "transactions-" + month + ".sbar";
+        Path target = dir.resolve(fileName), part = dir.resolve(fileName + ".part");
+        long rows;
+        try {
+            rows = writeMonth(con, month, part);
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+        closeFile(month);
+        long stored = open(month).blocks.values().stream().mapToLong(Block::rows).sum();
+        if (stored != rows) throw new IOException("Archive " + month + " holds " + stored + " of " + rows + " rows");
+
+        try (PreparedStatement ps = con.prepareStatement(Sql.ARCHIVE_REGISTER.text())) {
+            ps.setString(1, month.toString());
+            ps.setString(2, fileName);
+            ps.setLong(3, rows);
+            ps.executeUpdate();
+        }
+        registry = null;
+        System.out.printf("🗃️ Archived %s: %,d rows, %,d bytes%n", month, rows, Files.size(target));
+        purge(con, month);
+    }
+
+    private long writeMonth(Connection con, YearMonth month, Path part) throws SQLException, IOException {
+        Map<String, Block> footer = new LinkedHashMap<>();
+        try (FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             PreparedStatement ps = con.prepareStatement(Sql.ARCHIVE_SCAN_MONTH.text(),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ByteBuffer header = ByteBuffer.allocate(64);
+            header.putInt(MAGIC).putInt(VERSION);
+            putString(header, Money.INR.getCurrencyCode());
+            writeFully(out, header.flip());
+
+            ps.setFetchSize(SCAN_FETCH_SIZE);
+            ps.setTimestamp(1, start(month));
+            ps.setTimestamp(2, start(month.plusMonths(1)));
+            long rows = 0;
+            BlockWriter block = new BlockWriter();
+            String account = null;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String accountNo = rs.getString(1);
+                    if (!accountNo.equals(account)) {
+                        if (account != null) footer.put(account, block.writeTo(out));
+                        account = accountNo;
+                    }
+                    block.add(rs.getLong(2), rs.getString(3), Money.of(rs.getBigDecimal(4)).getMinor(),
+                            rs.getTimestamp(5).getTime());
+                    rows++;
+                }
+            }
+            if (account != null) footer.put(account, block.writeTo(out));
+
+            long footerOffset = out.position();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ByteBuffer entry = ByteBuffer.allocate(2 + 4 * 20 + 52); // account_no is VARCHAR(20)
+            entry.putInt(footer.size());
+            bytes.write(entry.array(), 0, entry.position());
+            for (Map.Entry<String, Block> e : footer.entrySet()) {
+                Block b = e.getValue();
+                entry.clear();
+                putString(entry, e.getKey());
+                entry.putLong(b.offset).putInt(b.length).putInt(b.rawLength).putInt(b.rows)
+                        .putLong(b.depositMinor).putLong(b.depositCount).putLong(b.withdrawalMinor).putLong(b.withdrawalCount);
+                bytes.write(entry.array(), 0, entry.position());
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            writeFully(out, ByteBuffer.wrap(bytes.toByteArray()));
+            writeFully(out, ByteBuffer.allocate(16).putLong(footerOffset).putInt((int) crc.getValue()).putInt(MAGIC).flip());
+            out.force(true);
+            return rows;
+        }
+    }
+
+    // Deletes the month's hot rows account by account (index range deletes, short transactions)
+    private void purge(Connection con, YearMonth month) throws SQLException, IOException {
+        Set<String> accounts = open(month).blocks.keySet();
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try (PreparedStatement ps = con.prepareStatement(Sql.ARCHIVE_PURGE.text())) {
+            int pending = 0;
+            for (String accountNo : accounts) {
+                ps.setString(1, accountNo);
+                ps.setTimestamp(2, start(month));
+                ps.setTimestamp(3, start(month.plusMonths(1)));
+                ps.addBatch();
+                if (++pending == PURGE_ACCOUNTS_PER_COMMIT) {
+                    ps.executeBatch();
+                    con.commit();
+                    pending = 0;
+                }
+            }
+            ps.executeBatch();
+            try (PreparedStatement mark = con.prepareStatement(Sql.ARCHIVE_MARK_PURGED.text())) {
+                mark.setString(1, month.toString());
+                mark.executeUpdate();
+            }
+            con.commit();
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+        registry = null;
+    }
+
+    private MonthFile open(YearMonth month) throws IOException {
+        MonthFile file = files.get(month);
+        if (file != null) return file;
+        synchronized (files) {
+            file = files.get(month);
+            if (file == null) {
+                file = load(dir.resolve("transactions-" + month + ".sbar"));
+                files.put(month, file);
+            }
+            return file;
+        }
+    }
+
+    private void closeFile(YearMonth month) throws IOException {
+        MonthFile file = files.remove(month);
+        if (file != null) file.channel.close();
+    }
+
+    private static MonthFile load(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = ch.size();
+            ByteBuffer trailer = ByteBuffer.allocate(16);
+            readFully(ch, trailer, size - 16);
+            long footerOffset = trailer.flip().getLong();
+            int expectedCrc = trailer.getInt();
+            if (trailer.getInt() != MAGIC || footerOffset < 0 || footerOffset > size - 16)
+                throw new IOException(path + " is not a transaction archive");
+            ByteBuffer footer = ByteBuffer.allocate((int) (size - 16 - footerOffset));
+            readFully(ch, footer, footerOffset);
+            CRC32 crc = new CRC32();
+            crc.update(footer.array());
+            if ((int) crc.getValue() != expectedCrc) throw new IOException(path + " footer is corrupt");
+            footer.flip();
+            int count = footer.getInt();
+            Map<String, Block> blocks = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                String accountNo = StatementExporter.readString(footer);
+                blocks.put(accountNo, new Block(footer.getLong(), footer.getInt(), footer.getInt(), footer.getInt(),
+                        footer.getLong(), footer.getLong(), footer.getLong(), footer.getLong()));
+            }
+            return new MonthFile(ch, blocks);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    private static List<BankService.HistoryEntry> decode(ByteBuffer in) {
+        int n = in.getInt();
+        String[] dictionary = new String[in.get()];
+        for (int i = 0; i < dictionary.length; i++) dictionary[i] = StatementExporter.readString(in);
+        long[] ids = new long[n], times = new long[n];
+        long prev = 0;
+        for (int i = 0; i < n; i++) ids[i] = prev += StatementExporter.unzigzag(StatementExporter.readVarint(in));
+        byte[] codes = new byte[n];
+        in.get(codes);
+        long[] amounts = new long[n];
+        for (int i = 0; i < n; i++) amounts[i] = StatementExporter.unzigzag(StatementExporter.readVarint(in));
+        prev = 0;
+        for (int i = 0; i < n; i++) times[i] = prev += StatementExporter.unzigzag(StatementExporter.readVarint(in));
+        List<BankService.HistoryEntry> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+            rows.add(new BankService.HistoryEntry(ids[i], dictionary[codes[i]], Money.ofMinor(amounts[i]), new Timestamp(times[i])));
+        return rows;
+    }
+
+    // 🧱 Accumulates one account's rows, then writes them as a deflated columnar block
+    private static final class BlockWriter {
+        private long[] ids = new long[256], amounts = new long[256], times = new long[256];
+        private byte[] codes = new byte[256];
+        private final Map<String, Byte> dictionary = new LinkedHashMap<>();
+        private final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private final byte[] chunk = new byte[64 * 1024];
+        private int n;
+        private long depositMinor, depositCount, withdrawalMinor, withdrawalCount;
+
+        void add(long id, String type, long amountMinor, long epochMillis) {
+            if (n == ids.length) {
+                ids = Arrays.copyOf(ids, n * 2);
+                amounts = Arrays.copyOf(amounts, n * 2);
+                times = Arrays.copyOf(times, n * 2);
+                codes = Arrays.copyOf(codes, n * 2);
+            }
+            Byte code = dictionary.get(type);
+            if (code == null) {
+                if (dictionary.size() == Byte.MAX_VALUE) throw new IllegalStateException("Too many transaction types");
+                code = (byte) dictionary.size();
+                dictionary.put(type, code);
+            }
+            ids[n] = id;
+            codes[n] = code;
+            amounts[n] = amountMinor;
+            times[n] = epochMillis;
+            n++;
+            if (LedgerService.isCredit(type)) {
+                depositMinor += amountMinor;
+                depositCount++;
+            } else if (LedgerService.isDebit(type)) {
+                withdrawalMinor += amountMinor;
+                withdrawalCount++;
+            }
+        }
+
+        Block writeTo(FileChannel out) throws IOException {
+            raw.reset();
+            ByteBuffer head = ByteBuffer.allocate(5).putInt(n).put((byte) dictionary.size());
+            raw.write(head.array(), 0, 5);
+            for (String type : dictionary.keySet()) {
+                byte[] bytes = type.getBytes(StandardCharsets.UTF_8);
+                raw.write(bytes.length >> 8);
+                raw.write(bytes.length);
+                raw.write(bytes, 0, bytes.length);
+            }
+            long prev = 0;
+            for (int i = 0; i < n; i++) {
+                varint(StatementExporter.zigzag(ids[i] - prev));
+                prev = ids[i];
+            }
+            raw.write(codes, 0, n);
+            for (int i = 0; i < n; i++) varint(StatementExporter.zigzag(amounts[i]));
+            prev = 0;
+            for (int i = 0; i < n; i++) {
+                varint(StatementExporter.zigzag(times[i] - prev));
+                prev = times[i];
+            }
+
+            long offset = out.position();
+            byte[] input = raw.toByteArray();
+            deflater.reset();
+            deflater.setInput(input);
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                int len = deflater.deflate(chunk);
+                writeFully(out, ByteBuffer.wrap(chunk, 0, len));
+                length += len;
+            }
+            Block block = new Block(offset, length, input.length, n,
+                    depositMinor, depositCount, withdrawalMinor, withdrawalCount);
+            n = 0;
+            dictionary.clear();
+            depositMinor = depositCount = withdrawalMinor = withdrawalCount = 0;
+            return block;
+        }
+
+        private void varint(long v) {
+            while ((v & ~0x7FL) != 0) {
+                raw.write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            raw.write((int) v);
+        }
+    }
+
+    static Timestamp start(YearMonth month) {
+        return Timestamp.valueOf(month.atDay(1).atStartOfDay());
+    }
+
+    private void ensureSchema(Connection con) throws SQLException {
+        if (schemaReady) return;
+        try (Statement st = con.createStatement()) {
+            st.execute(Sql.CREATE_TRANSACTION_ARCHIVE.text());
+        }
+        schemaReady = true;
+    }
+
+    private static void putString(ByteBuffer buf, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        buf.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) out.write(buf);
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, position + buf.position()) < 0) throw new IOException("Unexpected end of archive file");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+import java.io.IOException;
+import java.nio.file.*;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+// 🧪 Seeds six months of back-dated history, archives every closed month, and checks that the
+// reads behave as before: recent history, keyset paging across the tier boundary, statement
+// exports (byte for byte) and all-time aggregates rebuilt from the archive. Exits 1 on failure:
+//   java -Dswiftbank.db.url="jdbc:h2:mem:bank;DB_CLOSE_DELAY=-1" -Dswiftbank.db.driver=org.h2.Driver \
+//        -Dswiftbank.db.user=sa -Dswiftbank.auth.iterations=1000 TransactionArchiveHarness
+// The archive goes to a temporary directory with swiftbank.archive.hotMonths=1.
+public class TransactionArchiveHarness {
+    private static final int ACCOUNTS = Integer.getInteger("accounts", 100);
+    private static final int MONTHS = 6;
+    private static final int ROWS_PER_MONTH = Integer.getInteger("rowsPerMonth", 60);
+    private static final int PAGE = 25;
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("swiftbank-archive");
+        System.setProperty("swiftbank.archive.dir", dir.toString());
+        System.setProperty("swiftbank.archive.hotMonths", "1");
+        BankService bank = BankService.getInstance();
+        BankServiceHarness.createSchema();
+        List<String> accountNos = BankServiceHarness.seedAccounts(ACCOUNTS, Money.parse("1000"));
+        Map<String, long[]> expected = seedHistory(accountNos);
+        List<String> sample = accountNos.subList(0, 10);
+
+        Map<String, List<BankService.HistoryEntry>> recentBefore = new HashMap<>(), pagedBefore = new HashMap<>();
+        Map<String, byte[]> exportBefore = new HashMap<>();
+        for (String accountNo : sample) {
+            recentBefore.put(accountNo, bank.recentHistory(accountNo, 10));
+            pagedBefore.put(accountNo, pageAll(bank, accountNo));
+            exportBefore.put(accountNo, export(accountNo, dir));
+        }
+
+        long t0 = System.nanoTime();
+        int archived = TransactionArchive.getInstance().archiveClosedMonths();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        check(archived == MONTHS - 1, archived + " months archived, expected " + (MONTHS - 1));
+        check(TransactionArchive.getInstance().archiveClosedMonths() == 0, "second run archived again");
+
+        try (Connection con = DBConnection.getConnection()) {
+            Timestamp firstHot = TransactionArchive.start(YearMonth.now());
+            long hotRows = count(con, "SELECT COUNT(*) FROM transactions WHERE account_no LIKE ?", accountNos.get(0).replaceAll("\\d+$", "%"));
+            long stale = count(con, "SELECT COUNT(*) FROM transactions WHERE timestamp < ?", firstHot);
+            check(stale == 0, stale + " rows older than the hot window are still in transactions");
+            long files = 0, bytes = 0, rows = 0;
+            for (TransactionArchive.ArchivedMonth m : TransactionArchive.getInstance().months(con)) {
+                check(m.purged(), m.month() + " not marked purged");
+                files++;
+                bytes += Files.size(dir.resolve(m.fileName()));
+                rows += m.rows();
+            }
+            System.out.printf("🗃️ %d months, %,d rows archived in %.2fs: %,d bytes (%.1f bytes/row); %,d rows stay hot%n",
+                    files, rows, seconds, bytes, (double) bytes / Math.max(1, rows), hotRows);
+            // Rebuild the all-time totals from scratch: archive footers plus the hot rows
+            try (Statement st = con.createStatement()) {
+                st.executeUpdate("DELETE FROM account_aggregates");
+            }
+        }
+
+        for (String accountNo : sample) {
+            check(recentBefore.get(accountNo).equals(bank.recentHistory(accountNo, 10)), accountNo + " recent history changed");
+            check(pagedBefore.get(accountNo).equals(pageAll(bank, accountNo)), accountNo + " paged history changed");
+            check(Arrays.equals(exportBefore.get(accountNo), export(accountNo, dir)), accountNo + " export changed");
+        }
+        for (String accountNo : accountNos) {
+            AccountAggregates.Totals all = bank.summary(accountNo).allTime();
+            long[] e = expected.get(accountNo);
+            check(all.deposits().getMinor() == e[0] && all.depositCount() == e[1]
+                            && all.withdrawals().getMinor() == e[2] && all.withdrawalCount() == e[3],
+                    accountNo + " all-time totals " + all + " expected " + Arrays.toString(e));
+        }
+
+        String accountNo = sample.get(0);
+        System.out.printf("⏱️ recent history %.0f µs, full paged walk %.0f µs (%d rows)%n",
+                micros(() -> bank.recentHistory(accountNo, 10)), micros(() -> pageAll(bank, accountNo)),
+                pagedBefore.get(accountNo).size());
+        System.out.println(failures == 0 ? "✅ Archive tier serves history unchanged" : "❌ " + failures + " problem(s)");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // Rows spread over the current month and the five before it; returns per-account totals
+    // as [deposit minor, deposit count, withdrawal minor, withdrawal count]
+    private static Map<String, long[]> seedHistory(List<String> accountNos) throws SQLException {
+        Map<String, long[]> totals = new HashMap<>();
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(
+                     "INSERT INTO transactions (account_no, type, amount, timestamp) VALUES (?, ?, ?, ?)")) {
+            con.setAutoCommit(false);
+            for (String accountNo : accountNos) {
+                long[] t = totals.computeIfAbsent(accountNo, k -> new long[4]);
+                for (int m = MONTHS - 1; m >= 0; m--) {
+                    LocalDateTime start = YearMonth.now().minusMonths(m).atDay(1).atStartOfDay();
+                    LocalDateTime end = m == 0 ? now : start.plusMonths(1);
+                    long span = java.time.Duration.between(start, end).getSeconds();
+                    for (int i = 0; i < ROWS_PER_MONTH; i++) {
+                        boolean deposit = random.nextInt(3) > 0;
+                        long minor = 100 + random.nextInt(500_00);
+                        t[deposit ? 0 : 2] += minor;
+                        t[deposit ? 1 : 3]++;
+                        ps.setString(1, accountNo);
+                        ps.setString(2, deposit ? "Deposit" : "Withdrawal");
+                        ps.setBigDecimal(3, Money.ofMinor(minor).toBigDecimal());
+                        ps.setTimestamp(4, Timestamp.valueOf(start.plusSeconds((long) (random.nextDouble() * span))));
+                        ps.addBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            con.commit();
+        }
+        return totals;
+    }
+
+    private static List<BankService.HistoryEntry> pageAll(BankService bank, String accountNo) throws SQLException {
+        List<BankService.HistoryEntry> all = new ArrayList<>();
+        List<BankService.HistoryEntry> page = bank.historyPage(accountNo, null, 0, PAGE);
+        while (!page.isEmpty()) {
+            all.addAll(page);
+            BankService.HistoryEntry last = page.get(page.size() - 1);
+            page = bank.historyPage(accountNo, last.timestamp(), last.id(), PAGE);
+        }
+        return all;
+    }
+
+    private static byte[] export(String accountNo, Path dir) throws SQLException, IOException {
+        Path target = dir.resolve(accountNo + ".csv");
+        new StatementExporter().export(accountNo, StatementExporter.Format.CSV, target, (done, total) -> { }, () -> false);
+        byte[] bytes = Files.readAllBytes(target);
+        Files.delete(target);
+        return bytes;
+    }
+
+    private static long count(Connection con, String sql, Object param) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setObject(1, param);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Read {
+        Object run() throws SQLException;
+    }
+
+    private static double micros(Read read) throws SQLException {
+        for (int i = 0; i < 20; i++) read.run();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < 100; i++) read.run();
+        return (System.nanoTime() - t0) / 1e3 / 100;
+    }
+
+    private static void check(boolean ok, String what) {
+        if (ok) return;
+        failures++;
+        System.out.println("❌ " + what);
+    }
+}
@@ -0,0 +1,87 @@
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.AbstractList;
+import java.util.Currency;
+import java.util.List;
+
+// 🧾 Fixed-capacity ring of the most recent transaction records, stored in parallel primitive
+// arrays (epoch millis, type code, amount and resulting balance in minor units). Appending
+// never allocates; text is produced only when a record is actually displayed.
+public class TransactionRing {
+    public static final byte CREATED = 0;
+    public static final byte DEPOSIT = 1;
+    public static final byte WITHDRAWAL = 2;
+    public static final byte FAILED_WITHDRAWAL = 3;
+
+    private static final DateTimeFormatter FORMAT =
+            DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final long[] epochMillis;
+    private final byte[] types;
+    private final long[] amounts;
+    private final long[] balances;
+    private final Currency currency;
+    private int next;  // slot the next record goes into
+    private int size;
+
+    public TransactionRing(int capacity, Currency currency) {
+        epochMillis = new long[capacity];
+        types = new byte[capacity];
+        amounts = new long[capacity];
+        balances = new long[capacity];
+        this.currency = currency;
+    }
+
+    public synchronized void add(long timeMillis, byte type, long amountMinor, long balanceMinor) {
+        epochMillis[next] = timeMillis;
+        types[next] = type;
+        amounts[next] = amountMinor;
+        balances[next] = balanceMinor;
+        next = (next + 1) % epochMillis.length;
+        if (size < epochMillis.length) size++;
+    }
+
+    public synchronized int size() { return size; }
+    public int capacity() { return epochMillis.length; }
+
+    // Index 0 is the oldest retained record
+    private int slot(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return Math.floorMod(next - size + index, epochMillis.length);
+    }
+
+    public synchronized long timeAt(int index) { return epochMillis[slot(index)]; }
+    public synchronized byte typeAt(int index) { return types[slot(index)]; }
+    public synchronized long amountAt(int index) { return amounts[slot(index)]; }
+    public synchronized long balanceAt(int index) { return balances[slot(index)]; }
+
+    public String format(int index) {
+        long time, amount, balance;
+        byte type;
+        synchronized (this) {
+            int s = slot(index);
+            time = epochMillis[s];
+            type = types[s];
+            amount = amounts[s];
+            balance = balances[s];
+        }
+        String ts = "[" + FORMAT.format(Instant.ofEpochMilli(time)) + "]";
+        Money amt = Money.ofMinor(amount, currency), bal = Money.ofMinor(balance, currency);
+        return switch (type) {
+            case CREATED -> ts + " | Account created with balance " + bal;
+            case DEPOSIT -> ts + " ✅ Deposited " + amt + " | New Balance: " + bal;
+            case WITHDRAWAL -> ts + " ⚠️ Withdrew " + amt + " | New Balance: " + bal;
+            case FAILED_WITHDRAWAL -> ts + " ❌ Failed Withdrawal " + amt + " | Insufficient Balance";
+            default -> ts + " | " + amt;
+        };
+    }
+
+    // 👀 Read-only view, oldest first; each element is formatted on access
+    public List<String> asList() {
+        return new AbstractList<>() {
+            @Override public String get(int index) { return format(index); }
+            @Override public int size() { return TransactionRing.this.size(); }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+// ⏱️ Bytes allocated per history append: TransactionRing versus the old ArrayList<String> of
+// pre-formatted entries. Uses the HotSpot per-thread allocation counter, e.g.
+//   java TransactionRingBenchmark [appends]
+public class TransactionRingBenchmark {
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int appends = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().threadId();
+
+        for (int round = 1; round <= 3; round++) {
+            System.out.println("— Round " + round + " —");
+
+            TransactionRing ring = new TransactionRing(256, Money.INR);
+            long bytes = mx.getThreadAllocatedBytes(tid);
+            long start = System.nanoTime();
+            for (int i = 0; i < appends; i++) ring.add(System.currentTimeMillis(), TransactionRing.DEPOSIT, 12_550, 1_000_000L + i);
+            report("TransactionRing.add", appends, mx.getThreadAllocatedBytes(tid) - bytes, System.nanoTime() - start);
+            sink = ring;
+
+            bytes = mx.getThreadAllocatedBytes(tid);
+            start = System.nanoTime();
+            List<String> view = ring.asList();
+            int len = 0, passes = Math.max(1, appends / 2560);
+            for (int p = 0; p < passes; p++) {
+                for (String line : view) len += line.length();
+            }
+            report("format on display (per row)", passes * view.size(), mx.getThreadAllocatedBytes(tid) - bytes, System.nanoTime() - start);
+            sink = len;
+
+            List<String> legacy = new ArrayList<>();
+            SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss");
+            bytes = mx.getThreadAllocatedBytes(tid);
+            start = System.nanoTime();
+            for (int i = 0; i < appends; i++) {
+                legacy.add("[" + dateFormat.format(new Date()) + "] ✅ Deposited ₹125.5 | New Balance: ₹" + (10000.0 + i));
+            }
+            report("ArrayList<String> (legacy)", appends, mx.getThreadAllocatedBytes(tid) - bytes, System.nanoTime() - start);
+            sink = legacy;
+        }
+    }
+
+    private static void report(String name, int ops, long bytes, long nanos) {
+        System.out.printf("%-30s %10.1f bytes/op %10.1f ns/op%n", name, (double) bytes / ops, (double) nanos / ops);
+    }
+}
@@ -0,0 +1,147 @@
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// 📈 Lazily loaded transaction history: pages of rows are fetched with keyset pagination on
+// (timestamp, id) as the user scrolls, held in a small LRU cache, and the next page is prefetched.
+// A page that was evicted is fetched again between its first and last key, so postings made since
+// the first load never shift rows under stable indices. All model state is touched on the EDT
+// only; JDBC runs on a background loader thread.
+public class TransactionTableModel extends AbstractTableModel {
+    static final int PAGE_SIZE = 200;
+    static final int MAX_CACHED_PAGES = 8;
+
+    private static final String[] COLUMNS = {"ID", "Type", "Amount (₹)", "Date & Time"};
+    private static final Object LOADING = "…";
+
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "swiftbank-history-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String accountNo;
+    private final Consumer<Exception> onError;
+
+    // Keys (timestamp, id) of the first and last row of each page seen so far, newest first
+    private final List<Key> pageStarts = new ArrayList<>();
+    private final List<Key> pageEnds = new ArrayList<>();
+    private final List<Integer> pageSizes = new ArrayList<>();
+    private final Map<Integer, Object[][]> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> inFlight = new HashSet<>();
+    private int rowCount;
+    private boolean exhausted;
+    private volatile boolean closed;
+
+    public TransactionTableModel(String accountNo, Consumer<Exception> onError) {
+        this.accountNo = accountNo;
+        this.onError = onError;
+        requestPage(0);
+    }
+
+    // 🛑 Ignore any page that arrives after the user has navigated away
+    public void close() {
+        closed = true;
+    }
+
+    @Override public int getRowCount() { return rowCount; }
+    @Override public int getColumnCount() { return COLUMNS.length; }
+    @Override public String getColumnName(int column) { return COLUMNS[column]; }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int page = row / PAGE_SIZE;
+        // 🔮 Prefetch the next page as soon as the last known page is on screen
+        if (page == pageSizes.size() - 1 && !exhausted) requestPage(page + 1);
+        Object[][] rows = cache.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return LOADING;
+        }
+        int index = row % PAGE_SIZE;
+        return index < rows.length ? rows[index][column] : ""; // gone since the first load
+    }
+
+    private void requestPage(int page) {
+        if (closed || inFlight.contains(page) || page > pageSizes.size()) return;
+        inFlight.add(page);
+        boolean known = page < pageSizes.size();
+        Key after = known ? pageStarts.get(page).inclusive() : page == 0 ? null : pageEnds.get(page - 1);
+        Key until = known ? pageEnds.get(page) : null;
+        int limit = known ? pageSizes.get(page) : PAGE_SIZE;
+        LOADER.execute(() -> {
+            try {
+                Object[][] rows = fetch(after, until, limit);
+                SwingUtilities.invokeLater(() -> applyPage(page, rows));
+            } catch (SQLException e) {
+                SwingUtilities.invokeLater(() -> {
+                    inFlight.remove(page);
+                    if (!closed) onError.accept(e);
+                });
+            }
+        });
+    }
+
+    private void applyPage(int page, Object[][] rows) {
+        inFlight.remove(page);
+        if (closed) return;
+        cache.put(page, rows);
+        if (page < pageSizes.size()) {
+            // Re-fetch of an evicted page: only its cells change
+            fireTableRowsUpdated(page * PAGE_SIZE, page * PAGE_SIZE + pageSizes.get(page) - 1);
+            return;
+        }
+        if (rows.length < PAGE_SIZE) exhausted = true;
+        if (rows.length == 0) return;
+        pageStarts.add(Key.of(rows[0]));
+        pageEnds.add(Key.of(rows[rows.length - 1]));
+        pageSizes.add(rows.length);
+        int first = rowCount;
+        rowCount += rows.length;
+        fireTableRowsInserted(first, rowCount - 1);
+    }
+
+    // Rows older than `after` (newest first), stopping at `until` inclusive when given
+    private Object[][] fetch(Key after, Key until, int limit) throws SQLException {
+        List<BankService.HistoryEntry> page = after == null
+                ? BankService.getInstance().recentHistory(accountNo, limit)
+                : BankService.getInstance().historyPage(accountNo, after.timestamp, after.id, limit);
+        List<Object[]> rows = new ArrayList<>(page.size());
+        for (BankService.HistoryEntry e : page) {
+            if (until != null && until.isNewerThan(e.timestamp(), e.id())) break;
+            rows.add(new Object[]{e.id(), e.type(), e.amount().toPlainString(), e.timestamp()});
+        }
+        return rows.toArray(new Object[0][]);
+    }
+
+    private record Key(Timestamp timestamp, long id) {
+        static Key of(Object[] row) {
+            return new Key((Timestamp) row[3], ((Number) row[0]).longValue());
+        }
+
+        // Cursor that also returns this row: pages are "strictly older than" the cursor
+        Key inclusive() {
+            return new Key(timestamp, id + 1);
+        }
+
+        boolean isNewerThan(Timestamp ts, long otherId) {
+            int c = timestamp.compareTo(ts);
+            return c > 0 || (c == 0 && id > otherId);
+        }
+    }
+}
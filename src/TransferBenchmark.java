@@ -0,0 +1,138 @@
+import java.lang.management.ManagementFactory;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+// 🔁 Concurrent transfers between overlapping accounts with hot-account skew: with probability
+// `skew` each side of a transfer is one of a few hot accounts, otherwise any account. Payroll
+// batches from a hot payer run alongside. Checks that nothing deadlocks and that no money is
+// created or lost. Exits 1 on failure:
+//   java -Dswiftbank.db.url="jdbc:h2:mem:bank;DB_CLOSE_DELAY=-1" -Dswiftbank.db.driver=org.h2.Driver \
+//        -Dswiftbank.db.user=sa -Dswiftbank.auth.iterations=1000 -Dthreads=16 TransferBenchmark
+public class TransferBenchmark {
+    private static final int ACCOUNTS = Integer.getInteger("accounts", 500);
+    private static final int HOT = Integer.getInteger("hot", 4);
+    private static final int THREADS = Integer.getInteger("threads", Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    private static final int TRANSFERS = Integer.getInteger("transfers", 4_000);
+    private static final int PAYROLLS = Integer.getInteger("payrolls", 8);
+    private static final int PAYEES = Integer.getInteger("payees", 250);
+    private static final long TIMEOUT_SECONDS = 120;
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        BankServiceHarness.createSchema();
+        List<String> accountNos = BankServiceHarness.seedAccounts(ACCOUNTS, Money.parse("100000"));
+        long before = total(accountNos);
+        LedgerService ledger = LedgerService.getInstance();
+        System.out.printf("%d accounts (%d hot), %d threads, %d transfers per run, %d cores%n",
+                ACCOUNTS, HOT, THREADS, TRANSFERS, Runtime.getRuntime().availableProcessors());
+
+        run(ledger, accountNos, 0.5, false); // warm up
+        for (double skew : new double[]{0, 0.5, 0.9}) run(ledger, accountNos, skew, false);
+        run(ledger, accountNos, 0.5, true);
+
+        long after = total(accountNos);
+        check(before == after, "money not conserved: " + Money.ofMinor(before) + " → " + Money.ofMinor(after));
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(
+                     "SELECT type, SUM(amount) FROM transactions WHERE account_no LIKE ? GROUP BY type")) {
+            ps.setString(1, accountNos.get(0).replaceAll("\\d+$", "%"));
+            Map<String, Money> sums = new HashMap<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) sums.put(rs.getString(1), Money.of(rs.getBigDecimal(2)));
+            }
+            check(Objects.equals(sums.get(LedgerService.TRANSFER_IN), sums.get(LedgerService.TRANSFER_OUT)),
+                    "transfer legs do not balance: " + sums);
+        }
+        System.out.println(failures == 0 ? "✅ No deadlocks, total balance unchanged" : "❌ " + failures + " problem(s)");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void run(LedgerService ledger, List<String> accountNos, double skew, boolean withPayroll)
+            throws Exception {
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder rejected = new LongAdder(), errors = new LongAdder();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long t0 = System.nanoTime();
+        for (int w = 0; w < THREADS; w++) {
+            long seed = w * 31L + (long) (skew * 1000);
+            int share = TRANSFERS / THREADS;
+            pool.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < share; i++) {
+                    String from = pick(accountNos, random, skew), to = pick(accountNos, random, skew);
+                    if (from.equals(to)) continue;
+                    long start = System.nanoTime();
+                    try {
+                        ledger.transfer(from, to, Money.ofMinor(100 + random.nextInt(10_000)));
+                    } catch (LedgerService.InsufficientFundsException e) {
+                        rejected.increment();
+                    } catch (Exception e) {
+                        if (errors.sum() < 3) e.printStackTrace();
+                        errors.increment();
+                    }
+                    latency.record(System.nanoTime() - start);
+                }
+            });
+        }
+        if (withPayroll) {
+            for (int b = 0; b < PAYROLLS; b++) {
+                int batch = b;
+                pool.submit(() -> {
+                    Map<String, Money> payees = new LinkedHashMap<>();
+                    Random random = new Random(batch);
+                    while (payees.size() < PAYEES) {
+                        String payee = accountNos.get(HOT + random.nextInt(accountNos.size() - HOT));
+                        payees.put(payee, Money.ofMinor(1_00 + random.nextInt(100_00)));
+                    }
+                    try {
+                        ledger.payroll(accountNos.get(batch % HOT), payees);
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                        errors.increment();
+                    }
+                });
+            }
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            long[] deadlocked = ManagementFactory.getThreadMXBean().findDeadlockedThreads();
+            check(false, "run did not finish in " + TIMEOUT_SECONDS + "s; deadlocked threads: "
+                    + (deadlocked == null ? 0 : deadlocked.length));
+            pool.shutdownNow();
+            return;
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        check(errors.sum() == 0, errors.sum() + " transfers failed");
+        System.out.printf("  skew %.1f%-10s %7.0f transfers/s  p50 %6.0f µs  p99 %7.0f µs  max %7.0f µs  rejected %d%n",
+                skew, withPayroll ? " +payroll" : "", latency.getTotalCount() / seconds,
+                latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3,
+                latency.getMaxValue() / 1e3, rejected.sum());
+    }
+
+    private static String pick(List<String> accountNos, Random random, double skew) {
+        return random.nextDouble() < skew ? accountNos.get(random.nextInt(HOT)) : accountNos.get(random.nextInt(accountNos.size()));
+    }
+
+    private static long total(List<String> accountNos) throws SQLException {
+        long minor = 0;
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(Sql.SELECT_BALANCE.text())) {
+            for (String accountNo : accountNos) {
+                ps.setString(1, accountNo);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    minor += Money.of(rs.getBigDecimal(1)).getMinor();
+                }
+            }
+        }
+        return minor;
+    }
+
+    private static void check(boolean ok, String what) {
+        if (ok) return;
+        failures++;
+        System.out.println("❌ " + what);
+    }
+}
@@ -0,0 +1,142 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 📏 Layout and paint accounting for the dashboard views. install() swaps in a RepaintManager
+// that counts revalidate requests, repaint requests (and the pixels they dirty), layout passes
+// and the containers each pass lays out, and paint passes. DashboardFrame installs it with
+// -Dswiftbank.render.stats=true and logs the delta per operation; DashboardViewBenchmark uses it
+// headless through Root.
+public final class ViewStats {
+    public record Snapshot(long revalidates, long repaints, long dirtyPixels, long layoutPasses,
+                           long containersLaidOut, long paintPasses) {
+        public Snapshot minus(Snapshot o) {
+            return new Snapshot(revalidates - o.revalidates, repaints - o.repaints, dirtyPixels - o.dirtyPixels,
+                    layoutPasses - o.layoutPasses, containersLaidOut - o.containersLaidOut, paintPasses - o.paintPasses);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("revalidates=%d, repaints=%d (%,d px), layoutPasses=%d (%d containers), paintPasses=%d",
+                    revalidates, repaints, dirtyPixels, layoutPasses, containersLaidOut, paintPasses);
+        }
+    }
+
+    private static final LongAdder revalidates = new LongAdder();
+    private static final LongAdder repaints = new LongAdder();
+    private static final LongAdder dirtyPixels = new LongAdder();
+    private static final LongAdder layoutPasses = new LongAdder();
+    private static final LongAdder containersLaidOut = new LongAdder();
+    private static final LongAdder paintPasses = new LongAdder();
+    private static boolean installed;
+    // Revalidated components, collected only while a Root exists (there is no display to validate them)
+    private static List<Component> revalidated;
+
+    private ViewStats() {
+    }
+
+    // EDT only
+    public static void install() {
+        if (installed) return;
+        installed = true;
+        RepaintManager.setCurrentManager(new CountingRepaintManager());
+    }
+
+    public static Snapshot snapshot() {
+        return new Snapshot(revalidates.sum(), repaints.sum(), dirtyPixels.sum(),
+                layoutPasses.sum(), containersLaidOut.sum(), paintPasses.sum());
+    }
+
+    // Containers the next validate() will call doLayout() on
+    static int invalidContainers(Component c) {
+        if (!(c instanceof Container container) || c.isValid()) return 0;
+        int n = 1;
+        for (Component child : container.getComponents()) n += invalidContainers(child);
+        return n;
+    }
+
+    private static void layoutPass(Component root) {
+        layoutPasses.increment();
+        containersLaidOut.add(invalidContainers(root));
+    }
+
+    private static class CountingRepaintManager extends RepaintManager {
+        @Override
+        public void addInvalidComponent(JComponent c) {
+            revalidates.increment();
+            if (revalidated != null) revalidated.add(c);
+            super.addInvalidComponent(c);
+        }
+
+        @Override
+        public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+            if (w > 0 && h > 0 && c.getWidth() > 0 && c.getHeight() > 0) {
+                repaints.increment();
+                dirtyPixels.add((long) Math.min(w, c.getWidth()) * Math.min(h, c.getHeight()));
+            }
+            super.addDirtyRegion(c, x, y, w, h);
+        }
+
+        @Override
+        public void validateInvalidComponents() {
+            for (Window w : Window.getWindows())
+                if (w.isShowing() && !w.isValid()) layoutPass(w);
+            super.validateInvalidComponents();
+        }
+
+        @Override
+        public void paintDirtyRegions() {
+            paintPasses.increment();
+            super.paintDirtyRegions();
+        }
+    }
+
+    // 🧪 Stand-in for a window when there is no display. Without a peer no component ever
+    // reports isValid(), so Root keeps its own record: layoutNow() lays out what a real window's
+    // validate() would after the revalidate() calls since the last pass — containers never laid
+    // out, plus every revalidated component's ancestors — and counts them.
+    static class Root extends JPanel {
+        private final Set<Component> laidOut = Collections.newSetFromMap(new WeakHashMap<>());
+
+        Root(Component content, int width, int height) {
+            super(new BorderLayout());
+            if (revalidated == null) revalidated = new ArrayList<>();
+            add(content);
+            setSize(width, height);
+        }
+
+        @Override
+        public boolean isValidateRoot() {
+            return true;
+        }
+
+        void layoutNow() {
+            Set<Component> dirty = Collections.newSetFromMap(new WeakHashMap<>());
+            for (Component c : revalidated)
+                for (Component p = c; p != null && p != getParent(); p = p.getParent()) dirty.add(p);
+            revalidated.clear();
+            if (laidOut.contains(this) && !dirty.contains(this)) return;
+            layoutPasses.increment();
+            synchronized (getTreeLock()) {
+                containersLaidOut.add(layout(this, dirty));
+            }
+        }
+
+        private int layout(Component c, Set<Component> dirty) {
+            if (!(c instanceof Container container) || (laidOut.contains(c) && !dirty.contains(c))) return 0;
+            laidOut.add(c);
+            int n = 0;
+            if (container.getLayout() != null) {
+                container.doLayout();
+                n++;
+            }
+            for (Component child : container.getComponents()) n += layout(child, dirty);
+            return n;
+        }
+    }
+}